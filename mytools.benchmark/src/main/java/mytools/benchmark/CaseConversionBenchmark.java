@@ -0,0 +1,147 @@
+package mytools.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import mytools.util.string.Strings;
+
+/**
+ * Convert a set of typical column names between snake and camel case.
+ * The "legacy" benchmarks run a copy of the former implementation, which
+ * copied the input into an array and appended to a default sized builder,
+ * so that both are measured in the same run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+public class CaseConversionBenchmark {
+
+    private static final int BUFFER_SIZE = 64;
+
+    private final String[] snake = {
+        "id", "customer_id", "first_name", "last_name", "email_address",
+        "created_at", "last_modified_by_user_id", "is_active",
+        "shipping_address_line_2", "número_de_teléfono",
+    };
+    private final String[] camel = new String[snake.length];
+    private final StringBuilder buffer = new StringBuilder(BUFFER_SIZE);
+
+    {
+        for (int i = 0; i < snake.length; i++) {
+            camel[i] = Strings.snakeToCamel(snake[i]);
+        }
+    }
+
+    /**
+     * Convert the names from snake to camel case.
+     */
+    @Benchmark
+    public void snakeToCamel(Blackhole bh) {
+        for (String s : snake) {
+            bh.consume(Strings.snakeToCamel(s));
+        }
+    }
+
+    /**
+     * Convert the names from snake to camel case with the former code.
+     */
+    @Benchmark
+    public void snakeToCamelLegacy(Blackhole bh) {
+        for (String s : snake) {
+            bh.consume(legacyDelimitedToCamel(s, '_'));
+        }
+    }
+
+    /**
+     * Convert the names from snake to camel case into a reused buffer.
+     */
+    @Benchmark
+    public void snakeToCamelAppendable(Blackhole bh) {
+        for (String s : snake) {
+            buffer.setLength(0);
+            bh.consume(Strings.snakeToCamel(s, buffer).length());
+        }
+    }
+
+    /**
+     * Convert the names from camel to snake case.
+     */
+    @Benchmark
+    public void camelToSnake(Blackhole bh) {
+        for (String s : camel) {
+            bh.consume(Strings.camelToSnake(s));
+        }
+    }
+
+    /**
+     * Convert the names from camel to snake case with the former code.
+     */
+    @Benchmark
+    public void camelToSnakeLegacy(Blackhole bh) {
+        for (String s : camel) {
+            bh.consume(legacyCamelToDelimited(s, '_'));
+        }
+    }
+
+    /**
+     * Convert the names from camel to snake case into a reused buffer.
+     */
+    @Benchmark
+    public void camelToSnakeAppendable(Blackhole bh) {
+        for (String s : camel) {
+            buffer.setLength(0);
+            bh.consume(Strings.camelToSnake(s, buffer).length());
+        }
+    }
+
+    ///////////////////// former implementation //////////////////
+
+    private static String legacyDelimitedToCamel(String s, char delimiter) {
+        return legacyProcess(s, sb -> {
+            boolean lastWasDelimiter = false;
+            for (char ch : s.toString().toCharArray()) {
+                if (ch == delimiter) {
+                    lastWasDelimiter = true;
+                } else if (lastWasDelimiter) {
+                    sb.append(Character.toUpperCase(ch));
+                    lastWasDelimiter = false;
+                } else {
+                    sb.append(ch);
+                }
+            }
+        });
+    }
+
+    private static String legacyCamelToDelimited(String s, char delimiter) {
+        return legacyProcess(s, sb -> {
+            for (char ch : s.toString().toCharArray()) {
+                if (Character.isUpperCase(ch)) {
+                    sb.append(delimiter);
+                    sb.append(Character.toLowerCase(ch));
+                } else {
+                    sb.append(ch);
+                }
+            }
+        });
+    }
+
+    private static String legacyProcess(String s, Consumer<StringBuilder> f) {
+        if (s == null) return null;
+        if (s.length() == 0) return "";
+
+        StringBuilder sb = new StringBuilder();
+        f.accept(sb);
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,75 @@
+package mytools.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import mytools.function.object.ConcurrentLongCounter;
+
+/**
+ * Compare incrementing a shared {@code AtomicLong} and a shared
+ * {@link ConcurrentLongCounter}. Run {@link #main(String[])} to measure
+ * both with 1 to 64 threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+public class CounterBenchmark {
+
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASUREMENT_ITERATIONS = 5;
+
+    private final AtomicLong atomicLong = new AtomicLong();
+    private final ConcurrentLongCounter counter = new ConcurrentLongCounter();
+
+    /**
+     * Increment an {@code AtomicLong}.
+     */
+    @Benchmark
+    public long atomicLong() {
+        return atomicLong.incrementAndGet();
+    }
+
+    /**
+     * Increment a {@code ConcurrentLongCounter}.
+     */
+    @Benchmark
+    public void concurrentLongCounter() {
+        counter.increment();
+    }
+
+    /**
+     * Read a {@code ConcurrentLongCounter} snapshot.
+     */
+    @Benchmark
+    public long concurrentLongCounterGet() {
+        return counter.get();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : THREADS) {
+            new Runner(new OptionsBuilder()
+                    .include(CounterBenchmark.class.getName())
+                    .threads(threads)
+                    .warmupIterations(WARMUP_ITERATIONS)
+                    .warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(MEASUREMENT_ITERATIONS)
+                    .measurementTime(TimeValue.seconds(1))
+                    .build()).run();
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+package mytools.benchmark;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import mytools.util.date.Dates;
+import mytools.util.date.TimestampFormatter;
+
+/**
+ * Convert a day of event timestamps, one every few seconds, to local date
+ * times in a zone with daylight saving time. Format a minute and a half of
+ * log timestamps, one every few milliseconds. The "legacy" benchmarks go
+ * through an instant and a zoned date time, like the former code did.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+public class DateConversionBenchmark {
+
+    private static final int NUM_TIMESTAMPS = 1000;
+    private static final int STEP_SECONDS = 86;
+    private static final long START = 1_792_000_000L;
+    private static final int MILLIS_PER_SECOND = 1000;
+    private static final int STEP_MILLIS = 87;
+    private static final int BUFFER_SIZE = 64;
+
+    private final ZoneId zone = ZoneId.of("America/New_York");
+    private final long[] timestamps = new long[NUM_TIMESTAMPS];
+    private final long[] logTimes = new long[NUM_TIMESTAMPS];
+    private final TimestampFormatter formatter = TimestampFormatter.ofPattern(
+            TimestampFormatter.DEFAULT_PATTERN, zone, Locale.US);
+    private final DateTimeFormatter legacyFormatter = DateTimeFormatter
+            .ofPattern(TimestampFormatter.DEFAULT_PATTERN, Locale.US)
+            .withZone(zone);
+    private final char[] buffer = new char[BUFFER_SIZE];
+
+    {
+        for (int i = 0; i < NUM_TIMESTAMPS; i++) {
+            timestamps[i] = START + i * STEP_SECONDS;
+            logTimes[i] = START * MILLIS_PER_SECOND + i * STEP_MILLIS;
+        }
+    }
+
+    /**
+     * Convert the timestamps with the cached zone offsets.
+     */
+    @Benchmark
+    public void localDateTime(Blackhole bh) {
+        for (long t : timestamps) {
+            bh.consume(Dates.localDateTime(t, zone));
+        }
+    }
+
+    /**
+     * Convert the timestamps with the former code.
+     */
+    @Benchmark
+    public void localDateTimeLegacy(Blackhole bh) {
+        for (long t : timestamps) {
+            Instant i = Instant.ofEpochSecond(t, 0);
+            bh.consume(ZonedDateTime.ofInstant(i, zone).toLocalDateTime());
+        }
+    }
+
+    /**
+     * Format the timestamps into a buffer, rewriting only the seconds.
+     */
+    @Benchmark
+    public void format(Blackhole bh) {
+        for (long t : logTimes) {
+            bh.consume(formatter.format(t, buffer, 0));
+        }
+    }
+
+    /**
+     * Format the timestamps with a date time formatter.
+     */
+    @Benchmark
+    public void formatLegacy(Blackhole bh) {
+        for (long t : logTimes) {
+            bh.consume(legacyFormatter.format(Instant.ofEpochMilli(t)));
+        }
+    }
+
+}
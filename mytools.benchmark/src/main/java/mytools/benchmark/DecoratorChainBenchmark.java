@@ -0,0 +1,94 @@
+package mytools.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import mytools.function.decorator.Decorator;
+import mytools.function.decorator.Decorators;
+
+/**
+ * Measure the per-call overhead of a function decorated with 1, 3 and 5
+ * decorators, either one by one or with {@link Decorators#chain}.
+ * The decorators only pass the call through, so the difference between
+ * the benchmarks is the cost of the wrappers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+public class DecoratorChainBenchmark {
+
+    @Param({"1", "3", "5"})
+    private int decorators;
+
+    private Integer input = 1;
+    private Function<Integer, Integer> undecorated;
+    private Function<Integer, Integer> nested;
+    private Function<Integer, Integer> chained;
+
+    /**
+     * Passes calls to the decorated function.
+     */
+    private static final class PassThrough<T, U, R>
+        implements Decorator<T, U, R> {
+
+        @Override
+        public BiFunction<T, U, R> decorate(BiFunction<T, U, R> f) {
+            return (t, u) -> f.apply(t, u);
+        }
+    }
+
+    /**
+     * Decorate the functions.
+     */
+    @Setup
+    public void setUp() {
+        undecorated = i -> i + 1;
+
+        nested = undecorated;
+        @SuppressWarnings("unchecked")
+        Decorator<Integer, Object, Integer>[] chain =
+                new Decorator[decorators];
+        for (int i = 0; i < decorators; i++) {
+            chain[i] = new PassThrough<>();
+            nested = chain[i].decorate(nested);
+        }
+        chained = Decorators.chain(chain).decorate(undecorated);
+    }
+
+    /**
+     * Call the function without decorators.
+     */
+    @Benchmark
+    public Integer undecorated() {
+        return undecorated.apply(input);
+    }
+
+    /**
+     * Call the function decorated with one decorator at a time.
+     */
+    @Benchmark
+    public Integer nested() {
+        return nested.apply(input);
+    }
+
+    /**
+     * Call the function decorated with a chain of decorators.
+     */
+    @Benchmark
+    public Integer chained() {
+        return chained.apply(input);
+    }
+
+}
@@ -0,0 +1,65 @@
+package mytools.benchmark;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import mytools.util.exception.Exceptions;
+import mytools.util.exception.StackTraceRenderer;
+
+/**
+ * Render the trace of a new exception with a cause, as a batch job does for
+ * every failed record. The "legacy" benchmark prints the trace through a
+ * print writer, like the former code did.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+public class StackTraceBenchmark {
+
+    private static final int MAX_DEPTH = 10;
+
+    private final StackTraceRenderer bounded =
+            StackTraceRenderer.full().withMaxDepth(MAX_DEPTH);
+
+    /**
+     * Render the trace with the cache of rendered traces.
+     */
+    @Benchmark
+    public String getStackTrace() {
+        return Exceptions.getStackTrace(failure());
+    }
+
+    /**
+     * Render at most a few frames of every exception, without a cache.
+     */
+    @Benchmark
+    public String getBoundedStackTrace() {
+        return bounded.render(failure());
+    }
+
+    /**
+     * Print the trace with the former code.
+     */
+    @Benchmark
+    public String getStackTraceLegacy() {
+        StringWriter result = new StringWriter();
+        failure().printStackTrace(new PrintWriter(result));
+        return result.toString();
+    }
+
+    private static Exception failure() {
+        return new IllegalStateException("Record failed",
+                new IllegalArgumentException("Invalid value"));
+    }
+
+}
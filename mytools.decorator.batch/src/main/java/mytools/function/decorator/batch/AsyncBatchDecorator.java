@@ -0,0 +1,65 @@
+package mytools.function.decorator.batch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiFunction;
+
+import mytools.function.decorator.AsyncDecorator;
+
+/**
+ * The asynchronous counterpart of {@link BatchDecorator}. The function is
+ * called with the next batch when the stage returned for the previous batch
+ * completes, so, like with {@link BatchDecorator}, one batch is processed
+ * at a time, but no thread waits for it. If a batch fails, the remaining
+ * batches are not processed.
+ *
+ * @param <T> type of elements in the input list
+ * @param <U> second parameter to the function
+ * @param <R> type of elements in the output list
+ */
+final class AsyncBatchDecorator<T, U, R>
+    implements AsyncDecorator<List<T>, U, List<R>> {
+
+    private final int batchSize;
+
+    AsyncBatchDecorator(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public BiFunction<List<T>, U, CompletionStage<List<R>>> decorate(
+            BiFunction<List<T>, U, CompletionStage<List<R>>> f) {
+        return (list, u) -> {
+            if (list == null) {
+                throw new IllegalArgumentException(
+                        "null list passed to a function");
+            }
+
+            if (list.isEmpty()) {
+                return CompletableFuture.completedFuture(
+                        Collections.emptyList());
+            }
+
+            List<R> result = new ArrayList<>();
+            CompletionStage<List<R>> stage =
+                    CompletableFuture.completedFuture(result);
+            int size = list.size();
+            for (int start = 0; start < size; start += batchSize) {
+                List<T> batch =
+                        list.subList(start, Math.min(start + batchSize, size));
+                stage = stage.thenCompose(r -> AsyncDecorator.call(f, batch, u))
+                        .thenApply(batchResult -> {
+                            if (batchResult != null) {
+                                result.addAll(batchResult);
+                            }
+                            return result;
+                        });
+            }
+            return stage.thenApply(r -> r.isEmpty() ? null : r);
+        };
+    }
+
+}
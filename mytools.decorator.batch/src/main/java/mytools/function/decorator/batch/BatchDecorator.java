@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import mytools.function.decorator.Decorator;
 
@@ -26,32 +27,49 @@ class BatchDecorator<T, U, R> implements Decorator<List<T>, U, List<R>> {
     @Override
     public BiFunction<List<T>, U, List<R>> decorate(
             BiFunction<List<T>, U, List<R>> f) {
-        return (list, u) -> {
-            if (list == null) {
-                throw new IllegalArgumentException(
-                        "null list passed to a function");
-            }
+        return (list, u) -> inBatches(list, u, f, null);
+    }
 
-            if (list.isEmpty()) {
-                return Collections.emptyList();
-            }
+    /**
+     * Decorate a function of one argument directly, without converting it to
+     * and from a {@code BiFunction} on every call.
+     */
+    @Override
+    public Function<List<T>, List<R>> decorate(Function<List<T>, List<R>> f) {
+        return list -> inBatches(list, null, null, f);
+    }
+
+    /*
+     * Call either bf or f on every batch of the list.
+     */
+    private List<R> inBatches(List<T> list, U u,
+            BiFunction<List<T>, U, List<R>> bf, Function<List<T>, List<R>> f) {
+        if (list == null) {
+            throw new IllegalArgumentException(
+                    "null list passed to a function");
+        }
+
+        if (list.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<R> result = new ArrayList<>();
+        int size = list.size();
+        int start = 0;
+        int end = Math.min(batchSize, size);
 
-            List<R> result = new ArrayList<>();
-            int size = list.size();
-            int start = 0;
-            int end = Math.min(batchSize, size);
-
-            while (start < size) {
-                List<R> batchResult = f.apply(list.subList(start, end), u);
-                if (batchResult != null) {
-                    result.addAll(batchResult);
-                }
-                start = end;
-                end = Math.min(end + batchSize, size);
+        while (start < size) {
+            List<T> batch = list.subList(start, end);
+            List<R> batchResult = f != null ?
+                    f.apply(batch) : bf.apply(batch, u);
+            if (batchResult != null) {
+                result.addAll(batchResult);
             }
+            start = end;
+            end = Math.min(end + batchSize, size);
+        }
 
-            return result.isEmpty() ? null : result;
-        };
+        return result.isEmpty() ? null : result;
     }
 
 }
@@ -1,6 +1,9 @@
 package mytools.function.decorator.batch;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -59,6 +62,82 @@ public interface BatchDecorators {
                 batchSize, inputSorted, groupFunction).decorate(f);
     }
 
+    /**
+     * Decorate an asynchronous function of a list with batching. The function
+     * is called with the next batch when the stage returned for the previous
+     * batch completes.
+     *
+     * @param <T> type of the input list element
+     * @param <R> type of the output list element
+     * @param batchSize batch size
+     * @param f a function which returns a stage of the output list
+     * @return a function which applies batching to the original function
+     */
+    static <T, R> Function<List<T>, CompletionStage<List<R>>> batchedAsync(
+            int batchSize, Function<List<T>, CompletionStage<List<R>>> f) {
+        return new AsyncBatchDecorator<T, Object, R>(batchSize).decorate(f);
+    }
+
+    ////////////////// stream processors ///////////////////////////
+
+    /**
+     * Create a processor which collects the elements of a stream into
+     * batches of the given size. The last batch is emitted when the stream
+     * completes.
+     *
+     * Elements are requested from the upstream only when the subscriber
+     * requests batches.
+     *
+     * @param <T> type of the stream element
+     * @param batchSize batch size
+     * @return a processor which emits lists of stream elements
+     */
+    static <T> Flow.Processor<T, List<T>> batchProcessor(int batchSize) {
+        return batchProcessor(batchSize, null);
+    }
+
+    /**
+     * Create a processor which collects the elements of a stream into
+     * batches of the given size. A batch which is not full is emitted when
+     * the given delay passes after its first element arrived.
+     *
+     * @param <T> type of the stream element
+     * @param batchSize batch size
+     * @param maxDelay  maximum time a batch waits for more elements, or
+     *                  {@code null} to emit batches by size only
+     * @return a processor which emits lists of stream elements
+     */
+    static <T> Flow.Processor<T, List<T>> batchProcessor(
+            int batchSize, Duration maxDelay) {
+        return new BatchProcessor<T, String>(batchSize, maxDelay, null);
+    }
+
+    /**
+     * Create a processor which collects the elements of a stream into
+     * batches, and keeps the elements which belong to the same group
+     * together, the way grouped batching of lists does.
+     *
+     * The stream must be sorted according to the group function. A group is
+     * added to a batch when an element of the next group arrives, or the
+     * stream completes. The stream fails with a run time exception if any
+     * group size is greater than the given batch size.
+     *
+     * @param <T> type of the stream element
+     * @param <C> comparable type of the group function return value
+     * @param batchSize     batch size
+     * @param maxDelay      maximum time a batch waits for more groups, or
+     *                      {@code null} to emit batches by size only
+     * @param groupFunction a function which takes a stream element and
+     *                      returns a comparable value common to all elements
+     *                      in the group
+     * @return a processor which emits lists of stream elements
+     */
+    static <T, C extends Comparable<C>> Flow.Processor<T, List<T>>
+            batchProcessor(int batchSize, Duration maxDelay,
+                    Function<T, C> groupFunction) {
+        return new BatchProcessor<>(batchSize, maxDelay, groupFunction);
+    }
+
     ////////////////// applications ///////////////////////////
 
     /**
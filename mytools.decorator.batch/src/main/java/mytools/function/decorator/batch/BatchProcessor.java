@@ -0,0 +1,420 @@
+package mytools.function.decorator.batch;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * A {@link Flow.Processor} which collects the elements of a stream into
+ * batches, the way {@link BatchDecorator} and {@link GroupedBatchDecorator}
+ * break a list.
+ *
+ * <p>
+ * A batch is emitted when it reaches the batch size. If a maximum delay is
+ * given, a batch is also emitted when the delay passes after its first
+ * element was added to it, so a slow stream does not hold elements back
+ * for too long. The last batch is emitted when the stream completes.
+ *
+ * <p>
+ * If a group function is given, the stream is expected to be sorted
+ * according to it, and a group is never split between batches. A group is
+ * complete when an element of the next group (or the end of the stream)
+ * arrives; until then its elements are not part of any batch and do not
+ * start the delay. If a group is larger than the batch size, the stream
+ * fails with an exception, and the upstream subscription is cancelled.
+ *
+ * <p>
+ * Elements are requested from the upstream publisher only when the
+ * subscriber requests batches, a batch size at a time. So the processor
+ * buffers at most two batches worth of elements. The processor accepts
+ * one subscriber. Errors are passed to the subscriber right away, and the
+ * elements which are not emitted yet are discarded.
+ *
+ * @param <T> type of the stream element
+ * @param <C> type of the output of the group function
+ */
+final class BatchProcessor<T, C extends Comparable<C>>
+    implements Flow.Processor<T, List<T>> {
+
+    private static final Flow.Subscription NO_SUBSCRIPTION =
+            new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            };
+
+    private final int batchSize;
+    private final Executor timer;
+    private final Function<T, C> groupFunction;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    // all the fields below are guarded by the lock
+    private Flow.Subscription upstream;
+    private Flow.Subscriber<? super List<T>> downstream;
+    private boolean subscribed;
+    private long demand;
+    private long pending;
+    private List<T> batch;
+    private List<T> group;
+    private C groupIdentifier;
+    private long batchNumber;
+    private final Deque<List<T>> ready = new ArrayDeque<>();
+    private boolean done;
+    private Throwable error;
+    private boolean terminated;
+
+    /**
+     * Package access constructor.
+     *
+     * @param batchSize     batch size
+     * @param maxDelay      maximum time a batch waits for more elements,
+     *                      or {@code null} if batches are emitted by size only
+     * @param groupFunction a function which returns a value common to all
+     *                      elements in a group, or {@code null}
+     */
+    BatchProcessor(int batchSize, Duration maxDelay,
+            Function<T, C> groupFunction) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        if (maxDelay != null && (maxDelay.isNegative() || maxDelay.isZero())) {
+            throw new IllegalArgumentException("Delay must be positive");
+        }
+        this.batchSize = batchSize;
+        this.timer = maxDelay == null ? null :
+                CompletableFuture.delayedExecutor(
+                        maxDelay.toNanos(), TimeUnit.NANOSECONDS);
+        this.groupFunction = groupFunction;
+        this.batch = new ArrayList<>(batchSize);
+        this.group = new ArrayList<>(batchSize);
+    }
+
+    ///////////////////////// subscriber /////////////////////////
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription);
+        boolean accepted;
+        lock.lock();
+        try {
+            accepted = upstream == null && !done;
+            if (accepted) {
+                upstream = subscription;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (accepted) {
+            drain();
+        } else {
+            subscription.cancel();
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        Objects.requireNonNull(item);
+        Flow.Subscription cancelled = null;
+        lock.lock();
+        try {
+            if (done) {
+                return;
+            }
+            pending--;
+            add(item);
+            if (error != null) {
+                cancelled = upstream;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (cancelled != null) {
+            cancelled.cancel();
+        }
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        Objects.requireNonNull(throwable);
+        lock.lock();
+        try {
+            if (!done) {
+                fail(throwable);
+            }
+        } finally {
+            lock.unlock();
+        }
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        lock.lock();
+        try {
+            if (!done) {
+                done = true;
+                if (!group.isEmpty()) {
+                    completeGroup();
+                }
+                emitBatch();
+            }
+        } finally {
+            lock.unlock();
+        }
+        drain();
+    }
+
+    ///////////////////////// publisher /////////////////////////
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super List<T>> subscriber) {
+        Objects.requireNonNull(subscriber);
+        boolean accepted;
+        lock.lock();
+        try {
+            accepted = downstream == null;
+            if (accepted) {
+                downstream = subscriber;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (accepted) {
+            subscriber.onSubscribe(new Subscription());
+            lock.lock();
+            try {
+                subscribed = true;
+            } finally {
+                lock.unlock();
+            }
+            drain();
+        } else {
+            subscriber.onSubscribe(NO_SUBSCRIPTION);
+            subscriber.onError(new IllegalStateException(
+                    "The processor accepts only one subscriber"));
+        }
+    }
+
+    private final class Subscription implements Flow.Subscription {
+
+        @Override
+        public void request(long n) {
+            Flow.Subscription cancelled = null;
+            lock.lock();
+            try {
+                if (n <= 0) {
+                    fail(new IllegalArgumentException(
+                            "Non-positive number of batches requested: " + n));
+                    cancelled = upstream;
+                } else {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (cancelled != null) {
+                cancelled.cancel();
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            Flow.Subscription cancelled;
+            lock.lock();
+            try {
+                terminated = true;
+                done = true;
+                clear();
+                cancelled = upstream;
+            } finally {
+                lock.unlock();
+            }
+
+            if (cancelled != null) {
+                cancelled.cancel();
+            }
+        }
+    }
+
+    ///////////////////////// batches /////////////////////////
+
+    private void add(T item) {
+        if (groupFunction == null) {
+            batch.add(item);
+            if (batch.size() == 1) {
+                startTimer();
+            }
+            if (batch.size() == batchSize) {
+                emitBatch();
+            }
+            return;
+        }
+
+        C identifier = groupFunction.apply(item);
+        if (!group.isEmpty() && identifier.compareTo(groupIdentifier) != 0) {
+            completeGroup();
+        }
+        group.add(item);
+        groupIdentifier = identifier;
+        if (group.size() > batchSize) {
+            fail(new RuntimeException(
+                    "Cannot fit a group of items of size " + group.size() +
+                    " into a batch of size " + batchSize +
+                    ". Batch size is too small"));
+        }
+    }
+
+    private void completeGroup() {
+        if (batch.size() + group.size() > batchSize) {
+            emitBatch();
+        }
+        boolean started = batch.isEmpty();
+        batch.addAll(group);
+        group.clear();
+        if (batch.size() == batchSize) {
+            emitBatch();
+        } else if (started) {
+            startTimer();
+        }
+    }
+
+    private void emitBatch() {
+        if (!batch.isEmpty()) {
+            ready.add(batch);
+            batch = new ArrayList<>(batchSize);
+            batchNumber++;
+        }
+    }
+
+    private void startTimer() {
+        if (timer != null) {
+            long n = batchNumber;
+            timer.execute(() -> timeout(n));
+        }
+    }
+
+    private void timeout(long n) {
+        lock.lock();
+        try {
+            // the batch could be emitted by size already
+            if (n == batchNumber && !done) {
+                emitBatch();
+            }
+        } finally {
+            lock.unlock();
+        }
+        drain();
+    }
+
+    private void fail(Throwable e) {
+        done = true;
+        error = e;
+        clear();
+    }
+
+    private void clear() {
+        ready.clear();
+        batch.clear();
+        group.clear();
+    }
+
+    ///////////////////////// signals /////////////////////////
+
+    /*
+     * Emit the ready batches while there is demand, pass the terminal
+     * signal, and request more elements when the subscriber waits for
+     * batches. Only one thread at a time runs the loop, so the subscriber
+     * is never called concurrently; a thread which finds the loop busy
+     * makes the running thread go through it once more.
+     */
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+        do {
+            boolean emitted;
+            do {
+                emitted = signal();
+            } while (emitted);
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /*
+     * Pass one signal to the subscriber, or request elements from
+     * the upstream.
+     *
+     * @return true if a batch was emitted, and there could be more
+     */
+    private boolean signal() {
+        Flow.Subscriber<? super List<T>> subscriber;
+        Flow.Subscription subscription;
+        List<T> next = null;
+        Throwable e = null;
+        boolean complete = false;
+        long n = 0;
+
+        lock.lock();
+        try {
+            subscriber = downstream;
+            subscription = upstream;
+            if (!subscribed || terminated) {
+                return false;
+            }
+            if (error != null) {
+                e = error;
+                terminated = true;
+            } else if (demand > 0 && !ready.isEmpty()) {
+                next = ready.poll();
+                if (demand != Long.MAX_VALUE) {
+                    demand--;
+                }
+            } else if (done && ready.isEmpty()) {
+                complete = true;
+                terminated = true;
+            } else if (demand > 0 && pending <= 0 && subscription != null) {
+                n = batchSize;
+                pending = n;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (e != null) {
+            subscriber.onError(e);
+        } else if (complete) {
+            subscriber.onComplete();
+        } else if (next != null) {
+            subscriber.onNext(next);
+            return true;
+        } else if (n > 0) {
+            subscription.request(n);
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,63 @@
+package mytools.function.decorator.batch;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+public class AsyncBatchDecoratorTest {
+
+    private static final int BATCH_SIZE = 3;
+    private static final List<Long> INPUT_LIST =
+            Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+    private static final long FAILING_ELEMENT = 4L;
+
+    private final List<List<Long>> batches = new ArrayList<>();
+
+    @Test
+    public void runListInBatches() {
+        Function<List<Long>, CompletionStage<List<String>>> f =
+                BatchDecorators.batchedAsync(BATCH_SIZE, list -> {
+                    batches.add(list);
+                    return CompletableFuture.supplyAsync(() -> list.stream()
+                            .map(String::valueOf).collect(toList()));
+                });
+
+        assertEquals(
+                INPUT_LIST.stream().map(String::valueOf).collect(toList()),
+                f.apply(INPUT_LIST).toCompletableFuture().join());
+        assertEquals(Arrays.asList(
+                INPUT_LIST.subList(0, BATCH_SIZE),
+                INPUT_LIST.subList(BATCH_SIZE, 2 * BATCH_SIZE),
+                INPUT_LIST.subList(2 * BATCH_SIZE, INPUT_LIST.size())),
+                batches);
+    }
+
+    @Test
+    public void stopOnFailedBatch() {
+        IllegalStateException e = new IllegalStateException();
+        Function<List<Long>, CompletionStage<List<Long>>> f =
+                BatchDecorators.batchedAsync(BATCH_SIZE, list -> {
+                    batches.add(list);
+                    return list.contains(FAILING_ELEMENT) ?
+                            CompletableFuture.failedFuture(e) :
+                            CompletableFuture.completedFuture(list);
+                });
+
+        assertSame(e, assertThrows(CompletionException.class,
+                () -> f.apply(INPUT_LIST).toCompletableFuture().join())
+                .getCause());
+        assertEquals(2, batches.size());
+    }
+
+}
@@ -4,10 +4,12 @@ import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import org.junit.jupiter.api.Test;
 
@@ -63,4 +65,21 @@ public class BatchDecoratorTest {
                   functionTimeSpent / SLEEP_TIME * BATCH_SIZE);
     }
 
+    @Test
+    public void runFunctionInBatches() {
+        List<Integer> batchSizes = new ArrayList<>();
+        Function<List<Long>, List<Long>> function = list -> {
+            batchSizes.add(list.size());
+            return list.stream().map(l -> l * MULTIPLIER).collect(toList());
+        };
+
+        Function<List<Long>, List<Long>> decorated =
+                new BatchDecorator<Long, Object, Long>(BATCH_SIZE)
+                .decorate(function);
+
+        assertEquals(function.apply(INPUT_LIST), decorated.apply(INPUT_LIST));
+        assertEquals(Arrays.asList(INPUT_LIST.size(),
+                BATCH_SIZE, BATCH_SIZE, BATCH_SIZE), batchSizes);
+    }
+
 }
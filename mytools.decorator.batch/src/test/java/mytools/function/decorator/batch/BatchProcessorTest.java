@@ -0,0 +1,217 @@
+package mytools.function.decorator.batch;
+
+import static mytools.function.decorator.batch.BatchDecorators.batchProcessor;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class BatchProcessorTest {
+
+    private static final int BATCH_SIZE = 3;
+    private static final List<Integer> INPUT =
+            Arrays.asList(1, 2, 3, 4, 5, 6, 7);
+    private static final Duration DELAY = Duration.ofMillis(20);
+    private static final long TIMEOUT = 5;
+
+    @Test
+    public void emitBatchesBySize() {
+        ListPublisher<Integer> publisher = new ListPublisher<>(INPUT, true);
+        Collector<Integer> collector = new Collector<>(Long.MAX_VALUE);
+        Flow.Processor<Integer, List<Integer>> p = batchProcessor(BATCH_SIZE);
+        p.subscribe(collector);
+        publisher.subscribe(p);
+
+        assertEquals(Arrays.asList(
+                INPUT.subList(0, BATCH_SIZE),
+                INPUT.subList(BATCH_SIZE, 2 * BATCH_SIZE),
+                INPUT.subList(2 * BATCH_SIZE, INPUT.size())),
+                collector.batches);
+        assertTrue(collector.completed);
+    }
+
+    @Test
+    public void requestElementsOnDemand() {
+        ListPublisher<Integer> publisher = new ListPublisher<>(INPUT, true);
+        Collector<Integer> collector = new Collector<>(0);
+        Flow.Processor<Integer, List<Integer>> p = batchProcessor(BATCH_SIZE);
+        p.subscribe(collector);
+        publisher.subscribe(p);
+        assertEquals(0, publisher.requested);
+
+        collector.subscription.request(1);
+        assertEquals(BATCH_SIZE, publisher.requested);
+        assertEquals(Arrays.asList(INPUT.subList(0, BATCH_SIZE)),
+                collector.batches);
+
+        collector.subscription.request(2);
+        assertEquals(INPUT.size(), publisher.sent);
+        assertEquals(BATCH_SIZE, collector.batches.size());
+        assertTrue(collector.completed);
+    }
+
+    @Test
+    public void keepGroupsTogether() {
+        List<String> input = Arrays.asList("a1", "a2", "b1", "b2", "b3", "c1");
+        ListPublisher<String> publisher = new ListPublisher<>(input, true);
+        Collector<String> collector = new Collector<>(Long.MAX_VALUE);
+        Flow.Processor<String, List<String>> p = batchProcessor(
+                BATCH_SIZE + 1, null, s -> s.charAt(0));
+        p.subscribe(collector);
+        publisher.subscribe(p);
+
+        assertEquals(Arrays.asList(
+                Arrays.asList("a1", "a2"),
+                Arrays.asList("b1", "b2", "b3", "c1")),
+                collector.batches);
+        assertTrue(collector.completed);
+    }
+
+    @Test
+    public void failOnLargeGroup() {
+        List<String> input = Arrays.asList("a1", "b1", "b2", "b3", "b4");
+        ListPublisher<String> publisher = new ListPublisher<>(input, true);
+        Collector<String> collector = new Collector<>(Long.MAX_VALUE);
+        Flow.Processor<String, List<String>> p = batchProcessor(
+                BATCH_SIZE, null, s -> s.charAt(0));
+        p.subscribe(collector);
+        publisher.subscribe(p);
+
+        assertTrue(collector.error instanceof RuntimeException);
+        assertTrue(collector.batches.isEmpty());
+        assertTrue(publisher.cancelled);
+    }
+
+    @Test
+    public void emitBatchesByTime() throws InterruptedException {
+        // the stream does not complete, so the batch is emitted by the timer
+        ListPublisher<Integer> publisher = new ListPublisher<>(
+                INPUT.subList(0, BATCH_SIZE - 1), false);
+        Collector<Integer> collector = new Collector<>(Long.MAX_VALUE);
+        Flow.Processor<Integer, List<Integer>> p =
+                batchProcessor(BATCH_SIZE, DELAY);
+        p.subscribe(collector);
+        publisher.subscribe(p);
+
+        assertTrue(collector.received.await(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(INPUT.subList(0, BATCH_SIZE - 1)),
+                collector.batches);
+        assertNull(collector.error);
+    }
+
+    @Test
+    public void passErrors() {
+        IllegalStateException e = new IllegalStateException();
+        Collector<Integer> collector = new Collector<>(Long.MAX_VALUE);
+        Flow.Processor<Integer, List<Integer>> p = batchProcessor(BATCH_SIZE);
+        p.subscribe(collector);
+        new ListPublisher<Integer>(Collections.emptyList(), false)
+                .subscribe(p);
+        p.onNext(1);
+        p.onError(e);
+
+        assertEquals(e, collector.error);
+        assertTrue(collector.batches.isEmpty());
+    }
+
+    /*
+     * A publisher which sends the elements of a list on the calling thread,
+     * as they are requested.
+     */
+    private static final class ListPublisher<T> implements Flow.Publisher<T> {
+
+        private final List<T> items;
+        private final boolean complete;
+        private long requested;
+        private int sent;
+        private boolean cancelled;
+        private boolean sending;
+
+        ListPublisher(List<T> items, boolean complete) {
+            this.items = items;
+            this.complete = complete;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super T> s) {
+            s.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    requested += n;
+                    if (sending) {
+                        return;
+                    }
+                    sending = true;
+                    while (!cancelled && sent < requested
+                            && sent < items.size()) {
+                        s.onNext(items.get(sent++));
+                    }
+                    sending = false;
+                    if (complete && !cancelled && sent == items.size()) {
+                        cancelled = true;
+                        s.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+
+    /*
+     * A subscriber which remembers batches, and requests the given number of
+     * them when subscribed.
+     */
+    private static final class Collector<T>
+        implements Flow.Subscriber<List<T>> {
+
+        private final long initialRequest;
+        private final List<List<T>> batches = new ArrayList<>();
+        private final CountDownLatch received = new CountDownLatch(1);
+        private Flow.Subscription subscription;
+        private volatile Throwable error;
+        private volatile boolean completed;
+
+        Collector(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription s) {
+            subscription = s;
+            if (initialRequest > 0) {
+                s.request(initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(List<T> batch) {
+            batches.add(batch);
+            received.countDown();
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            error = e;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+}
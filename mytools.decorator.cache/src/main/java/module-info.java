@@ -0,0 +1,4 @@
+module mytools.decorator.cache {
+    requires transitive mytools.function;
+    exports mytools.function.decorator.cache;
+}
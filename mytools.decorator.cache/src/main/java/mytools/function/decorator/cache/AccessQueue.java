@@ -0,0 +1,75 @@
+package mytools.function.decorator.cache;
+
+/**
+ * A doubly linked list of cache nodes in access order, from the least
+ * recently used to the most recently used. The links are kept in the nodes,
+ * so adding, moving and removing a node does not allocate.
+ */
+final class AccessQueue<V> {
+
+    private Node<V> head;
+    private Node<V> tail;
+    private long size;
+
+    long size() {
+        return size;
+    }
+
+    Node<V> peekFirst() {
+        return head;
+    }
+
+    void addLast(Node<V> n) {
+        n.setQueue(this);
+        n.setPrev(tail);
+        n.setNext(null);
+        if (tail == null) {
+            head = n;
+        } else {
+            tail.setNext(n);
+        }
+        tail = n;
+        size++;
+    }
+
+    void moveToLast(Node<V> n) {
+        if (n != tail) {
+            remove(n);
+            addLast(n);
+        }
+    }
+
+    void remove(Node<V> n) {
+        Node<V> prev = n.getPrev();
+        Node<V> next = n.getNext();
+        if (prev == null) {
+            head = next;
+        } else {
+            prev.setNext(next);
+        }
+        if (next == null) {
+            tail = prev;
+        } else {
+            next.setPrev(prev);
+        }
+        n.setQueue(null);
+        n.setPrev(null);
+        n.setNext(null);
+        size--;
+    }
+
+    Node<V> removeFirst() {
+        Node<V> n = head;
+        if (n != null) {
+            remove(n);
+        }
+        return n;
+    }
+
+    void clear() {
+        while (head != null) {
+            remove(head);
+        }
+    }
+
+}
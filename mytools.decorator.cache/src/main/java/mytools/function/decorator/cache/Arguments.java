@@ -0,0 +1,41 @@
+package mytools.function.decorator.cache;
+
+import java.util.Objects;
+
+/**
+ * Both arguments of a {@code BiFunction}, used as a key.
+ */
+final class Arguments<T, U> {
+
+    private final T first;
+    private final U second;
+
+    Arguments(T first, U second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    T getFirst() {
+        return first;
+    }
+
+    U getSecond() {
+        return second;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof Arguments)) {
+            return false;
+        }
+        Arguments<?, ?> other = (Arguments<?, ?>) obj;
+        return Objects.equals(first, other.first) &&
+               Objects.equals(second, other.second);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(first, second);
+    }
+
+}
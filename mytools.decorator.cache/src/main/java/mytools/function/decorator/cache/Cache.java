@@ -0,0 +1,316 @@
+package mytools.function.decorator.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import mytools.function.object.ConcurrentLongCounter;
+
+/**
+ * The cache behind a {@link CachedFunction}.
+ *
+ * <p>
+ * Values are kept in a concurrent map and are read without locking.
+ * Writes and eviction order are guarded by a lock. Reads only try to take
+ * the lock to record the access, and skip recording it if the lock is busy,
+ * so that concurrent reads of hot keys don't wait for each other. The
+ * eviction order gets less precise under contention, which doesn't matter
+ * much for hot keys.
+ *
+ * <p>
+ * If values expire, the nodes are also kept in write order, and expired
+ * nodes are removed from the head of that order on every write and when
+ * the size is read, so that a cache without a maximum size does not keep
+ * expired values of keys which are not read again.
+ *
+ * <p>
+ * Loads in progress are tracked by {@link InFlightCalls}, so that a key
+ * missing in the cache is computed by one thread, and the other threads
+ * wait for its result.
+ */
+final class Cache<K, V> implements CachedFunction<K, V> {
+
+    private static final Object NULL_KEY = new Object();
+
+    private final Function<? super K, ? extends V> loader;
+    private final ConcurrentHashMap<Object, Node<V>> nodes =
+            new ConcurrentHashMap<>();
+    private final InFlightCalls<K, V> loads = new InFlightCalls<>();
+    private final Function<K, V> load = this::load;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Evictor<V> evictor;
+    private final WriteQueue<V> writeQueue;
+    private final long expireAfterWriteNanos;
+    private final long refreshAfterWriteNanos;
+    private final Executor executor;
+    private final LongSupplier ticker;
+
+    private final ConcurrentLongCounter hits = new ConcurrentLongCounter();
+    private final ConcurrentLongCounter misses = new ConcurrentLongCounter();
+    private final ConcurrentLongCounter loadSuccesses =
+            new ConcurrentLongCounter();
+    private final ConcurrentLongCounter loadFailures =
+            new ConcurrentLongCounter();
+    private final ConcurrentLongCounter loadTime = new ConcurrentLongCounter();
+    private final ConcurrentLongCounter evictions =
+            new ConcurrentLongCounter();
+
+    Cache(CachePolicy p, Function<? super K, ? extends V> loader) {
+        if (loader == null) {
+            throw new IllegalArgumentException("Function must not be null");
+        }
+        this.loader = loader;
+        this.evictor = p.isBounded() ? Evictor.of(p) : null;
+        this.expireAfterWriteNanos = p.getExpireAfterWriteNanos();
+        this.writeQueue = expireAfterWriteNanos > 0 ? new WriteQueue<>() : null;
+        this.refreshAfterWriteNanos = p.getRefreshAfterWriteNanos();
+        this.executor = p.getExecutor();
+        this.ticker = expireAfterWriteNanos > 0 || refreshAfterWriteNanos > 0 ?
+                p.getTicker() : null;
+    }
+
+    @Override
+    public V apply(K key) {
+        Object k = maskNull(key);
+        Node<V> n = nodes.get(k);
+        if (n != null) {
+            long now = now();
+            if (!isExpired(n, now)) {
+                hits.increment();
+                afterRead(n);
+                if (needsRefresh(n, now)) {
+                    refresh(key, k, n);
+                }
+                return n.getValue();
+            }
+        }
+        return loads.call(key, load);
+    }
+
+    @Override
+    public V getIfPresent(K key) {
+        Node<V> n = nodes.get(maskNull(key));
+        if (n == null || isExpired(n, now())) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        afterRead(n);
+        return n.getValue();
+    }
+
+    @Override
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            Node<V> n = nodes.remove(maskNull(key));
+            if (n != null) {
+                if (evictor != null) {
+                    evictor.onRemove(n);
+                }
+                if (writeQueue != null) {
+                    writeQueue.remove(n);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            nodes.clear();
+            if (evictor != null) {
+                evictor.clear();
+            }
+            if (writeQueue != null) {
+                writeQueue.clear();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long size() {
+        if (writeQueue != null) {
+            long now = now();
+            lock.lock();
+            try {
+                expire(now);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return nodes.mappingCount();
+    }
+
+    @Override
+    public CacheStats stats() {
+        return new CacheStats(hits.get() + loads.getJoinedCount(),
+                misses.get(),
+                loadSuccesses.get(), loadFailures.get(),
+                loadTime.get(), evictions.get());
+    }
+
+    /*
+     * Called by one thread at a time for the given key.
+     */
+    private V load(K key) {
+        // the value might have been loaded since the caller looked
+        Object k = maskNull(key);
+        Node<V> n = nodes.get(k);
+        if (n != null && !isExpired(n, now())) {
+            hits.increment();
+            return n.getValue();
+        }
+
+        misses.increment();
+        V v = compute(key);
+        if (v != null) {
+            put(k, v);
+        }
+        return v;
+    }
+
+    private V compute(K key) {
+        long start = System.nanoTime();
+        try {
+            V v = loader.apply(key);
+            loadSuccesses.increment();
+            return v;
+        } catch (RuntimeException | Error e) {
+            loadFailures.increment();
+            throw e;
+        } finally {
+            loadTime.add(System.nanoTime() - start);
+        }
+    }
+
+    private void put(Object k, V v) {
+        long now = now();
+        lock.lock();
+        try {
+            expire(now);
+            Node<V> n = nodes.get(k);
+            if (n != null) {
+                n.setValue(v, now);
+                if (evictor != null) {
+                    evictor.onAccess(n);
+                }
+                if (writeQueue != null) {
+                    writeQueue.moveToLast(n);
+                }
+                return;
+            }
+
+            n = new Node<>(k, v, now);
+            nodes.put(k, n);
+            if (writeQueue != null) {
+                writeQueue.addLast(n);
+            }
+            if (evictor != null) {
+                Node<V> victim = evictor.onInsert(n);
+                if (victim != null) {
+                    nodes.remove(victim.getKey(), victim);
+                    if (writeQueue != null) {
+                        writeQueue.remove(victim);
+                    }
+                    evictions.increment();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refresh(K key, Object k, Node<V> n) {
+        if (!n.startRefresh()) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    V v = compute(key);
+                    if (v != null) {
+                        replace(k, n, v);
+                    }
+                } catch (RuntimeException e) {
+                    // keep the old value, it will be refreshed on next read
+                } finally {
+                    n.endRefresh();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            n.endRefresh();
+        }
+    }
+
+    // Set the refreshed value, unless the node was removed in the meantime
+    private void replace(Object k, Node<V> n, V v) {
+        long now = now();
+        lock.lock();
+        try {
+            if (nodes.get(k) == n) {
+                n.setValue(v, now);
+                if (writeQueue != null) {
+                    writeQueue.moveToLast(n);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * Remove the expired nodes. Called under the lock.
+     */
+    private void expire(long now) {
+        if (writeQueue == null) {
+            return;
+        }
+        Node<V> n = writeQueue.peekFirst();
+        while (n != null && isExpired(n, now)) {
+            writeQueue.remove(n);
+            nodes.remove(n.getKey(), n);
+            if (evictor != null) {
+                evictor.onRemove(n);
+            }
+            n = writeQueue.peekFirst();
+        }
+    }
+
+    private void afterRead(Node<V> n) {
+        if (evictor != null && lock.tryLock()) {
+            try {
+                evictor.onAccess(n);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private long now() {
+        return ticker == null ? 0 : ticker.getAsLong();
+    }
+
+    private boolean isExpired(Node<V> n, long now) {
+        return expireAfterWriteNanos > 0 &&
+               now - n.getWriteTime() >= expireAfterWriteNanos;
+    }
+
+    private boolean needsRefresh(Node<V> n, long now) {
+        return refreshAfterWriteNanos > 0 &&
+               now - n.getWriteTime() >= refreshAfterWriteNanos;
+    }
+
+    private static Object maskNull(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+}
@@ -0,0 +1,51 @@
+package mytools.function.decorator.cache;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import mytools.function.decorator.Decorator;
+
+/**
+ * This decorator remembers the results of a function, as defined in the
+ * given {@link CachePolicy}. Every decorated function gets its own cache.
+ *
+ * <p>
+ * Functions are cached by their arguments, so the arguments must
+ * implement {@code equals()} and {@code hashCode()}. A supplier caches
+ * its single value. Caching functions which return nothing, such as
+ * consumers and runnables, has no effect, since {@code null} results are
+ * not cached.
+ *
+ * @see CachedFunction
+ */
+final class CacheDecorator<T, U, R> implements Decorator<T, U, R> {
+
+    private final CachePolicy policy;
+
+    CacheDecorator(CachePolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("Policy must not be null");
+        }
+        this.policy = policy;
+    }
+
+    @Override
+    public BiFunction<T, U, R> decorate(BiFunction<T, U, R> f) {
+        Cache<Arguments<T, U>, R> cache = new Cache<>(policy,
+                args -> f.apply(args.getFirst(), args.getSecond()));
+        return (t, u) -> cache.apply(new Arguments<>(t, u));
+    }
+
+    @Override
+    public CachedFunction<T, R> decorate(Function<T, R> f) {
+        return new Cache<>(policy, f);
+    }
+
+    @Override
+    public Supplier<R> decorate(Supplier<R> f) {
+        Cache<Object, R> cache = new Cache<>(policy, key -> f.get());
+        return () -> cache.apply(null);
+    }
+
+}
@@ -0,0 +1,118 @@
+package mytools.function.decorator.cache;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import mytools.function.decorator.Decorator;
+
+/**
+ * Contains static methods which decorate functions with caching, and with
+ * suppression of duplicate concurrent calls.
+ *
+ * <p>
+ * A cached function remembers its results for the given arguments, as
+ * defined in a {@link CachePolicy}. Without a policy, results are
+ * remembered forever, which suits functions with a small, fixed set of
+ * arguments. Functions called with arbitrary arguments should be cached
+ * with a bounded policy:
+ *
+ * <pre>
+ * {@code
+ *  CachedFunction<String, User> findUser = cached(
+ *          CachePolicy.maximumSize(10_000)
+ *                  .withExpireAfterWrite(Duration.ofMinutes(5)),
+ *          userRepository::find);
+ * }
+ * </pre>
+ *
+ * @see CachedFunction
+ * @see CachePolicy
+ */
+public interface CacheDecorators {
+
+    /**
+     * Decorate a function with an unbounded cache.
+     */
+    static <K, V> CachedFunction<K, V> cached(Function<K, V> f) {
+        return cached(CachePolicy.unbounded(), f);
+    }
+
+    /**
+     * Decorate a function with a cache, which follows the given policy.
+     */
+    static <K, V> CachedFunction<K, V> cached(
+            CachePolicy p, Function<K, V> f) {
+        return new CacheDecorator<K, Object, V>(p).decorate(f);
+    }
+
+    /**
+     * Decorate a function of two arguments with a cache, which follows
+     * the given policy. The results are cached by both arguments.
+     */
+    static <T, U, R> BiFunction<T, U, R> cached(
+            CachePolicy p, BiFunction<T, U, R> f) {
+        return new CacheDecorator<T, U, R>(p).decorate(f);
+    }
+
+    /**
+     * Decorate a supplier, so that it is called once, and its result is
+     * remembered forever. If several threads call the decorated supplier at
+     * the same time, the original supplier is still called once.
+     */
+    static <R> Supplier<R> cached(Supplier<R> f) {
+        return cached(CachePolicy.unbounded(), f);
+    }
+
+    /**
+     * Decorate a supplier with a cache, which follows the given policy.
+     * This is useful to remember a value for some time, for example with
+     * {@link CachePolicy#withExpireAfterWrite}.
+     */
+    static <R> Supplier<R> cached(CachePolicy p, Supplier<R> f) {
+        return new CacheDecorator<Object, Object, R>(p).decorate(f);
+    }
+
+    /**
+     * Create a caching decorator, which can be combined with other
+     * decorators. Every function decorated with it gets its own cache.
+     */
+    static <T, U, R> Decorator<T, U, R> cachingDecorator(CachePolicy p) {
+        return new CacheDecorator<>(p);
+    }
+
+    /**
+     * Decorate a function, so that concurrent calls with equal arguments
+     * call the original function once, and share its result or exception.
+     * Results are not remembered after the call completes.
+     */
+    static <K, V> Function<K, V> singleFlight(Function<K, V> f) {
+        return new SingleFlightDecorator<K, Object, V>().decorate(f);
+    }
+
+    /**
+     * Decorate a function of two arguments, so that concurrent calls with
+     * equal arguments call the original function once, and share its result
+     * or exception.
+     */
+    static <T, U, R> BiFunction<T, U, R> singleFlight(BiFunction<T, U, R> f) {
+        return new SingleFlightDecorator<T, U, R>().decorate(f);
+    }
+
+    /**
+     * Decorate a supplier, so that concurrent calls call the original
+     * supplier once, and share its result or exception.
+     */
+    static <R> Supplier<R> singleFlight(Supplier<R> f) {
+        return new SingleFlightDecorator<Object, Object, R>().decorate(f);
+    }
+
+    /**
+     * Create a decorator which suppresses duplicate concurrent calls, which
+     * can be combined with other decorators.
+     */
+    static <T, U, R> Decorator<T, U, R> singleFlightDecorator() {
+        return new SingleFlightDecorator<>();
+    }
+
+}
@@ -0,0 +1,213 @@
+package mytools.function.decorator.cache;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache policy defines how many values a cache keeps, which values it evicts
+ * when it is full, and for how long the values stay fresh.
+ *
+ * <p>
+ * Cache policies are immutable. Every {@code with...()} method returns a new
+ * policy, so a policy may be shared between caches:
+ *
+ * <pre>
+ * {@code
+ *  CachePolicy p = CachePolicy.maximumSize(10_000)
+ *          .withExpireAfterWrite(Duration.ofMinutes(10))
+ *          .withRefreshAfterWrite(Duration.ofMinutes(1));
+ * }
+ * </pre>
+ *
+ * @see CacheDecorators
+ */
+public final class CachePolicy {
+
+    /**
+     * Defines which value is evicted when a cache is full.
+     */
+    public enum Eviction {
+
+        /**
+         * Evict the least recently used value.
+         */
+        LRU,
+
+        /**
+         * Window TinyLFU. New values enter a small LRU window. Values leaving
+         * the window are admitted to the main part of the cache only if they
+         * were used more often than the value they would replace. Use
+         * frequencies are estimated with a compact sketch, which forgets old
+         * uses over time. This keeps frequently used values in the cache
+         * when it is scanned with keys which are used only once.
+         */
+        W_TINY_LFU
+    }
+
+    private static final CachePolicy UNBOUNDED = new CachePolicy(
+            Long.MAX_VALUE, Eviction.LRU, 0, 0,
+            ForkJoinPool.commonPool(), System::nanoTime);
+
+    private final long maximumSize;
+    private final Eviction eviction;
+    private final long expireAfterWriteNanos;
+    private final long refreshAfterWriteNanos;
+    private final Executor executor;
+    private final LongSupplier ticker;
+
+    private CachePolicy(long maximumSize, Eviction eviction,
+            long expireAfterWriteNanos, long refreshAfterWriteNanos,
+            Executor executor, LongSupplier ticker) {
+        this.maximumSize = maximumSize;
+        this.eviction = eviction;
+        this.expireAfterWriteNanos = expireAfterWriteNanos;
+        this.refreshAfterWriteNanos = refreshAfterWriteNanos;
+        this.executor = executor;
+        this.ticker = ticker;
+    }
+
+    /**
+     * A policy which never evicts or expires values.
+     */
+    public static CachePolicy unbounded() {
+        return UNBOUNDED;
+    }
+
+    /**
+     * A policy which keeps at most the given number of values and evicts
+     * the least recently used ones.
+     */
+    public static CachePolicy maximumSize(long maximumSize) {
+        return UNBOUNDED.withMaximumSize(maximumSize);
+    }
+
+    /**
+     * Keep at most the given number of values.
+     *
+     * @throws IllegalArgumentException if the size is not positive
+     */
+    public CachePolicy withMaximumSize(long size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException(
+                    "Maximum size must be positive");
+        }
+        return new CachePolicy(size, eviction, expireAfterWriteNanos,
+                refreshAfterWriteNanos, executor, ticker);
+    }
+
+    /**
+     * Choose which values to evict when the cache is full.
+     */
+    public CachePolicy withEviction(Eviction e) {
+        if (e == null) {
+            throw new IllegalArgumentException("Eviction must not be null");
+        }
+        return new CachePolicy(maximumSize, e, expireAfterWriteNanos,
+                refreshAfterWriteNanos, executor, ticker);
+    }
+
+    /**
+     * Consider a value missing once the given time passes after it was
+     * computed, so that the next call computes it again.
+     *
+     * @throws IllegalArgumentException if the duration is not positive
+     */
+    public CachePolicy withExpireAfterWrite(Duration d) {
+        return new CachePolicy(maximumSize, eviction, toNanos(d),
+                refreshAfterWriteNanos, executor, ticker);
+    }
+
+    /**
+     * Recompute a value in the background once the given time passes after
+     * it was computed. Until the new value is ready, the cache keeps
+     * returning the old one. If recomputing fails, the old value is kept.
+     * Refreshing should take less time than expiring, if both are set.
+     *
+     * @throws IllegalArgumentException if the duration is not positive
+     */
+    public CachePolicy withRefreshAfterWrite(Duration d) {
+        return new CachePolicy(maximumSize, eviction, expireAfterWriteNanos,
+                toNanos(d), executor, ticker);
+    }
+
+    /**
+     * Use the given executor to refresh values. By default, values are
+     * refreshed in the common fork/join pool.
+     */
+    public CachePolicy withExecutor(Executor e) {
+        if (e == null) {
+            throw new IllegalArgumentException("Executor must not be null");
+        }
+        return new CachePolicy(maximumSize, eviction, expireAfterWriteNanos,
+                refreshAfterWriteNanos, e, ticker);
+    }
+
+    /*
+     * Use the given source of nanosecond time instead of System.nanoTime().
+     * Used in tests.
+     */
+    CachePolicy withTicker(LongSupplier t) {
+        return new CachePolicy(maximumSize, eviction, expireAfterWriteNanos,
+                refreshAfterWriteNanos, executor, t);
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public Eviction getEviction() {
+        return eviction;
+    }
+
+    /**
+     * @return the expiration time in nanoseconds, or zero if values
+     *         never expire
+     */
+    public long getExpireAfterWriteNanos() {
+        return expireAfterWriteNanos;
+    }
+
+    /**
+     * @return the refresh time in nanoseconds, or zero if values
+     *         are never refreshed
+     */
+    public long getRefreshAfterWriteNanos() {
+        return refreshAfterWriteNanos;
+    }
+
+    public boolean isBounded() {
+        return maximumSize != Long.MAX_VALUE;
+    }
+
+    Executor getExecutor() {
+        return executor;
+    }
+
+    LongSupplier getTicker() {
+        return ticker;
+    }
+
+    private static long toNanos(Duration d) {
+        if (d == null || d.isNegative() || d.isZero()) {
+            throw new IllegalArgumentException(
+                    "Duration must be positive");
+        }
+        try {
+            return d.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CachePolicy[maximumSize=" +
+                (isBounded() ? String.valueOf(maximumSize) : "unbounded") +
+                ", eviction=" + eviction +
+                ", expireAfterWriteNanos=" + expireAfterWriteNanos +
+                ", refreshAfterWriteNanos=" + refreshAfterWriteNanos + "]";
+    }
+
+}
@@ -0,0 +1,94 @@
+package mytools.function.decorator.cache;
+
+/**
+ * A snapshot of cache statistics. A call which finds a value in the cache
+ * is a hit. A call which has to wait for a value computed by another thread
+ * is a hit as well, since the value is computed once.
+ *
+ * @see CachedFunction#stats()
+ */
+public final class CacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long loadSuccessCount;
+    private final long loadFailureCount;
+    private final long totalLoadTime;
+    private final long evictionCount;
+
+    CacheStats(long hitCount, long missCount,
+            long loadSuccessCount, long loadFailureCount,
+            long totalLoadTime, long evictionCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadSuccessCount = loadSuccessCount;
+        this.loadFailureCount = loadFailureCount;
+        this.totalLoadTime = totalLoadTime;
+        this.evictionCount = evictionCount;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getRequestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * @return the ratio of hits to requests, or 1 if there were no requests
+     */
+    public double getHitRate() {
+        long requestCount = getRequestCount();
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * @return the ratio of misses to requests, or 0 if there were no requests
+     */
+    public double getMissRate() {
+        long requestCount = getRequestCount();
+        return requestCount == 0 ? 0.0 : (double) missCount / requestCount;
+    }
+
+    /**
+     * @return how many times a value was computed successfully, including
+     *         refreshes
+     */
+    public long getLoadSuccessCount() {
+        return loadSuccessCount;
+    }
+
+    /**
+     * @return how many times computing a value threw an exception
+     */
+    public long getLoadFailureCount() {
+        return loadFailureCount;
+    }
+
+    /**
+     * @return time spent computing values, in nanoseconds
+     */
+    public long getTotalLoadTime() {
+        return totalLoadTime;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats[hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", loadSuccessCount=" + loadSuccessCount +
+                ", loadFailureCount=" + loadFailureCount +
+                ", totalLoadTime=" + totalLoadTime +
+                ", evictionCount=" + evictionCount + "]";
+    }
+
+}
@@ -0,0 +1,54 @@
+package mytools.function.decorator.cache;
+
+import java.util.function.Function;
+
+/**
+ * A function which remembers its results. Calling the function with a key
+ * which is already in the cache returns the remembered value. Otherwise,
+ * the value is computed by the original function. If several threads call
+ * the function with the same missing key at the same time, the value is
+ * computed once, and the other threads wait for it.
+ *
+ * <p>
+ * {@code null} results are not cached. Exceptions thrown by the original
+ * function are re-thrown to all the waiting threads and are not cached
+ * either.
+ *
+ * <p>
+ * The original function must not call the cached function with the same
+ * key, since it would wait for itself. Such a call throws
+ * {@code IllegalStateException}.
+ *
+ * @see CacheDecorators
+ */
+public interface CachedFunction<K, V> extends Function<K, V> {
+
+    /**
+     * Get the value if it is in the cache and is not expired, without
+     * computing it.
+     *
+     * @return the cached value, or {@code null}
+     */
+    V getIfPresent(K key);
+
+    /**
+     * Remove the value for the given key from the cache.
+     */
+    void invalidate(K key);
+
+    /**
+     * Remove all the values from the cache.
+     */
+    void invalidateAll();
+
+    /**
+     * @return the number of values in the cache, without expired values
+     */
+    long size();
+
+    /**
+     * @return a snapshot of the statistics of this cache
+     */
+    CacheStats stats();
+
+}
@@ -0,0 +1,36 @@
+package mytools.function.decorator.cache;
+
+/**
+ * Keeps the nodes of a bounded cache in eviction order. All the methods
+ * are called under the cache lock.
+ */
+interface Evictor<V> {
+
+    /**
+     * Record a new node.
+     *
+     * @return a node which has to be evicted to keep the cache within its
+     *         maximum size, which may be the new node itself, or null
+     */
+    Node<V> onInsert(Node<V> n);
+
+    /**
+     * Record that the node was read or updated.
+     */
+    void onAccess(Node<V> n);
+
+    void onRemove(Node<V> n);
+
+    void clear();
+
+    static <V> Evictor<V> of(CachePolicy p) {
+        switch (p.getEviction()) {
+            case W_TINY_LFU:
+                return new WindowTinyLfuEvictor<>(p.getMaximumSize());
+            case LRU:
+            default:
+                return new LruEvictor<>(p.getMaximumSize());
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+package mytools.function.decorator.cache;
+
+/**
+ * Estimates how often keys were used, with a count-min sketch of 4-bit
+ * counters. Every key is counted in four counters picked by different
+ * hashes, and its frequency is the smallest of them, so that collisions
+ * with other keys can only overestimate it.
+ *
+ * <p>
+ * Once the number of counted uses reaches ten times the cache size,
+ * all the counters are halved, so that keys which were used often long ago
+ * do not stay in the cache forever.
+ *
+ * <p>
+ * This class is not thread safe. It is guarded by the cache lock.
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L,
+        0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    private static final int COUNTERS_PER_LONG_SHIFT = 4;
+    private static final int COUNTER_BITS_SHIFT = 2;
+    private static final long COUNTER_MASK = 0xfL;
+    private static final long MAX_COUNT = 15;
+    private static final long HALVE_MASK = 0x7777777777777777L;
+    private static final int SAMPLE_FACTOR = 10;
+    private static final int MAX_TABLE_SIZE = 0x4000000;
+
+    private final long[] table;
+    private final int tableMask;
+    private final long sampleSize;
+    private long additions;
+
+    FrequencySketch(long maximumSize) {
+        int size = (int) Math.min(Math.max(maximumSize, 2), MAX_TABLE_SIZE);
+        int tableSize = Integer.highestOneBit(size - 1) << 1;
+        table = new long[tableSize];
+        tableMask = tableSize - 1;
+        sampleSize = SAMPLE_FACTOR * (long) size;
+    }
+
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        long min = MAX_COUNT;
+        for (long seed : SEEDS) {
+            long h = hash * seed;
+            min = Math.min(min, (table[index(h)] >>> offset(h)) & COUNTER_MASK);
+        }
+        return (int) min;
+    }
+
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (long seed : SEEDS) {
+            long h = hash * seed;
+            int i = index(h);
+            int offset = offset(h);
+            if (((table[i] >>> offset) & COUNTER_MASK) < MAX_COUNT) {
+                table[i] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & HALVE_MASK;
+        }
+        additions /= 2;
+    }
+
+    private int index(long h) {
+        return (int) (h >>> Integer.SIZE) & tableMask;
+    }
+
+    // bit offset of one of the 16 counters in a long
+    private static int offset(long h) {
+        return (int) (h & ((1 << COUNTERS_PER_LONG_SHIFT) - 1))
+                << COUNTER_BITS_SHIFT;
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> (Integer.SIZE / 2));
+    }
+
+}
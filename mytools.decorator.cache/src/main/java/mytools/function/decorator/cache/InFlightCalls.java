@@ -0,0 +1,94 @@
+package mytools.function.decorator.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import mytools.function.object.ConcurrentLongCounter;
+
+/**
+ * Keeps track of function calls in progress, so that concurrent calls with
+ * the same key are made once. The first thread calls the function, and the
+ * other threads wait for it and share its result or exception.
+ *
+ * <p>
+ * Calls in progress are kept in a concurrent map, so calls with different
+ * keys don't wait for each other. A call is removed from the map as soon as
+ * it completes, so the next call with the same key calls the function
+ * again.
+ */
+final class InFlightCalls<K, V> {
+
+    private static final Object NULL_KEY = new Object();
+
+    private final ConcurrentHashMap<Object, Call<V>> calls =
+            new ConcurrentHashMap<>();
+    private final ConcurrentLongCounter joined = new ConcurrentLongCounter();
+
+    /*
+     * A call in progress. Remembers the calling thread to detect recursive
+     * calls, which would wait for themselves.
+     */
+    private static final class Call<V> extends CompletableFuture<V> {
+        private final Thread thread = Thread.currentThread();
+    }
+
+    /**
+     * Call the function with the given key, or wait for the call which is
+     * in progress for this key. If the function throws a checked exception,
+     * the waiting threads get a {@code CompletionException} with it as the
+     * cause.
+     *
+     * @throws IllegalStateException if the function calls this method with
+     *         the same key
+     */
+    V call(K key, Function<? super K, ? extends V> f) {
+        Object k = key == null ? NULL_KEY : key;
+        Call<V> call = new Call<>();
+        Call<V> running = calls.putIfAbsent(k, call);
+        if (running != null) {
+            if (running.thread == Thread.currentThread()) {
+                throw new IllegalStateException(
+                        "Recursive call with key " + key);
+            }
+            joined.increment();
+            return join(running);
+        }
+
+        try {
+            V v = f.apply(key);
+            call.complete(v);
+            return v;
+        } catch (Throwable e) {
+            // checked exceptions may be thrown sneakily, and the waiting
+            // threads must not be left waiting for them
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(k, call);
+        }
+    }
+
+    /**
+     * @return the number of calls which waited for another thread's result
+     */
+    long getJoinedCount() {
+        return joined.get();
+    }
+
+    private static <V> V join(CompletableFuture<V> f) {
+        try {
+            return f.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+}
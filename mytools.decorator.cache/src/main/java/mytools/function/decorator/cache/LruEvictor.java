@@ -0,0 +1,40 @@
+package mytools.function.decorator.cache;
+
+/**
+ * Evicts the least recently used node.
+ */
+final class LruEvictor<V> implements Evictor<V> {
+
+    private final long maximumSize;
+    private final AccessQueue<V> queue = new AccessQueue<>();
+
+    LruEvictor(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    @Override
+    public Node<V> onInsert(Node<V> n) {
+        queue.addLast(n);
+        return queue.size() > maximumSize ? queue.removeFirst() : null;
+    }
+
+    @Override
+    public void onAccess(Node<V> n) {
+        if (n.getQueue() == queue) {
+            queue.moveToLast(n);
+        }
+    }
+
+    @Override
+    public void onRemove(Node<V> n) {
+        if (n.getQueue() == queue) {
+            queue.remove(n);
+        }
+    }
+
+    @Override
+    public void clear() {
+        queue.clear();
+    }
+
+}
@@ -0,0 +1,111 @@
+package mytools.function.decorator.cache;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * A cache entry. The value and write time are read without locking.
+ * The links to other nodes, in access order and in write order, are
+ * guarded by the cache lock.
+ */
+final class Node<V> {
+
+    private static final VarHandle REFRESHING;
+    static {
+        try {
+            REFRESHING = MethodHandles.lookup().findVarHandle(
+                    Node.class, "refreshing", boolean.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Object key;
+    private volatile V value;
+    private volatile long writeTime;
+    @SuppressWarnings("unused")
+    private volatile boolean refreshing;
+
+    private AccessQueue<V> queue;
+    private Node<V> prev;
+    private Node<V> next;
+    private Node<V> writePrev;
+    private Node<V> writeNext;
+
+    Node(Object key, V value, long writeTime) {
+        this.key = key;
+        this.value = value;
+        this.writeTime = writeTime;
+    }
+
+    Object getKey() {
+        return key;
+    }
+
+    V getValue() {
+        return value;
+    }
+
+    long getWriteTime() {
+        return writeTime;
+    }
+
+    void setValue(V value, long writeTime) {
+        this.value = value;
+        this.writeTime = writeTime;
+    }
+
+    /**
+     * Mark the node as being refreshed.
+     *
+     * @return false if it is already being refreshed
+     */
+    boolean startRefresh() {
+        return REFRESHING.compareAndSet(this, false, true);
+    }
+
+    void endRefresh() {
+        REFRESHING.setVolatile(this, false);
+    }
+
+    AccessQueue<V> getQueue() {
+        return queue;
+    }
+
+    void setQueue(AccessQueue<V> queue) {
+        this.queue = queue;
+    }
+
+    Node<V> getPrev() {
+        return prev;
+    }
+
+    void setPrev(Node<V> prev) {
+        this.prev = prev;
+    }
+
+    Node<V> getNext() {
+        return next;
+    }
+
+    void setNext(Node<V> next) {
+        this.next = next;
+    }
+
+    Node<V> getWritePrev() {
+        return writePrev;
+    }
+
+    void setWritePrev(Node<V> writePrev) {
+        this.writePrev = writePrev;
+    }
+
+    Node<V> getWriteNext() {
+        return writeNext;
+    }
+
+    void setWriteNext(Node<V> writeNext) {
+        this.writeNext = writeNext;
+    }
+
+}
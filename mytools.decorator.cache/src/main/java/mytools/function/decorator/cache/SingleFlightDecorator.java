@@ -0,0 +1,47 @@
+package mytools.function.decorator.cache;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import mytools.function.decorator.Decorator;
+
+/**
+ * This decorator suppresses duplicate concurrent calls. While a decorated
+ * function is being called with some arguments, other threads calling it
+ * with equal arguments don't call the original function, but wait for the
+ * call in progress and share its result or exception. Once the call
+ * completes, the next call calls the original function again, so, unlike
+ * {@link CacheDecorator}, nothing is remembered.
+ *
+ * <p>
+ * Calls are tracked per decorated function and per arguments, without
+ * a global lock, so calls with different arguments don't wait for each
+ * other. A decorated supplier makes at most one call at a time.
+ *
+ * @see InFlightCalls
+ */
+final class SingleFlightDecorator<T, U, R> implements Decorator<T, U, R> {
+
+    @Override
+    public BiFunction<T, U, R> decorate(BiFunction<T, U, R> f) {
+        InFlightCalls<Arguments<T, U>, R> calls = new InFlightCalls<>();
+        Function<Arguments<T, U>, R> g =
+                args -> f.apply(args.getFirst(), args.getSecond());
+        return (t, u) -> calls.call(new Arguments<>(t, u), g);
+    }
+
+    @Override
+    public Function<T, R> decorate(Function<T, R> f) {
+        InFlightCalls<T, R> calls = new InFlightCalls<>();
+        return t -> calls.call(t, f);
+    }
+
+    @Override
+    public Supplier<R> decorate(Supplier<R> f) {
+        InFlightCalls<Object, R> calls = new InFlightCalls<>();
+        Function<Object, R> g = key -> f.get();
+        return () -> calls.call(null, g);
+    }
+
+}
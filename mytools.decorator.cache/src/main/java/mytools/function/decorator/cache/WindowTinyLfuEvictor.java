@@ -0,0 +1,97 @@
+package mytools.function.decorator.cache;
+
+/**
+ * Window TinyLFU eviction.
+ *
+ * <p>
+ * New nodes enter the window, an LRU queue holding 1% of the cache.
+ * A node pushed out of the window is a candidate for the main part of the
+ * cache, which is a segmented LRU: nodes start in the probation queue and
+ * are promoted to the protected queue, holding 80% of the main part, when
+ * they are used again. When the main part is full, the candidate is
+ * compared with the least recently used probation node, and the one which
+ * was used less often according to the frequency sketch is evicted.
+ */
+final class WindowTinyLfuEvictor<V> implements Evictor<V> {
+
+    private static final double WINDOW_RATIO = 0.01;
+    private static final double PROTECTED_RATIO = 0.8;
+
+    private final long windowSize;
+    private final long mainSize;
+    private final long protectedSize;
+    private final FrequencySketch sketch;
+
+    private final AccessQueue<V> window = new AccessQueue<>();
+    private final AccessQueue<V> probation = new AccessQueue<>();
+    private final AccessQueue<V> protectedQueue = new AccessQueue<>();
+
+    WindowTinyLfuEvictor(long maximumSize) {
+        windowSize = Math.max(1, (long) (maximumSize * WINDOW_RATIO));
+        mainSize = maximumSize - windowSize;
+        protectedSize = (long) (mainSize * PROTECTED_RATIO);
+        sketch = new FrequencySketch(maximumSize);
+    }
+
+    @Override
+    public Node<V> onInsert(Node<V> n) {
+        sketch.increment(n.getKey());
+        window.addLast(n);
+        if (window.size() <= windowSize) {
+            return null;
+        }
+
+        Node<V> candidate = window.removeFirst();
+        if (probation.size() + protectedQueue.size() < mainSize) {
+            probation.addLast(candidate);
+            return null;
+        }
+
+        Node<V> victim = probation.peekFirst();
+        if (victim == null) {
+            victim = protectedQueue.peekFirst();
+        }
+        if (victim != null &&
+            sketch.frequency(candidate.getKey()) >
+                sketch.frequency(victim.getKey())) {
+            victim.getQueue().remove(victim);
+            probation.addLast(candidate);
+            return victim;
+        }
+        return candidate;
+    }
+
+    @Override
+    public void onAccess(Node<V> n) {
+        AccessQueue<V> queue = n.getQueue();
+        if (queue == null) {
+            return;
+        }
+        sketch.increment(n.getKey());
+        if (queue == probation) {
+            probation.remove(n);
+            protectedQueue.addLast(n);
+            if (protectedQueue.size() > protectedSize) {
+                probation.addLast(protectedQueue.removeFirst());
+            }
+        } else {
+            queue.moveToLast(n);
+        }
+    }
+
+    @Override
+    public void onRemove(Node<V> n) {
+        AccessQueue<V> queue = n.getQueue();
+        if (queue != null) {
+            queue.remove(n);
+        }
+    }
+
+    @Override
+    public void clear() {
+        window.clear();
+        probation.clear();
+        protectedQueue.clear();
+    }
+
+}
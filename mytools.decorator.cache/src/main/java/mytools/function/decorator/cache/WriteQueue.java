@@ -0,0 +1,60 @@
+package mytools.function.decorator.cache;
+
+/**
+ * A doubly linked list of cache nodes in write order, from the oldest
+ * write to the newest. Since all the values expire after the same time,
+ * the expired nodes are at the head of the list. The links are kept in the
+ * nodes, apart from the links of {@link AccessQueue}, so that a node may be
+ * in both lists. All the methods are called under the cache lock.
+ */
+final class WriteQueue<V> {
+
+    private Node<V> head;
+    private Node<V> tail;
+
+    Node<V> peekFirst() {
+        return head;
+    }
+
+    void addLast(Node<V> n) {
+        n.setWritePrev(tail);
+        n.setWriteNext(null);
+        if (tail == null) {
+            head = n;
+        } else {
+            tail.setWriteNext(n);
+        }
+        tail = n;
+    }
+
+    void moveToLast(Node<V> n) {
+        if (n != tail) {
+            remove(n);
+            addLast(n);
+        }
+    }
+
+    void remove(Node<V> n) {
+        Node<V> prev = n.getWritePrev();
+        Node<V> next = n.getWriteNext();
+        if (prev == null) {
+            head = next;
+        } else {
+            prev.setWriteNext(next);
+        }
+        if (next == null) {
+            tail = prev;
+        } else {
+            next.setWritePrev(prev);
+        }
+        n.setWritePrev(null);
+        n.setWriteNext(null);
+    }
+
+    void clear() {
+        while (head != null) {
+            remove(head);
+        }
+    }
+
+}
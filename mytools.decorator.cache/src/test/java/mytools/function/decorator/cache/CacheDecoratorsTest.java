@@ -0,0 +1,249 @@
+package mytools.function.decorator.cache;
+
+import static mytools.function.decorator.cache.CacheDecorators.cached;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import mytools.function.decorator.Decorators;
+import mytools.function.object.ConcurrentCounter;
+import mytools.function.object.Counter;
+
+public class CacheDecoratorsTest {
+
+    private static final int MAX_SIZE = 3;
+    private static final int NUM_THREADS = 8;
+    private static final long WAIT_TIME = 100;
+    private static final Duration EXPIRE = Duration.ofSeconds(10);
+    private static final Duration REFRESH = Duration.ofSeconds(5);
+
+    private final Counter calls = new Counter();
+    private final Function<Integer, String> f = i -> {
+        calls.increment();
+        return "v" + i;
+    };
+
+    @Test
+    public void cacheResults() {
+        CachedFunction<Integer, String> c = cached(f);
+        assertEquals("v1", c.apply(1));
+        assertEquals("v1", c.apply(1));
+        assertEquals("v2", c.apply(2));
+        assertEquals(2, calls.get());
+        assertEquals(2, c.size());
+
+        CacheStats stats = c.stats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(2, stats.getMissCount());
+        assertEquals(2, stats.getLoadSuccessCount());
+
+        c.invalidate(1);
+        assertNull(c.getIfPresent(1));
+        assertEquals("v1", c.apply(1));
+        c.invalidateAll();
+        assertEquals(0, c.size());
+    }
+
+    @Test
+    public void nullKeysAndValues() {
+        CachedFunction<Integer, String> c = cached(i -> {
+            calls.increment();
+            return i == null ? "null" : null;
+        });
+        assertEquals("null", c.apply(null));
+        assertEquals("null", c.apply(null));
+        assertNull(c.apply(1));
+        assertNull(c.apply(1));
+        final int expectedCalls = 3;
+        assertEquals(expectedCalls, calls.get());
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed() {
+        CachedFunction<Integer, String> c =
+                cached(CachePolicy.maximumSize(MAX_SIZE), f);
+        for (int i = 0; i < MAX_SIZE; i++) {
+            c.apply(i);
+        }
+        c.apply(0);
+        c.apply(MAX_SIZE);
+
+        assertEquals(MAX_SIZE, c.size());
+        assertEquals(1, c.stats().getEvictionCount());
+        assertNull(c.getIfPresent(1));
+        assertEquals("v0", c.getIfPresent(0));
+    }
+
+    @Test
+    public void expireAfterWrite() {
+        AtomicLong time = new AtomicLong();
+        CachedFunction<Integer, String> c = cached(CachePolicy.unbounded()
+                .withExpireAfterWrite(EXPIRE).withTicker(time::get), f);
+        c.apply(1);
+        time.addAndGet(EXPIRE.toNanos() - 1);
+        c.apply(1);
+        assertEquals(1, calls.get());
+
+        time.incrementAndGet();
+        assertNull(c.getIfPresent(1));
+        c.apply(1);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void removeExpiredValues() {
+        AtomicLong time = new AtomicLong();
+        CachedFunction<Integer, String> c = cached(CachePolicy.unbounded()
+                .withExpireAfterWrite(EXPIRE).withTicker(time::get), f);
+        for (int i = 0; i < MAX_SIZE; i++) {
+            c.apply(i);
+            time.incrementAndGet();
+        }
+        // a rewritten value expires later
+        c.invalidate(0);
+        c.apply(0);
+        assertEquals(MAX_SIZE, c.size());
+
+        time.addAndGet(EXPIRE.toNanos() - MAX_SIZE + 1);
+        assertEquals(2, c.size());
+        c.apply(MAX_SIZE);
+        assertEquals(MAX_SIZE, c.size());
+        assertEquals("v0", c.getIfPresent(0));
+
+        time.addAndGet(EXPIRE.toNanos());
+        assertEquals(0, c.size());
+    }
+
+    @Test
+    public void refreshAfterWrite() {
+        AtomicLong time = new AtomicLong();
+        List<Runnable> tasks = new ArrayList<>();
+        CachedFunction<Integer, Integer> c = cached(CachePolicy.unbounded()
+                .withRefreshAfterWrite(REFRESH)
+                .withExecutor(tasks::add)
+                .withTicker(time::get), i -> {
+                    calls.increment();
+                    return calls.get();
+                });
+        assertEquals(1, c.apply(0));
+
+        time.addAndGet(REFRESH.toNanos());
+        // the old value is returned while the new one is computed
+        assertEquals(1, c.apply(0));
+        assertEquals(1, c.apply(0));
+        assertEquals(1, tasks.size());
+
+        tasks.get(0).run();
+        assertEquals(2, c.apply(0));
+    }
+
+    @Test
+    public void loadOnceUnderContention() throws InterruptedException {
+        ConcurrentCounter loads = new ConcurrentCounter();
+        CountDownLatch release = new CountDownLatch(1);
+        CachedFunction<Integer, String> c = cached(i -> {
+            loads.increment();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return "v" + i;
+        });
+
+        List<String> results = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < NUM_THREADS; i++) {
+            Thread t = new Thread(() -> {
+                String v = c.apply(1);
+                synchronized (results) {
+                    results.add(v);
+                }
+            });
+            threads.add(t);
+            t.start();
+        }
+        Thread.sleep(WAIT_TIME);
+        release.countDown();
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(NUM_THREADS, results.size());
+        results.forEach(v -> assertEquals("v1", v));
+        assertEquals(NUM_THREADS - 1, c.stats().getHitCount());
+    }
+
+    @Test
+    public void exceptionsAreNotCached() {
+        CachedFunction<Integer, String> c = cached(i -> {
+            calls.increment();
+            if (calls.get() == 1) {
+                throw new IllegalArgumentException();
+            }
+            return "v" + i;
+        });
+        assertThrows(IllegalArgumentException.class, () -> c.apply(1));
+        assertEquals("v1", c.apply(1));
+        assertEquals(1, c.stats().getLoadFailureCount());
+    }
+
+    @Test
+    public void recursiveCallThrows() {
+        List<CachedFunction<Integer, Integer>> self = new ArrayList<>();
+        self.add(cached(i -> self.get(0).apply(i)));
+        assertThrows(IllegalStateException.class, () -> self.get(0).apply(1));
+    }
+
+    @Test
+    public void cacheOtherFunctionTypes() {
+        BiFunction<Integer, Integer, Integer> bf = cached(
+                CachePolicy.unbounded(), (a, b) -> {
+                    calls.increment();
+                    return a + b;
+                });
+        assertEquals(2, bf.apply(1, 1));
+        assertEquals(2, bf.apply(1, 1));
+        assertEquals(1, bf.apply(1, 0));
+        assertEquals(2, calls.get());
+
+        calls.reset();
+        Supplier<Integer> s = cached(() -> {
+            calls.increment();
+            return calls.get();
+        });
+        assertEquals(1, s.get());
+        assertEquals(1, s.get());
+
+        calls.reset();
+        Function<Integer, String> chained = Decorators.chain(
+                CacheDecorators.<Integer, Object, String>cachingDecorator(
+                        CachePolicy.maximumSize(MAX_SIZE)))
+                .decorate(f);
+        chained.apply(1);
+        chained.apply(1);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void invalidPolicy() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CachePolicy.maximumSize(0));
+        assertThrows(IllegalArgumentException.class,
+                () -> CachePolicy.unbounded().withExpireAfterWrite(
+                        Duration.ZERO));
+    }
+
+}
@@ -0,0 +1,143 @@
+package mytools.function.decorator.cache;
+
+import static mytools.function.decorator.cache.CacheDecorators.singleFlight;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import mytools.function.object.ConcurrentCounter;
+
+public class SingleFlightDecoratorTest {
+
+    private static final int NUM_THREADS = 8;
+    private static final long WAIT_TIME = 100;
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final ConcurrentCounter calls = new ConcurrentCounter();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<Thread> threads = new ArrayList<>();
+
+    @Test
+    public void shareResultOfConcurrentCalls() throws InterruptedException {
+        Function<Integer, String> f = singleFlight(i -> {
+            calls.increment();
+            if (i == 1) {
+                await();
+            }
+            return "v" + i;
+        });
+
+        List<Object> results = callConcurrently(() -> f.apply(1));
+        // a call with other arguments does not wait
+        assertEquals("v2", f.apply(2));
+        release.countDown();
+        joinAll(results);
+
+        assertEquals(2, calls.get());
+        results.forEach(v -> assertEquals("v1", v));
+
+        // the result is not remembered
+        f.apply(1);
+        final int expectedCalls = 3;
+        assertEquals(expectedCalls, calls.get());
+    }
+
+    @Test
+    public void shareExceptionOfConcurrentCalls()
+            throws InterruptedException {
+        IllegalStateException e = new IllegalStateException();
+        Supplier<String> s = singleFlight(() -> {
+            calls.increment();
+            await();
+            throw e;
+        });
+
+        List<Object> results = callConcurrently(s);
+        release.countDown();
+        joinAll(results);
+
+        assertEquals(1, calls.get());
+        results.forEach(v -> assertSame(e, v));
+    }
+
+    @Test
+    @Timeout(TIMEOUT_SECONDS)
+    public void shareCheckedExceptionOfConcurrentCalls()
+            throws InterruptedException {
+        IOException e = new IOException();
+        Supplier<String> s = singleFlight(() -> {
+            calls.increment();
+            await();
+            return sneakyThrow(e);
+        });
+
+        List<Object> results = callConcurrently(s);
+        release.countDown();
+        joinAll(results);
+
+        assertEquals(1, calls.get());
+        results.forEach(v -> assertTrue(v == e ||
+                v instanceof CompletionException &&
+                ((CompletionException) v).getCause() == e));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R, E extends Throwable> R sneakyThrow(Throwable e)
+            throws E {
+        throw (E) e;
+    }
+
+    private void await() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /*
+     * Start threads calling the supplier, and wait until they are waiting
+     * for the first call. The list gets results and exceptions once
+     * the threads are joined.
+     */
+    private List<Object> callConcurrently(Supplier<?> s)
+            throws InterruptedException {
+        List<Object> results = new ArrayList<>();
+        for (int i = 0; i < NUM_THREADS; i++) {
+            Thread t = new Thread(() -> {
+                Object v;
+                try {
+                    v = s.get();
+                } catch (Exception e) {
+                    v = e;
+                }
+                synchronized (results) {
+                    results.add(v);
+                }
+            });
+            threads.add(t);
+            t.start();
+        }
+        Thread.sleep(WAIT_TIME);
+        return results;
+    }
+
+    private void joinAll(List<Object> results) throws InterruptedException {
+        for (Thread t : threads) {
+            t.join();
+        }
+        assertEquals(NUM_THREADS, results.size());
+    }
+
+}
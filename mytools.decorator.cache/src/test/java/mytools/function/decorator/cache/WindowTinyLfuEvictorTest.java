@@ -0,0 +1,68 @@
+package mytools.function.decorator.cache;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import mytools.function.decorator.cache.CachePolicy.Eviction;
+
+public class WindowTinyLfuEvictorTest {
+
+    private static final int MAX_SIZE = 100;
+    private static final int HOT_KEYS = 50;
+    private static final int HOT_USES = 5;
+    private static final int ROUNDS = 20;
+    private static final int SCAN_SIZE = 2 * MAX_SIZE;
+
+    @Test
+    public void keepFrequentKeysWhenScanned() {
+        CachedFunction<Integer, Integer> tinyLfu =
+                scan(CachePolicy.maximumSize(MAX_SIZE)
+                        .withEviction(Eviction.W_TINY_LFU));
+        assertTrue(tinyLfu.size() <= MAX_SIZE);
+        for (int i = 0; i < HOT_KEYS; i++) {
+            assertNotNull(tinyLfu.getIfPresent(i), "hot key " + i);
+        }
+
+        // LRU evicts the hot keys, since every scan is larger than the cache
+        CachedFunction<Integer, Integer> lru =
+                scan(CachePolicy.maximumSize(MAX_SIZE));
+        assertNull(lru.getIfPresent(0));
+    }
+
+    /*
+     * Use the hot keys, then scan more keys than the cache holds, which
+     * are used once.
+     */
+    private static CachedFunction<Integer, Integer> scan(CachePolicy p) {
+        CachedFunction<Integer, Integer> c =
+                new Cache<>(p, Function.identity());
+        int next = HOT_KEYS;
+        for (int n = 0; n < ROUNDS; n++) {
+            for (int i = 0; i < HOT_KEYS; i++) {
+                c.apply(i);
+            }
+            for (int i = 0; i < SCAN_SIZE; i++) {
+                c.apply(next++);
+            }
+        }
+        return c;
+    }
+
+    @Test
+    public void frequencySketch() {
+        FrequencySketch sketch = new FrequencySketch(MAX_SIZE);
+        for (int i = 0; i < HOT_USES; i++) {
+            sketch.increment("a");
+        }
+        sketch.increment("b");
+        assertTrue(sketch.frequency("a") >= HOT_USES);
+        assertTrue(sketch.frequency("a") > sketch.frequency("b"));
+        assertTrue(sketch.frequency("c") < HOT_USES);
+    }
+
+}
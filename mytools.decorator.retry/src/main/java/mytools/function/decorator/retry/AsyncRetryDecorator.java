@@ -0,0 +1,108 @@
+package mytools.function.decorator.retry;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import mytools.function.decorator.AsyncDecorator;
+
+/**
+ * The asynchronous counterpart of {@link RetryDecorator}. When the stage
+ * returned by the decorated function fails, the function is called again
+ * after the delay defined in the given {@link RetryPolicy}. No thread
+ * sleeps between retries: the next call is scheduled with a delayed
+ * executor. Every call of the decorated function gets its own retry policy
+ * from the supplier, so concurrent calls do not share a retry counter.
+ *
+ * <p>
+ * The stage returned by the decorated function completes with the result of
+ * the first successful call, or fails with the exception of the last call.
+ *
+ * @see RetryDecorator
+ */
+final class AsyncRetryDecorator<T, U, R> implements AsyncDecorator<T, U, R> {
+
+    private final Supplier<? extends RetryPolicy> retryPolicy;
+    private final List<Class<? extends Exception>> exceptionClasses;
+    private final Optional<Consumer<? super Exception>> before;
+    private final Optional<Runnable> after;
+
+    /**
+     * Package access constructor.
+     *
+     * @param retryPolicy      Supplier of a retry policy for every call
+     * @param exceptionClasses List of exception classes on which the decorator
+     *                         should retry
+     * @param before           A lambda to run when a call fails (before the
+     *                         next call is scheduled)
+     * @param after            A lambda to run right before the next call
+     */
+    AsyncRetryDecorator(
+            Supplier<? extends RetryPolicy> retryPolicy,
+            List<Class<? extends Exception>> exceptionClasses,
+            Consumer<? super Exception> before,
+            Runnable after) {
+        this.retryPolicy = retryPolicy;
+        this.exceptionClasses = exceptionClasses;
+        this.before = Optional.ofNullable(before);
+        this.after  = Optional.ofNullable(after);
+    }
+
+    @Override
+    public BiFunction<T, U, CompletionStage<R>> decorate(
+            BiFunction<T, U, CompletionStage<R>> f) {
+        return (t, u) -> {
+            CompletableFuture<R> result = new CompletableFuture<>();
+            attempt(f, t, u, retryPolicy.get(), result);
+            return result;
+        };
+    }
+
+    private void attempt(BiFunction<T, U, CompletionStage<R>> f, T t, U u,
+            RetryPolicy policy, CompletableFuture<R> result) {
+        AsyncDecorator.call(f, t, u).whenComplete((r, e) -> {
+            if (e == null) {
+                result.complete(r);
+                return;
+            }
+
+            Throwable cause = AsyncDecorator.cause(e);
+            if (cause instanceof Exception && ofTargetClass(cause)) {
+                Exception ex = (Exception) cause;
+                long sleepTime = policy.nextRetryIn();
+                if (sleepTime >= 0) {
+                    before.ifPresent(before -> before.accept(ex));
+                    Executor executor = sleepTime > 0 ?
+                            CompletableFuture.delayedExecutor(
+                                    sleepTime, TimeUnit.MILLISECONDS) :
+                            Runnable::run;
+                    executor.execute(() -> {
+                        after.ifPresent(after -> after.run());
+                        attempt(f, t, u, policy, result);
+                    });
+                    return;
+                }
+            }
+            result.completeExceptionally(cause);
+        });
+    }
+
+    private boolean ofTargetClass(Throwable e) {
+        if (exceptionClasses == null || exceptionClasses.isEmpty()) {
+            return true;
+        }
+        for (Class<? extends Exception> klass : exceptionClasses) {
+            if (klass.isInstance(e)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
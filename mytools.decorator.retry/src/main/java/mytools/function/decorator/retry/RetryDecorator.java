@@ -3,8 +3,13 @@ package mytools.function.decorator.retry;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import mytools.function.BiFunctionWithException;
+import mytools.function.FunctionWithException;
+import mytools.function.RunnableWithException;
+import mytools.function.SupplierWithException;
 import mytools.function.decorator.DecoratorWithException;
 import mytools.util.thread.Threads;
 
@@ -86,24 +91,133 @@ final class RetryDecorator<T, U, R, E extends Exception>
                 try {
                     return f.apply(t, u);
                 } catch (Exception e) {
-                    @SuppressWarnings("unchecked") E ex = (E) e;
-                    if (ofTargetClass(ex)) {
-                        long sleepTime = retryPolicy.nextRetryIn();
-                        if (sleepTime >= 0) {
-                            before.ifPresent(before -> before.accept(ex));
-                            if (sleepTime > 0) {
-                                Threads.sleep(sleepTime);
-                            }
-                            after.ifPresent(after -> after.run());
-                            continue;
-                        }
+                    if (!retry(e)) {
+                        throw e;
                     }
-                    throw e;
                 }
             }
         };
     }
 
+    // Shape specific versions of the above, which don't convert the function
+    // to and from BiFunction on every call
+
+    @Override
+    public FunctionWithException<T, R, E> decorate(
+            FunctionWithException<T, R, E> f) {
+        return t -> {
+            while (true) {
+                try {
+                    return f.apply(t);
+                } catch (Exception e) {
+                    if (!retry(e)) {
+                        throw e;
+                    }
+                }
+            }
+        };
+    }
+
+    @Override
+    public SupplierWithException<R, E> decorate(
+            SupplierWithException<R, E> f) {
+        return () -> {
+            while (true) {
+                try {
+                    return f.get();
+                } catch (Exception e) {
+                    if (!retry(e)) {
+                        throw e;
+                    }
+                }
+            }
+        };
+    }
+
+    @Override
+    public RunnableWithException<E> decorate(RunnableWithException<E> f) {
+        return () -> {
+            while (true) {
+                try {
+                    f.run();
+                    return;
+                } catch (Exception e) {
+                    if (!retry(e)) {
+                        throw e;
+                    }
+                }
+            }
+        };
+    }
+
+    @Override
+    public Function<T, R> decorate(Function<T, R> f) {
+        return t -> {
+            while (true) {
+                try {
+                    return f.apply(t);
+                } catch (Exception e) {
+                    if (!retry(e)) {
+                        throw e;
+                    }
+                }
+            }
+        };
+    }
+
+    @Override
+    public Supplier<R> decorate(Supplier<R> f) {
+        return () -> {
+            while (true) {
+                try {
+                    return f.get();
+                } catch (Exception e) {
+                    if (!retry(e)) {
+                        throw e;
+                    }
+                }
+            }
+        };
+    }
+
+    @Override
+    public Runnable decorate(Runnable f) {
+        return () -> {
+            while (true) {
+                try {
+                    f.run();
+                    return;
+                } catch (Exception e) {
+                    if (!retry(e)) {
+                        throw e;
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Decide whether to retry after the given exception. If so, run the
+     * callbacks and sleep as the retry policy says.
+     *
+     * @return false if the exception should be re-thrown
+     */
+    private boolean retry(Exception e) {
+        @SuppressWarnings("unchecked") E ex = (E) e;
+        if (ofTargetClass(ex)) {
+            long sleepTime = retryPolicy.nextRetryIn();
+            if (sleepTime >= 0) {
+                before.ifPresent(before -> before.accept(ex));
+                if (sleepTime > 0) {
+                    Threads.sleep(sleepTime);
+                }
+                after.ifPresent(after -> after.run());
+                return true;
+            }
+        }
+        return false;
+    }
+
     private boolean ofTargetClass(Exception e) {
         if (exceptionClasses == null || exceptionClasses.isEmpty()) {
             return true;
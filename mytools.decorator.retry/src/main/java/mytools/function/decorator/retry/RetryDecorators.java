@@ -1,6 +1,8 @@
 package mytools.function.decorator.retry;
 
 import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -31,6 +33,16 @@ import mytools.function.SupplierWithException;
  * If a method name is "retry", it will execute the given function with retry
  * logic applied.
  *
+ * <p>
+ * Methods named "retriedAsync" decorate functions which return
+ * {@code CompletionStage}. They retry when the returned stage fails, and
+ * do not block a thread between retries.
+ *
+ * <p>
+ * Methods named "retriedPublisher" decorate a {@code Flow.Publisher}. When
+ * the stream fails, the publisher is subscribed to again, and the demand
+ * which is not satisfied yet is carried over to the new subscription.
+ *
  * @see RetryPolicy
  */
 public interface RetryDecorators {
@@ -711,6 +723,86 @@ public interface RetryDecorators {
     }
 
 
+    ///////////////// asynchronous decorators //////////////////////
+
+    // These retry when the stage returned by the function fails, and
+    // schedule the next call instead of sleeping. Every call gets a new
+    // retry policy from the supplier, since calls may run concurrently and
+    // policies count retries.
+
+    // -------------- Supplier ----------------- //
+
+    static <R> Supplier<CompletionStage<R>> retriedAsync(
+            int numRetries, long sleep, Supplier<CompletionStage<R>> f) {
+        return retriedAsync(() -> new LinearRetryPolicy(numRetries, sleep),
+                null, null, f, null);
+    }
+
+    static <R> Supplier<CompletionStage<R>> retriedAsync(
+            Supplier<? extends RetryPolicy> p,
+            Supplier<CompletionStage<R>> f) {
+        return retriedAsync(p, null, null, f, null);
+    }
+
+    static <R> Supplier<CompletionStage<R>> retriedAsync(
+            Supplier<? extends RetryPolicy> p,
+            List<Class<? extends Exception>> exceptionClasses,
+            Consumer<? super Exception> beforeSleep,
+            Supplier<CompletionStage<R>> f,
+            Runnable afterSleep) {
+        return new AsyncRetryDecorator<Object, Object, R>(
+                p, exceptionClasses, beforeSleep, afterSleep).decorate(f);
+    }
+
+    // -------------- Function ----------------- //
+
+    static <T, R> Function<T, CompletionStage<R>> retriedAsync(
+            int numRetries, long sleep, Function<T, CompletionStage<R>> f) {
+        return retriedAsync(() -> new LinearRetryPolicy(numRetries, sleep),
+                null, null, f, null);
+    }
+
+    static <T, R> Function<T, CompletionStage<R>> retriedAsync(
+            Supplier<? extends RetryPolicy> p,
+            Function<T, CompletionStage<R>> f) {
+        return retriedAsync(p, null, null, f, null);
+    }
+
+    static <T, R> Function<T, CompletionStage<R>> retriedAsync(
+            Supplier<? extends RetryPolicy> p,
+            List<Class<? extends Exception>> exceptionClasses,
+            Consumer<? super Exception> beforeSleep,
+            Function<T, CompletionStage<R>> f,
+            Runnable afterSleep) {
+        return new AsyncRetryDecorator<T, Object, R>(
+                p, exceptionClasses, beforeSleep, afterSleep).decorate(f);
+    }
+
+    ///////////////// stream publishers //////////////////////
+
+    // Every subscriber gets a new retry policy from the supplier, since
+    // policies count retries.
+
+    static <T> Flow.Publisher<T> retriedPublisher(
+            int numRetries, long sleep, Flow.Publisher<T> publisher) {
+        return retriedPublisher(
+                () -> new LinearRetryPolicy(numRetries, sleep),
+                null, publisher);
+    }
+
+    static <T> Flow.Publisher<T> retriedPublisher(
+            Supplier<? extends RetryPolicy> p,
+            Flow.Publisher<T> publisher) {
+        return retriedPublisher(p, null, publisher);
+    }
+
+    static <T> Flow.Publisher<T> retriedPublisher(
+            Supplier<? extends RetryPolicy> p,
+            List<Class<? extends Exception>> exceptionClasses,
+            Flow.Publisher<T> publisher) {
+        return new RetryPublisher<>(publisher, p, exceptionClasses);
+    }
+
     ///////////////// decorator applications //////////////////////
 
     // -------------- Runnable ----------------- //
@@ -0,0 +1,216 @@
+package mytools.function.decorator.retry;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A {@link Flow.Publisher} which subscribes to the given publisher again
+ * when the stream fails, after the delay defined in a {@link RetryPolicy}.
+ * No thread sleeps between retries: the next subscription is scheduled with
+ * a delayed executor.
+ *
+ * <p>
+ * Every subscriber gets its own retry policy from the given supplier, since
+ * policies count retries. The elements which the subscriber received before
+ * a failure are not taken back, so the source publisher is expected to
+ * continue the stream (or to repeat it, if the subscriber can tell repeated
+ * elements) when subscribed again.
+ *
+ * <p>
+ * The demand of the subscriber is passed to the source subscription as is.
+ * When a new subscription starts, it is requested the number of elements
+ * which the subscriber requested and did not receive yet.
+ *
+ * @see RetryDecorator
+ */
+final class RetryPublisher<T> implements Flow.Publisher<T> {
+
+    private final Flow.Publisher<T> source;
+    private final Supplier<? extends RetryPolicy> retryPolicy;
+    private final List<Class<? extends Exception>> exceptionClasses;
+
+    /**
+     * Package access constructor.
+     *
+     * @param source           The publisher to subscribe to
+     * @param retryPolicy      Supplier of a retry policy for every subscriber
+     * @param exceptionClasses List of exception classes on which the publisher
+     *                         should retry
+     */
+    RetryPublisher(
+            Flow.Publisher<T> source,
+            Supplier<? extends RetryPolicy> retryPolicy,
+            List<Class<? extends Exception>> exceptionClasses) {
+        this.source = source;
+        this.retryPolicy = retryPolicy;
+        this.exceptionClasses = exceptionClasses;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber);
+        RetrySubscription s =
+                new RetrySubscription(subscriber, retryPolicy.get());
+        subscriber.onSubscribe(s);
+        s.attempt();
+    }
+
+    private boolean ofTargetClass(Throwable e) {
+        if (!(e instanceof Exception)) {
+            return false;
+        }
+        if (exceptionClasses == null || exceptionClasses.isEmpty()) {
+            return true;
+        }
+        for (Class<? extends Exception> klass : exceptionClasses) {
+            if (klass.isInstance(e)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * The subscription of a subscriber, which outlives the subscriptions
+     * to the source publisher.
+     */
+    private final class RetrySubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super T> downstream;
+        private final RetryPolicy policy;
+
+        // guarded by this
+        private long demand;
+        private Attempt current;
+        private boolean cancelled;
+
+        RetrySubscription(
+                Flow.Subscriber<? super T> downstream, RetryPolicy policy) {
+            this.downstream = downstream;
+            this.policy = policy;
+        }
+
+        void attempt() {
+            Attempt a = new Attempt();
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                current = a;
+            }
+            source.subscribe(a);
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                downstream.onError(new IllegalArgumentException(
+                        "Non-positive number of elements requested: " + n));
+                return;
+            }
+
+            Flow.Subscription s;
+            synchronized (this) {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                s = current == null ? null : current.upstream;
+            }
+            if (s != null) {
+                s.request(n);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            Flow.Subscription s;
+            synchronized (this) {
+                cancelled = true;
+                s = current == null ? null : current.upstream;
+                current = null;
+            }
+            if (s != null) {
+                s.cancel();
+            }
+        }
+
+        /*
+         * A subscription to the source publisher. Signals of an attempt which
+         * is not current any more are ignored.
+         */
+        private final class Attempt implements Flow.Subscriber<T> {
+
+            // guarded by the enclosing subscription
+            private Flow.Subscription upstream;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                long n;
+                synchronized (RetrySubscription.this) {
+                    if (current != this || upstream != null) {
+                        n = -1;
+                    } else {
+                        upstream = subscription;
+                        n = demand;
+                    }
+                }
+                if (n < 0) {
+                    subscription.cancel();
+                } else if (n > 0) {
+                    subscription.request(n);
+                }
+            }
+
+            @Override
+            public void onNext(T item) {
+                synchronized (RetrySubscription.this) {
+                    if (current != this) {
+                        return;
+                    }
+                    if (demand != Long.MAX_VALUE) {
+                        demand--;
+                    }
+                }
+                downstream.onNext(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                synchronized (RetrySubscription.this) {
+                    if (current != this) {
+                        return;
+                    }
+                    current = null;
+                }
+
+                long sleepTime = ofTargetClass(throwable) ?
+                        policy.nextRetryIn() : -1;
+                if (sleepTime < 0) {
+                    downstream.onError(throwable);
+                    return;
+                }
+                Executor executor = sleepTime > 0 ?
+                        CompletableFuture.delayedExecutor(
+                                sleepTime, TimeUnit.MILLISECONDS) :
+                        Runnable::run;
+                executor.execute(RetrySubscription.this::attempt);
+            }
+
+            @Override
+            public void onComplete() {
+                synchronized (RetrySubscription.this) {
+                    if (current != this) {
+                        return;
+                    }
+                    current = null;
+                }
+                downstream.onComplete();
+            }
+        }
+    }
+
+}
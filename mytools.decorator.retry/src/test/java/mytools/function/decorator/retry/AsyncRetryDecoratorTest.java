@@ -0,0 +1,95 @@
+package mytools.function.decorator.retry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import mytools.function.object.ConcurrentCounter;
+
+public class AsyncRetryDecoratorTest {
+
+    private static final int NUM_RETRIES = 3;
+    private static final long SLEEP_TIME = 5;
+
+    private final ConcurrentCounter calls = new ConcurrentCounter();
+    private final ConcurrentCounter befores = new ConcurrentCounter();
+    private final ConcurrentCounter afters = new ConcurrentCounter();
+
+    @Test
+    public void retryFailedStages() {
+        Function<Integer, CompletionStage<Integer>> f =
+                RetryDecorators.retriedAsync(
+                        () -> new LinearRetryPolicy(NUM_RETRIES, SLEEP_TIME),
+                        null, e -> befores.increment(),
+                        i -> {
+                            calls.increment();
+                            return calls.get() < NUM_RETRIES ?
+                                    CompletableFuture.failedFuture(
+                                            new IOException()) :
+                                    CompletableFuture.completedFuture(i);
+                        },
+                        () -> afters.increment());
+
+        assertEquals(1, f.apply(1).toCompletableFuture().join());
+        assertEquals(NUM_RETRIES, calls.get());
+        assertEquals(NUM_RETRIES - 1, befores.get());
+        assertEquals(NUM_RETRIES - 1, afters.get());
+    }
+
+    @Test
+    public void failWithLastException() {
+        Supplier<CompletionStage<Integer>> f = RetryDecorators.retriedAsync(
+                NUM_RETRIES, SLEEP_TIME, () -> {
+                    calls.increment();
+                    throw new IllegalStateException(
+                            String.valueOf(calls.get()));
+                });
+
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> f.get().toCompletableFuture().join());
+        assertEquals(String.valueOf(NUM_RETRIES), e.getCause().getMessage());
+        assertEquals(NUM_RETRIES, calls.get());
+    }
+
+    @Test
+    public void retryOnlyOnSpecifiedExceptionTypes() {
+        IllegalArgumentException iae = new IllegalArgumentException();
+        Supplier<CompletionStage<Integer>> f = RetryDecorators.retriedAsync(
+                () -> new LinearRetryPolicy(NUM_RETRIES, 0),
+                Arrays.asList(IOException.class), null,
+                () -> {
+                    calls.increment();
+                    return CompletableFuture.failedFuture(iae);
+                }, null);
+
+        assertSame(iae, assertThrows(CompletionException.class,
+                () -> f.get().toCompletableFuture().join()).getCause());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void retryEveryCallWithItsOwnPolicy() {
+        Supplier<CompletionStage<Integer>> f = RetryDecorators.retriedAsync(
+                NUM_RETRIES, SLEEP_TIME, () -> {
+                    calls.increment();
+                    return CompletableFuture.failedFuture(new IOException());
+                });
+
+        CompletableFuture<?> first = f.get().toCompletableFuture();
+        CompletableFuture<?> second = f.get().toCompletableFuture();
+        assertThrows(CompletionException.class, () -> first.join());
+        assertThrows(CompletionException.class, () -> second.join());
+        assertEquals(2 * NUM_RETRIES, calls.get());
+    }
+
+}
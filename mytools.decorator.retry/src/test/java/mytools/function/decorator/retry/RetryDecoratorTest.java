@@ -7,9 +7,12 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.Test;
 
+import mytools.function.FunctionWithException;
 import mytools.function.RunnableWithException;
 import mytools.function.object.Counter;
 
@@ -47,6 +50,78 @@ public class RetryDecoratorTest {
         verifyRetryingOnSpecificExceptions(d, exceptionTypes);
     }
 
+    @Test
+    public void retryFunctionsOfEveryShape() throws IOException {
+        RetryDecorator<Integer, Object, Integer, IOException> d =
+                new RetryDecorator<>(p, null, null, null);
+        Counter c = new Counter();
+
+        Function<Integer, Integer> f = d.decorate((Function<Integer, Integer>)
+                i -> failUntilLastRun(c, i));
+        assertEquals(1, f.apply(1));
+        assertEquals(p.getNumRetries(), c.get());
+
+        p.reset();
+        c.reset();
+        FunctionWithException<Integer, Integer, IOException> fe =
+                i -> failUntilLastRun(c, i);
+        assertEquals(1, d.decorate(fe).apply(1));
+        assertEquals(p.getNumRetries(), c.get());
+
+        p.reset();
+        c.reset();
+        Supplier<Integer> s = () -> failUntilLastRun(c, 1);
+        assertEquals(1, d.decorate(s).get());
+        assertEquals(p.getNumRetries(), c.get());
+    }
+
+    @Test
+    public void retrySneakyCheckedExceptions() {
+        RetryDecorator<Integer, Object, Integer, IOException> d =
+                new RetryDecorator<>(p, null, null, null);
+        Counter c = new Counter();
+
+        Supplier<Integer> s = () -> {
+            c.increment();
+            return c.get() < p.getNumRetries() ?
+                    sneakyThrow(new IOException()) : 1;
+        };
+        assertEquals(1, d.decorate(s).get());
+        assertEquals(p.getNumRetries(), c.get());
+
+        p.reset();
+        c.reset();
+        Function<Integer, Integer> f = i -> {
+            c.increment();
+            return sneakyThrow(new IOException());
+        };
+        assertThrows(IOException.class, () -> d.decorate(f).apply(1));
+        assertEquals(p.getNumRetries(), c.get());
+
+        p.reset();
+        c.reset();
+        Runnable r = () -> {
+            c.increment();
+            sneakyThrow(new IOException());
+        };
+        assertThrows(IOException.class, () -> d.decorate(r).run());
+        assertEquals(p.getNumRetries(), c.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R, E extends Throwable> R sneakyThrow(Throwable e)
+            throws E {
+        throw (E) e;
+    }
+
+    private int failUntilLastRun(Counter c, int result) {
+        c.increment();
+        if (c.get() < p.getNumRetries()) {
+            throw new IllegalStateException();
+        }
+        return result;
+    }
+
     private void verifyExecutionTime(RetryDecorator<?, ?, ?, ?> d) {
         long start = System.currentTimeMillis();
         assertThrows(RuntimeException.class,
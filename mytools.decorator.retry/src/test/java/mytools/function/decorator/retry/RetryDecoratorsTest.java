@@ -12,7 +12,10 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -28,6 +31,7 @@ import mytools.function.FunctionWithException;
 import mytools.function.RunnableWithException;
 import mytools.function.SupplierWithException;
 import mytools.function.object.Counter;
+import mytools.util.exception.ExceptionAggregator;
 
 public class RetryDecoratorsTest {
 
@@ -1121,4 +1125,22 @@ public class RetryDecoratorsTest {
         assertTrue(shaky.wasAfterSleepExecuted());
     }
 
+    @Test
+    public void aggregateExceptionsBeforeSleep() {
+        List<ExceptionAggregator.Summary> reports = new ArrayList<>();
+        ExceptionAggregator errors = ExceptionAggregator.of(
+                Duration.ofHours(1), reports::add);
+        Counter attempts = new Counter();
+        assertThrows(IllegalStateException.class,
+                () -> retry(new LinearRetryPolicy(THREE, 0), errors::accept,
+                        () -> {
+                            attempts.increment();
+                            throw new IllegalStateException(
+                                    "attempt " + attempts.get());
+                        }));
+        errors.close();
+        assertEquals(1, reports.size());
+        assertEquals(attempts.get() - 1, reports.get(0).getCount());
+    }
+
 }
@@ -0,0 +1,148 @@
+package mytools.function.decorator.retry;
+
+import static mytools.function.decorator.retry.RetryDecorators.retriedPublisher;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class RetryPublisherTest {
+
+    private static final int NUM_RETRIES = 3;
+    private static final long SLEEP = 10;
+    private static final long TIMEOUT = 5;
+
+    @Test
+    public void resubscribeOnError() throws InterruptedException {
+        FailingPublisher source = new FailingPublisher(NUM_RETRIES - 1);
+        Collector collector = new Collector(Long.MAX_VALUE);
+        retriedPublisher(NUM_RETRIES, SLEEP, source).subscribe(collector);
+
+        assertTrue(collector.done.await(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(1, 2, NUM_RETRIES), collector.items);
+        assertTrue(collector.completed);
+    }
+
+    @Test
+    public void giveUp() throws InterruptedException {
+        FailingPublisher source = new FailingPublisher(Integer.MAX_VALUE);
+        Collector collector = new Collector(Long.MAX_VALUE);
+        retriedPublisher(NUM_RETRIES, 0, source).subscribe(collector);
+
+        assertTrue(collector.done.await(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(NUM_RETRIES, source.requests.size());
+        assertTrue(collector.error instanceof IllegalStateException);
+    }
+
+    @Test
+    public void carryOverDemand() {
+        FailingPublisher source = new FailingPublisher(1);
+        Collector collector = new Collector(2);
+        retriedPublisher(NUM_RETRIES, 0, source).subscribe(collector);
+
+        assertEquals(Arrays.asList(1, 2), collector.items);
+        assertEquals(Arrays.asList(2L, 1L), source.requests);
+        assertTrue(collector.completed);
+    }
+
+    @Test
+    public void retryOnTargetExceptionsOnly() {
+        FailingPublisher source = new FailingPublisher(1);
+        Collector collector = new Collector(Long.MAX_VALUE);
+        retriedPublisher(() -> new LinearRetryPolicy(NUM_RETRIES, 0),
+                Collections.singletonList(IOException.class), source)
+                .subscribe(collector);
+
+        assertEquals(1, source.requests.size());
+        assertTrue(collector.error instanceof IllegalStateException);
+    }
+
+    /*
+     * A publisher which sends the number of the subscription when requested,
+     * and then fails the given number of times, and completes after that.
+     * It remembers the first request of every subscription.
+     */
+    private static final class FailingPublisher
+        implements Flow.Publisher<Integer> {
+
+        private final int failures;
+        private final List<Long> requests = new CopyOnWriteArrayList<>();
+
+        FailingPublisher(int failures) {
+            this.failures = failures;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super Integer> s) {
+            s.onSubscribe(new Flow.Subscription() {
+                private boolean done;
+
+                @Override
+                public void request(long n) {
+                    if (done) {
+                        return;
+                    }
+                    done = true;
+                    requests.add(n);
+                    int attempt = requests.size();
+                    s.onNext(attempt);
+                    if (attempt <= failures) {
+                        s.onError(new IllegalStateException());
+                    } else {
+                        s.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    done = true;
+                }
+            });
+        }
+    }
+
+    private static final class Collector implements Flow.Subscriber<Integer> {
+
+        private final long request;
+        private final List<Integer> items = new CopyOnWriteArrayList<>();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile Throwable error;
+        private volatile boolean completed;
+
+        Collector(long request) {
+            this.request = request;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription s) {
+            s.request(request);
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            error = e;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            done.countDown();
+        }
+    }
+
+}
@@ -0,0 +1,5 @@
+module mytools.decorator.virtual {
+    requires transitive mytools.function;
+    requires transitive mytools.decorator.retry;
+    exports mytools.function.decorator.virtual;
+}
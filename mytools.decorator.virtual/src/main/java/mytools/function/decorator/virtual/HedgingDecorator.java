@@ -0,0 +1,98 @@
+package mytools.function.decorator.virtual;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import mytools.function.decorator.Decorator;
+
+/**
+ * This decorator makes hedged calls: if the decorated function does not
+ * return within the given delay, it is called once more in parallel, up to
+ * the given number of calls, and the first successful result is returned.
+ * The calls which are still running are cancelled, and the result is
+ * returned once they end.
+ *
+ * <p>
+ * A failed call starts the next call right away. If all the calls fail,
+ * the exception of the first one is re-thrown, with the others added as
+ * suppressed exceptions.
+ *
+ * <p>
+ * Since the function may be called more than once, it should be
+ * idempotent, like a read from a replicated service.
+ */
+final class HedgingDecorator<T, U, R> implements Decorator<T, U, R> {
+
+    private final long delayNanos;
+    private final int maxCalls;
+    private final Executor executor;
+
+    HedgingDecorator(long delayNanos, int maxCalls, Executor executor) {
+        if (delayNanos < 0) {
+            throw new IllegalArgumentException(
+                    "Delay must be non-negative");
+        }
+        if (maxCalls <= 0) {
+            throw new IllegalArgumentException(
+                    "Number of calls must be positive");
+        }
+        this.delayNanos = delayNanos;
+        this.maxCalls = maxCalls;
+        this.executor = executor;
+    }
+
+    @Override
+    public BiFunction<T, U, R> decorate(BiFunction<T, U, R> f) {
+        return (t, u) -> hedge(() -> f.apply(t, u));
+    }
+
+    @Override
+    public Function<T, R> decorate(Function<T, R> f) {
+        return t -> hedge(() -> f.apply(t));
+    }
+
+    @Override
+    public Supplier<R> decorate(Supplier<R> f) {
+        return () -> hedge(f::get);
+    }
+
+    private R hedge(Callable<R> call) {
+        RuntimeException failure = null;
+        int failures = 0;
+        try (TaskScope<R> scope = new TaskScope<>(executor)) {
+            scope.fork(call);
+            while (true) {
+                Future<R> f;
+                if (scope.size() < maxCalls) {
+                    f = scope.size() == failures ?
+                            null : scope.poll(delayNanos);
+                    if (f == null) {
+                        scope.fork(call);
+                        continue;
+                    }
+                } else {
+                    f = scope.take();
+                }
+
+                try {
+                    return scope.result(f);
+                } catch (RuntimeException e) {
+                    failures++;
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                    if (failures == maxCalls) {
+                        throw failure;
+                    }
+                }
+            }
+        }
+    }
+
+}
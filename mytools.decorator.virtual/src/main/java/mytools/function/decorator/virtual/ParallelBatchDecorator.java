@@ -0,0 +1,102 @@
+package mytools.function.decorator.virtual;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import mytools.function.decorator.Decorator;
+
+/**
+ * This decorator takes a function which maps {@code java.util.List} object
+ * into a list of different type, splits the input list into batches of the
+ * given size, and calls the function with every batch in a separate thread.
+ * The results are concatenated in the order of the batches.
+ *
+ * <p>
+ * At most the given number of batches run at a time. The next batch is
+ * started when one of the running batches completes.
+ *
+ * <p>
+ * The calling thread waits for all the batches. If a batch fails, the other
+ * batches are cancelled, and the exception is re-thrown once they end.
+ *
+ * @param <T> type of elements in the input list
+ * @param <U> second parameter to the function
+ * @param <R> type of elements in the output list
+ */
+final class ParallelBatchDecorator<T, U, R>
+    implements Decorator<List<T>, U, List<R>> {
+
+    private final int batchSize;
+    private final int maxParallelism;
+    private final Executor executor;
+
+    ParallelBatchDecorator(int batchSize, int maxParallelism,
+            Executor executor) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException(
+                    "Batch size must be positive");
+        }
+        if (maxParallelism <= 0) {
+            throw new IllegalArgumentException(
+                    "Parallelism must be positive");
+        }
+        this.batchSize = batchSize;
+        this.maxParallelism = maxParallelism;
+        this.executor = executor;
+    }
+
+    @Override
+    public BiFunction<List<T>, U, List<R>> decorate(
+            BiFunction<List<T>, U, List<R>> f) {
+        return (list, u) -> inBatches(list, batch -> f.apply(batch, u));
+    }
+
+    @Override
+    public Function<List<T>, List<R>> decorate(Function<List<T>, List<R>> f) {
+        return list -> inBatches(list, f);
+    }
+
+    private List<R> inBatches(List<T> list, Function<List<T>, List<R>> f) {
+        if (list == null) {
+            throw new IllegalArgumentException(
+                    "null list passed to a function");
+        }
+
+        if (list.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        int size = list.size();
+        if (size <= batchSize) {
+            return nullIfEmpty(f.apply(list));
+        }
+
+        List<R> result = new ArrayList<>();
+        try (TaskScope<List<R>> scope = new TaskScope<>(executor)) {
+            for (int start = 0; start < size; start += batchSize) {
+                List<T> batch =
+                        list.subList(start, Math.min(start + batchSize, size));
+                if (scope.running() == maxParallelism) {
+                    // re-throws the exception of a failed batch right away
+                    scope.result(scope.take());
+                }
+                scope.fork(() -> f.apply(batch));
+            }
+            for (List<R> batchResult : scope.joinAll()) {
+                if (batchResult != null) {
+                    result.addAll(batchResult);
+                }
+            }
+        }
+        return nullIfEmpty(result);
+    }
+
+    private static <R> List<R> nullIfEmpty(List<R> list) {
+        return list == null || list.isEmpty() ? null : list;
+    }
+
+}
@@ -0,0 +1,187 @@
+package mytools.function.decorator.virtual;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A scope of concurrent subtasks, in the spirit of structured concurrency:
+ * subtasks are forked in the scope, the forking thread joins them, and
+ * subtasks which are still running when the scope is closed are cancelled
+ * and awaited, so that no subtask outlives the call which started it.
+ * A subtask which ignores interrupts delays the close until it ends.
+ *
+ * <p>
+ * If the forking thread is interrupted while it waits, the subtasks are
+ * cancelled, the interrupt status is set again, and a
+ * {@code CancellationException} is thrown, with the
+ * {@code InterruptedException} as its cause.
+ *
+ * <p>
+ * This class is not thread safe. It is used by the thread which created it.
+ */
+final class TaskScope<R> implements AutoCloseable {
+
+    private final ExecutorCompletionService<R> completion;
+    private final List<Future<R>> futures = new ArrayList<>();
+    private final List<Subtask> subtasks = new ArrayList<>();
+    // a permit for every subtask which ran and finished
+    private final Semaphore finished = new Semaphore(0);
+    private int completed;
+
+    TaskScope(Executor executor) {
+        completion = new ExecutorCompletionService<>(executor);
+    }
+
+    void fork(Callable<R> task) {
+        Subtask subtask = new Subtask(task);
+        subtasks.add(subtask);
+        futures.add(completion.submit(subtask));
+    }
+
+    int size() {
+        return futures.size();
+    }
+
+    /**
+     * @return the number of subtasks which were not taken as completed yet
+     */
+    int running() {
+        return futures.size() - completed;
+    }
+
+    /**
+     * Wait for all the subtasks. If a subtask fails, re-throw its exception
+     * right away. The other subtasks are cancelled when the scope is
+     * closed.
+     *
+     * @return the results of the subtasks in the order they were forked
+     */
+    List<R> joinAll() {
+        while (completed < futures.size()) {
+            result(take());
+        }
+        List<R> results = new ArrayList<>(futures.size());
+        for (Future<R> f : futures) {
+            results.add(result(f));
+        }
+        return results;
+    }
+
+    /**
+     * Wait for the next subtask to complete.
+     */
+    Future<R> take() {
+        try {
+            Future<R> f = completion.take();
+            completed++;
+            return f;
+        } catch (InterruptedException e) {
+            throw interrupted(e);
+        }
+    }
+
+    /**
+     * Wait for the next subtask to complete for the given time.
+     *
+     * @return the completed subtask, or null if none completed in time
+     */
+    Future<R> poll(long nanos) {
+        try {
+            Future<R> f = completion.poll(nanos, TimeUnit.NANOSECONDS);
+            if (f != null) {
+                completed++;
+            }
+            return f;
+        } catch (InterruptedException e) {
+            throw interrupted(e);
+        }
+    }
+
+    /**
+     * Get the result of a completed subtask. If it failed, re-throw its
+     * exception.
+     */
+    R result(Future<R> f) {
+        try {
+            return f.get();
+        } catch (ExecutionException e) {
+            throw unchecked(e.getCause());
+        } catch (InterruptedException e) {
+            throw interrupted(e);
+        }
+    }
+
+    /**
+     * Cancel the subtasks which are still running, and wait until they
+     * end. Subtasks which did not start yet will not start. The wait is not
+     * interrupted, but the interrupt status is kept.
+     */
+    @Override
+    public void close() {
+        for (Future<R> f : futures) {
+            f.cancel(true);
+        }
+        int started = 0;
+        for (Subtask s : subtasks) {
+            if (!s.claimed.compareAndSet(false, true)) {
+                started++;
+            }
+        }
+        finished.acquireUninterruptibly(started);
+    }
+
+    static RuntimeException unchecked(Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        } else if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new RuntimeException(e);
+    }
+
+    private RuntimeException interrupted(InterruptedException e) {
+        close();
+        Thread.currentThread().interrupt();
+        CancellationException ex = new CancellationException(
+                "Interrupted while waiting for subtasks");
+        ex.initCause(e);
+        return ex;
+    }
+
+    /*
+     * A subtask runs only if close() did not claim it first, and releases
+     * a permit when it ends, so that close() knows which subtasks to wait
+     * for.
+     */
+    private final class Subtask implements Callable<R> {
+
+        private final Callable<R> task;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        Subtask(Callable<R> task) {
+            this.task = task;
+        }
+
+        @Override
+        public R call() throws Exception {
+            if (!claimed.compareAndSet(false, true)) {
+                throw new CancellationException();
+            }
+            try {
+                return task.call();
+            } finally {
+                finished.release();
+            }
+        }
+    }
+
+}
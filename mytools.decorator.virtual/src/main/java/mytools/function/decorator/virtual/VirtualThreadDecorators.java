@@ -0,0 +1,149 @@
+package mytools.function.decorator.virtual;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import mytools.function.decorator.retry.RetryDecorators;
+import mytools.function.decorator.retry.RetryPolicy;
+
+/**
+ * Contains static methods which run decorated functions concurrently,
+ * on virtual threads if the JVM supports them (see {@link VirtualThreads}).
+ *
+ * <p>
+ * Concurrent calls are structured: a decorated function forks its calls,
+ * waits for them, and cancels the calls which are still running and waits
+ * for them to end before it returns or throws, so no call outlives the
+ * decorated function. Calls should respond to interrupts, since a call
+ * which ignores them delays the return. If the calling thread is
+ * interrupted while it waits, a {@code CancellationException} is thrown.
+ *
+ * <p>
+ * Every method has an overload which takes an executor, to run the calls
+ * on other threads.
+ */
+public interface VirtualThreadDecorators {
+
+    ///////////////// decorators //////////////////////
+
+    /**
+     * Decorate a function of a list, so that the list is split into
+     * batches of the given size, and the function is called for all
+     * the batches in parallel. The results are concatenated in the order of
+     * the batches. If a batch fails, the other batches are cancelled.
+     *
+     * <p>
+     * At most {@code maxParallelism} batches run at the same time, or
+     * {@link VirtualThreads#defaultParallelism()} if no limit is given.
+     */
+    static <T, R> Function<List<T>, List<R>> batchedInParallel(
+            int batchSize, Function<List<T>, List<R>> f) {
+        return batchedInParallel(batchSize, VirtualThreads.executor(), f);
+    }
+
+    static <T, R> Function<List<T>, List<R>> batchedInParallel(
+            int batchSize, Executor executor, Function<List<T>, List<R>> f) {
+        return batchedInParallel(batchSize,
+                VirtualThreads.defaultParallelism(), executor, f);
+    }
+
+    static <T, R> Function<List<T>, List<R>> batchedInParallel(
+            int batchSize, int maxParallelism, Executor executor,
+            Function<List<T>, List<R>> f) {
+        return new ParallelBatchDecorator<T, Object, R>(
+                batchSize, maxParallelism, executor).decorate(f);
+    }
+
+    static <T, U, R> BiFunction<List<T>, U, List<R>> batchedInParallel(
+            int batchSize, Executor executor,
+            BiFunction<List<T>, U, List<R>> f) {
+        return batchedInParallel(batchSize,
+                VirtualThreads.defaultParallelism(), executor, f);
+    }
+
+    static <T, U, R> BiFunction<List<T>, U, List<R>> batchedInParallel(
+            int batchSize, int maxParallelism, Executor executor,
+            BiFunction<List<T>, U, List<R>> f) {
+        return new ParallelBatchDecorator<T, U, R>(
+                batchSize, maxParallelism, executor).decorate(f);
+    }
+
+    /**
+     * Decorate a supplier with hedging: if it does not return within the
+     * given delay, call it once more in parallel, and return the first
+     * result. Up to {@code maxCalls} calls are made.
+     */
+    static <R> Supplier<R> hedged(
+            Duration delay, int maxCalls, Supplier<R> f) {
+        return hedged(delay, maxCalls, VirtualThreads.executor(), f);
+    }
+
+    static <R> Supplier<R> hedged(
+            Duration delay, int maxCalls, Executor executor, Supplier<R> f) {
+        return new HedgingDecorator<Object, Object, R>(
+                delay.toNanos(), maxCalls, executor).decorate(f);
+    }
+
+    /**
+     * Decorate a function with hedging: if it does not return within the
+     * given delay, call it once more in parallel, and return the first
+     * result. Up to {@code maxCalls} calls are made.
+     */
+    static <T, R> Function<T, R> hedged(
+            Duration delay, int maxCalls, Function<T, R> f) {
+        return hedged(delay, maxCalls, VirtualThreads.executor(), f);
+    }
+
+    static <T, R> Function<T, R> hedged(
+            Duration delay, int maxCalls, Executor executor, Function<T, R> f) {
+        return new HedgingDecorator<T, Object, R>(
+                delay.toNanos(), maxCalls, executor).decorate(f);
+    }
+
+    ///////////////// applications //////////////////////
+
+    /**
+     * Call the supplier with retry logic on another thread. The thread
+     * sleeps between retries, which does not block a platform thread when
+     * virtual threads are available.
+     *
+     * @return a future, which completes with the result of the supplier,
+     *         or with its exception if all the retries fail
+     */
+    static <R> CompletableFuture<R> retryAsync(RetryPolicy p, Supplier<R> f) {
+        return retryAsync(p, VirtualThreads.executor(), f);
+    }
+
+    static <R> CompletableFuture<R> retryAsync(
+            RetryPolicy p, Executor executor, Supplier<R> f) {
+        return CompletableFuture.supplyAsync(
+                RetryDecorators.retried(p, f), executor);
+    }
+
+    /**
+     * Run the runnable with retry logic on another thread.
+     */
+    static CompletableFuture<Void> retryAsync(RetryPolicy p, Runnable f) {
+        return retryAsync(p, VirtualThreads.executor(), f);
+    }
+
+    static CompletableFuture<Void> retryAsync(
+            RetryPolicy p, Executor executor, Runnable f) {
+        return CompletableFuture.runAsync(
+                RetryDecorators.retried(p, f), executor);
+    }
+
+    /**
+     * Call the function for all the batches of the input list in parallel.
+     */
+    static <T, R> List<R> batchInParallel(
+            List<T> input, int batchSize, Function<List<T>, List<R>> f) {
+        return batchedInParallel(batchSize, f).apply(input);
+    }
+
+}
@@ -0,0 +1,89 @@
+package mytools.function.decorator.virtual;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Access to virtual threads from code compiled for Java 11.
+ *
+ * <p>
+ * On Java 21 and later, executors returned by this class start a new
+ * virtual thread for every task. A virtual thread which blocks on I/O or
+ * sleeps releases its carrier thread, so tens of thousands of blocking
+ * tasks may run at the same time. On older Java versions, the executors
+ * fall back to a cached pool of daemon platform threads, which starts
+ * a thread for every task which runs at the same time, so decorators limit
+ * the number of such tasks to {@link #defaultParallelism()}.
+ */
+public final class VirtualThreads {
+
+    private static final MethodHandle NEW_VIRTUAL_THREAD_EXECUTOR =
+            virtualThreadExecutorFactory();
+
+    private static final ExecutorService EXECUTOR = newExecutor();
+
+    private static final int PLATFORM_THREAD_PARALLELISM = 64;
+
+    private VirtualThreads() { }
+
+    /**
+     * @return true if this JVM supports virtual threads
+     */
+    public static boolean isAvailable() {
+        return NEW_VIRTUAL_THREAD_EXECUTOR != null;
+    }
+
+    /**
+     * Get the number of tasks which decorators run at the same time, unless
+     * given another limit: unlimited if virtual threads are available, and
+     * 64 otherwise.
+     */
+    public static int defaultParallelism() {
+        return isAvailable() ?
+                Integer.MAX_VALUE : PLATFORM_THREAD_PARALLELISM;
+    }
+
+    /**
+     * Get a shared executor, which runs every task in a new virtual thread,
+     * if virtual threads are available.
+     */
+    public static ExecutorService executor() {
+        return EXECUTOR;
+    }
+
+    /**
+     * Create an executor, which runs every task in a new virtual thread,
+     * if virtual threads are available. The executor should be shut down
+     * when it is not needed.
+     */
+    public static ExecutorService newExecutor() {
+        if (NEW_VIRTUAL_THREAD_EXECUTOR != null) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR
+                        .invokeExact();
+            } catch (Throwable e) {
+                throw new IllegalStateException(
+                        "Cannot create virtual thread executor", e);
+            }
+        }
+        return Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r);
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private static MethodHandle virtualThreadExecutorFactory() {
+        try {
+            return MethodHandles.publicLookup().findStatic(
+                    Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+}
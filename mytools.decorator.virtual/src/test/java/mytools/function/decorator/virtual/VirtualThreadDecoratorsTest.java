@@ -0,0 +1,209 @@
+package mytools.function.decorator.virtual;
+
+import static java.util.stream.Collectors.toList;
+import static mytools.function.decorator.virtual.VirtualThreadDecorators.batchedInParallel;
+import static mytools.function.decorator.virtual.VirtualThreadDecorators.hedged;
+import static mytools.function.decorator.virtual.VirtualThreadDecorators.retryAsync;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import mytools.function.decorator.retry.LinearRetryPolicy;
+import mytools.function.object.ConcurrentCounter;
+
+public class VirtualThreadDecoratorsTest {
+
+    private static final int BATCH_SIZE = 3;
+    private static final int NUM_BATCHES = 4;
+    private static final long TIMEOUT = 5;
+    private static final Duration HEDGE_DELAY = Duration.ofMillis(10);
+    private static final int MAX_CALLS = 3;
+    private static final int NUM_RETRIES = 3;
+    private static final int NUM_BLOCKING_CALLS = 10_000;
+    private static final long SLEEP_TIME = 100;
+
+    private final ConcurrentCounter calls = new ConcurrentCounter();
+    private final CountDownLatch never = new CountDownLatch(1);
+
+    @Test
+    public void runBatchesInParallel() {
+        // every batch waits for all the others, so they must run in parallel
+        CountDownLatch allStarted = new CountDownLatch(NUM_BATCHES);
+        Function<List<Integer>, List<Integer>> f = batchedInParallel(
+                BATCH_SIZE, batch -> {
+                    allStarted.countDown();
+                    await(allStarted);
+                    return batch.stream().map(i -> i * 2).collect(toList());
+                });
+
+        List<Integer> input = IntStream.range(0, BATCH_SIZE * NUM_BATCHES)
+                .boxed().collect(toList());
+        assertEquals(input.stream().map(i -> i * 2).collect(toList()),
+                f.apply(input));
+    }
+
+    @Test
+    public void cancelBatchesOnFailure() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(NUM_BATCHES - 1);
+        CountDownLatch cancelled = new CountDownLatch(NUM_BATCHES - 1);
+        IllegalStateException e = new IllegalStateException();
+        Function<List<Integer>, List<Integer>> f = batchedInParallel(
+                BATCH_SIZE, batch -> {
+                    if (batch.get(0) == 0) {
+                        await(started);
+                        throw e;
+                    }
+                    started.countDown();
+                    try {
+                        never.await();
+                    } catch (InterruptedException ex) {
+                        cancelled.countDown();
+                    }
+                    return batch;
+                });
+
+        List<Integer> input = IntStream.range(0, BATCH_SIZE * NUM_BATCHES)
+                .boxed().collect(toList());
+        assertSame(e, assertThrows(IllegalStateException.class,
+                () -> f.apply(input)));
+        assertTrue(cancelled.await(TIMEOUT, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void awaitCancelledBatches() {
+        CountDownLatch started = new CountDownLatch(NUM_BATCHES - 1);
+        ConcurrentCounter ended = new ConcurrentCounter();
+        IllegalStateException e = new IllegalStateException();
+        Function<List<Integer>, List<Integer>> f = batchedInParallel(
+                BATCH_SIZE, batch -> {
+                    if (batch.get(0) == 0) {
+                        await(started);
+                        throw e;
+                    }
+                    started.countDown();
+                    // ignore the interrupt, and end a bit later
+                    long end = System.nanoTime()
+                            + TimeUnit.MILLISECONDS.toNanos(SLEEP_TIME);
+                    while (System.nanoTime() < end) {
+                        Thread.onSpinWait();
+                    }
+                    ended.increment();
+                    return batch;
+                });
+
+        List<Integer> input = IntStream.range(0, BATCH_SIZE * NUM_BATCHES)
+                .boxed().collect(toList());
+        assertSame(e, assertThrows(IllegalStateException.class,
+                () -> f.apply(input)));
+        assertEquals(NUM_BATCHES - 1, ended.get());
+    }
+
+    @Test
+    public void limitParallelBatches() {
+        final int maxParallelism = 2;
+        final int numBatches = 10;
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Function<List<Integer>, List<Integer>> f = batchedInParallel(
+                1, maxParallelism, VirtualThreads.executor(), batch -> {
+                    maxRunning.accumulateAndGet(
+                            running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    } finally {
+                        running.decrementAndGet();
+                    }
+                    return batch;
+                });
+
+        List<Integer> input = IntStream.range(0, numBatches)
+                .boxed().collect(toList());
+        assertEquals(input, f.apply(input));
+        assertTrue(maxRunning.get() <= maxParallelism);
+
+        assertThrows(IllegalArgumentException.class, () ->
+                batchedInParallel(1, 0, VirtualThreads.executor(), f));
+    }
+
+    @Test
+    public void hedgeSlowCalls() {
+        Supplier<Integer> s = hedged(HEDGE_DELAY, MAX_CALLS, () -> {
+            calls.increment();
+            if (calls.get() == 1) {
+                await(never);
+            }
+            return calls.get();
+        });
+        assertEquals(2, s.get());
+    }
+
+    @Test
+    public void hedgedCallsFail() {
+        Function<Integer, Integer> f = hedged(HEDGE_DELAY, MAX_CALLS, i -> {
+            calls.increment();
+            throw new IllegalArgumentException(String.valueOf(calls.get()));
+        });
+        IllegalArgumentException e =
+                assertThrows(IllegalArgumentException.class, () -> f.apply(1));
+        assertEquals(MAX_CALLS, calls.get());
+        assertEquals(MAX_CALLS - 1, e.getSuppressed().length);
+    }
+
+    @Test
+    public void retryOnAnotherThread()
+            throws InterruptedException, ExecutionException {
+        Thread caller = Thread.currentThread();
+        int result = retryAsync(new LinearRetryPolicy(NUM_RETRIES, 1), () -> {
+            calls.increment();
+            if (calls.get() < NUM_RETRIES) {
+                throw new IllegalStateException();
+            }
+            return Thread.currentThread() == caller ? -1 : calls.get();
+        }).get();
+        assertEquals(NUM_RETRIES, result);
+    }
+
+    @Test
+    public void manyBlockingCalls() {
+        assumeTrue(VirtualThreads.isAvailable());
+        Function<List<Integer>, List<Integer>> f = batchedInParallel(1,
+                batch -> {
+                    try {
+                        Thread.sleep(SLEEP_TIME);
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return batch;
+                });
+        List<Integer> input = IntStream.range(0, NUM_BLOCKING_CALLS)
+                .boxed().collect(toList());
+        assertEquals(input, f.apply(input));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(TIMEOUT, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("timed out");
+            }
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
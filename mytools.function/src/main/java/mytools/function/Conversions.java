@@ -3,8 +3,23 @@ package mytools.function;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongSupplier;
+import java.util.function.LongUnaryOperator;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * This class contains method which "convert" between operations
@@ -748,4 +763,91 @@ public interface Conversions {
         return (t, u) -> f.apply(t, u);
     }
 
+    ////////////////////// Primitive functions to functions with exceptions //
+
+    // These have their own names, since lambdas which fit them would also
+    // fit the withException() overloads above, and make those calls
+    // ambiguous.
+
+    static <R, E extends Exception> IntFunctionWithException<R, E>
+    intFunctionWithException(IntFunction<R> f) {
+        return value -> f.apply(value);
+    }
+
+    static <T, E extends Exception> ToIntFunctionWithException<T, E>
+    toIntFunctionWithException(ToIntFunction<T> f) {
+        return t -> f.applyAsInt(t);
+    }
+
+    static <E extends Exception> IntSupplierWithException<E>
+    intSupplierWithException(
+            IntSupplier f) {
+        return () -> f.getAsInt();
+    }
+
+    static <E extends Exception> IntConsumerWithException<E>
+    intConsumerWithException(
+            IntConsumer f) {
+        return value -> f.accept(value);
+    }
+
+    static <E extends Exception> IntUnaryOperatorWithException<E>
+    intUnaryOperatorWithException(IntUnaryOperator f) {
+        return operand -> f.applyAsInt(operand);
+    }
+
+    static <R, E extends Exception> LongFunctionWithException<R, E>
+    longFunctionWithException(LongFunction<R> f) {
+        return value -> f.apply(value);
+    }
+
+    static <T, E extends Exception> ToLongFunctionWithException<T, E>
+    toLongFunctionWithException(ToLongFunction<T> f) {
+        return t -> f.applyAsLong(t);
+    }
+
+    static <E extends Exception> LongSupplierWithException<E>
+    longSupplierWithException(
+            LongSupplier f) {
+        return () -> f.getAsLong();
+    }
+
+    static <E extends Exception> LongConsumerWithException<E>
+    longConsumerWithException(
+            LongConsumer f) {
+        return value -> f.accept(value);
+    }
+
+    static <E extends Exception> LongUnaryOperatorWithException<E>
+    longUnaryOperatorWithException(LongUnaryOperator f) {
+        return operand -> f.applyAsLong(operand);
+    }
+
+    static <R, E extends Exception> DoubleFunctionWithException<R, E>
+    doubleFunctionWithException(DoubleFunction<R> f) {
+        return value -> f.apply(value);
+    }
+
+    static <T, E extends Exception> ToDoubleFunctionWithException<T, E>
+    toDoubleFunctionWithException(ToDoubleFunction<T> f) {
+        return t -> f.applyAsDouble(t);
+    }
+
+    static <E extends Exception> DoubleSupplierWithException<E>
+    doubleSupplierWithException(
+            DoubleSupplier f) {
+        return () -> f.getAsDouble();
+    }
+
+    static <E extends Exception> DoubleConsumerWithException<E>
+    doubleConsumerWithException(
+            DoubleConsumer f) {
+        return value -> f.accept(value);
+    }
+
+    static <E extends Exception> DoubleUnaryOperatorWithException<E>
+    doubleUnaryOperatorWithException(DoubleUnaryOperator f) {
+        return operand -> f.applyAsDouble(operand);
+    }
+
 }
@@ -0,0 +1,6 @@
+package mytools.function;
+
+@FunctionalInterface
+public interface DoubleConsumerWithException<E extends Exception> {
+    void accept(double value) throws E;
+}
@@ -0,0 +1,6 @@
+package mytools.function;
+
+@FunctionalInterface
+public interface DoubleFunctionWithException<R, E extends Exception> {
+    R apply(double value) throws E;
+}
@@ -0,0 +1,6 @@
+package mytools.function;
+
+@FunctionalInterface
+public interface DoubleSupplierWithException<E extends Exception> {
+    double getAsDouble() throws E;
+}
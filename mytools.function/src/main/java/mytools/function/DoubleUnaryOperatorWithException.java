@@ -0,0 +1,6 @@
+package mytools.function;
+
+@FunctionalInterface
+public interface DoubleUnaryOperatorWithException<E extends Exception> {
+    double applyAsDouble(double operand) throws E;
+}
@@ -0,0 +1,6 @@
+package mytools.function;
+
+@FunctionalInterface
+public interface IntConsumerWithException<E extends Exception> {
+    void accept(int value) throws E;
+}
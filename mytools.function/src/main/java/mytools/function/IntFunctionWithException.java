@@ -0,0 +1,6 @@
+package mytools.function;
+
+@FunctionalInterface
+public interface IntFunctionWithException<R, E extends Exception> {
+    R apply(int value) throws E;
+}
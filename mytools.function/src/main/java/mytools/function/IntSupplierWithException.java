@@ -0,0 +1,6 @@
+package mytools.function;
+
+@FunctionalInterface
+public interface IntSupplierWithException<E extends Exception> {
+    int getAsInt() throws E;
+}
@@ -0,0 +1,6 @@
+package mytools.function;
+
+@FunctionalInterface
+public interface IntUnaryOperatorWithException<E extends Exception> {
+    int applyAsInt(int operand) throws E;
+}
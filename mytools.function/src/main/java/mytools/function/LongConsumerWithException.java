@@ -0,0 +1,6 @@
+package mytools.function;
+
+@FunctionalInterface
+public interface LongConsumerWithException<E extends Exception> {
+    void accept(long value) throws E;
+}
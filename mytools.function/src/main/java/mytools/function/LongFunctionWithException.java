@@ -0,0 +1,6 @@
+package mytools.function;
+
+@FunctionalInterface
+public interface LongFunctionWithException<R, E extends Exception> {
+    R apply(long value) throws E;
+}
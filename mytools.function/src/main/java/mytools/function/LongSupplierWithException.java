@@ -0,0 +1,6 @@
+package mytools.function;
+
+@FunctionalInterface
+public interface LongSupplierWithException<E extends Exception> {
+    long getAsLong() throws E;
+}
@@ -0,0 +1,6 @@
+package mytools.function;
+
+@FunctionalInterface
+public interface LongUnaryOperatorWithException<E extends Exception> {
+    long applyAsLong(long operand) throws E;
+}
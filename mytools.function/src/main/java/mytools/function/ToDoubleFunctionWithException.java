@@ -0,0 +1,6 @@
+package mytools.function;
+
+@FunctionalInterface
+public interface ToDoubleFunctionWithException<T, E extends Exception> {
+    double applyAsDouble(T t) throws E;
+}
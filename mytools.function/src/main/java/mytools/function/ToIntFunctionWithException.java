@@ -0,0 +1,6 @@
+package mytools.function;
+
+@FunctionalInterface
+public interface ToIntFunctionWithException<T, E extends Exception> {
+    int applyAsInt(T t) throws E;
+}
@@ -0,0 +1,6 @@
+package mytools.function;
+
+@FunctionalInterface
+public interface ToLongFunctionWithException<T, E extends Exception> {
+    long applyAsLong(T t) throws E;
+}
@@ -0,0 +1,73 @@
+package mytools.function.decorator;
+
+import static mytools.function.Conversions.toBF;
+import static mytools.function.Conversions.toF;
+import static mytools.function.Conversions.toS;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The asynchronous counterpart of {@link Decorator}, which decorates
+ * functions returning {@code CompletionStage}. Exceptions of such functions
+ * are delivered by completing the stage exceptionally, so they cannot be
+ * handled with {@code try/catch} around the call, and the decorator has to
+ * act on the stage instead, without blocking on it.
+ *
+ * <p>
+ * To implement a decorator, one has to implement only the {@code decorate()}
+ * method which takes a {@code BiFunction}. Like in {@link Decorator},
+ * the other methods convert their input functions into a
+ * {@code BiFunction} and back, and may be overridden to decorate functions
+ * of their types directly.
+ *
+ * @see Decorator
+ */
+public interface AsyncDecorator<T, U, R> {
+
+    default Supplier<CompletionStage<R>> decorate(
+            Supplier<CompletionStage<R>> f) {
+        return toS(decorate(toBF(f)));
+    }
+
+    default Function<T, CompletionStage<R>> decorate(
+            Function<T, CompletionStage<R>> f) {
+        return toF(decorate(toBF(f)));
+    }
+
+    BiFunction<T, U, CompletionStage<R>> decorate(
+            BiFunction<T, U, CompletionStage<R>> f);
+
+    /**
+     * Call an asynchronous function, returning a failed stage if the function
+     * throws an exception instead of returning a stage.
+     */
+    static <T, U, R> CompletionStage<R> call(
+            BiFunction<T, U, CompletionStage<R>> f, T t, U u) {
+        try {
+            return f.apply(t, u);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Get the exception which failed a stage. Dependent stages receive
+     * exceptions wrapped into {@code CompletionException}, which is removed.
+     */
+    static Throwable cause(Throwable e) {
+        Throwable cause = e;
+        while ((cause instanceof CompletionException ||
+                cause instanceof ExecutionException) &&
+               cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+}
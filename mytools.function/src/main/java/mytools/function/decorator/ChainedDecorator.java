@@ -0,0 +1,97 @@
+package mytools.function.decorator;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Applies a chain of decorators at the {@code BiFunction} level, so that
+ * converting the decorated function to and from a {@code BiFunction} happens
+ * once for the whole chain, rather than once per decorator.
+ *
+ * <p>If every decorator in the chain implements {@code decorate()} for
+ * a function's own type, the function is decorated directly, without
+ * the conversion.
+ *
+ * @see Decorators#chain(Decorator...)
+ */
+final class ChainedDecorator<T, U, R> implements Decorator<T, U, R> {
+
+    private final Decorator<T, U, R>[] decorators;
+    private final boolean functions;
+    private final boolean suppliers;
+    private final boolean runnables;
+
+    ChainedDecorator(Decorator<T, U, R>[] decorators) {
+        this.decorators = decorators.clone();
+        functions = allImplement(this.decorators, Function.class);
+        suppliers = allImplement(this.decorators, Supplier.class);
+        runnables = allImplement(this.decorators, Runnable.class);
+    }
+
+    @Override
+    public BiFunction<T, U, R> decorate(BiFunction<T, U, R> f) {
+        BiFunction<T, U, R> result = f;
+        for (int i = decorators.length - 1; i >= 0; i--) {
+            result = decorators[i].decorate(result);
+        }
+        return result;
+    }
+
+    @Override
+    public Function<T, R> decorate(Function<T, R> f) {
+        if (!functions) {
+            return Decorator.super.decorate(f);
+        }
+        Function<T, R> result = f;
+        for (int i = decorators.length - 1; i >= 0; i--) {
+            result = decorators[i].decorate(result);
+        }
+        return result;
+    }
+
+    @Override
+    public Supplier<R> decorate(Supplier<R> f) {
+        if (!suppliers) {
+            return Decorator.super.decorate(f);
+        }
+        Supplier<R> result = f;
+        for (int i = decorators.length - 1; i >= 0; i--) {
+            result = decorators[i].decorate(result);
+        }
+        return result;
+    }
+
+    @Override
+    public Runnable decorate(Runnable f) {
+        if (!runnables) {
+            return Decorator.super.decorate(f);
+        }
+        Runnable result = f;
+        for (int i = decorators.length - 1; i >= 0; i--) {
+            result = decorators[i].decorate(result);
+        }
+        return result;
+    }
+
+    /*
+     * Check if every decorator overrides the default decorate() method for
+     * the given function type.
+     */
+    static boolean allImplement(Object[] decorators, Class<?> functionType) {
+        for (Object d : decorators) {
+            try {
+                Class<?> c = d.getClass().getMethod("decorate", functionType)
+                        .getDeclaringClass();
+                if (c == Decorator.class ||
+                    c == DecoratorWithException.class) {
+                    return false;
+                }
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
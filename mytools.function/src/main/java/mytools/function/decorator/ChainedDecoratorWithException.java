@@ -0,0 +1,134 @@
+package mytools.function.decorator;
+
+import static mytools.function.decorator.ChainedDecorator.allImplement;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import mytools.function.BiFunctionWithException;
+import mytools.function.FunctionWithException;
+import mytools.function.RunnableWithException;
+import mytools.function.SupplierWithException;
+
+/**
+ * Applies a chain of decorators at the {@code BiFunctionWithException}
+ * level. Decorating a function which does not throw checked exceptions
+ * wraps it into a function with exception, and unchecks the result,
+ * once for the whole chain.
+ *
+ * <p>If every decorator in the chain implements {@code decorate()} for
+ * a function's own type, the function is decorated directly, without
+ * the conversion.
+ *
+ * @see Decorators#chain(DecoratorWithException...)
+ */
+final class ChainedDecoratorWithException<T, U, R, E extends Exception>
+    implements DecoratorWithException<T, U, R, E> {
+
+    private final DecoratorWithException<T, U, R, E>[] decorators;
+    private final boolean functions;
+    private final boolean suppliers;
+    private final boolean runnables;
+    private final boolean functionsWithException;
+    private final boolean suppliersWithException;
+    private final boolean runnablesWithException;
+
+    ChainedDecoratorWithException(
+            DecoratorWithException<T, U, R, E>[] decorators) {
+        this.decorators = decorators.clone();
+        functions = allImplement(this.decorators, Function.class);
+        suppliers = allImplement(this.decorators, Supplier.class);
+        runnables = allImplement(this.decorators, Runnable.class);
+        functionsWithException =
+                allImplement(this.decorators, FunctionWithException.class);
+        suppliersWithException =
+                allImplement(this.decorators, SupplierWithException.class);
+        runnablesWithException =
+                allImplement(this.decorators, RunnableWithException.class);
+    }
+
+    @Override
+    public BiFunctionWithException<T, U, R, E> decorate(
+            BiFunctionWithException<T, U, R, E> f) {
+        BiFunctionWithException<T, U, R, E> result = f;
+        for (int i = decorators.length - 1; i >= 0; i--) {
+            result = decorators[i].decorate(result);
+        }
+        return result;
+    }
+
+    @Override
+    public FunctionWithException<T, R, E> decorate(
+            FunctionWithException<T, R, E> f) {
+        if (!functionsWithException) {
+            return DecoratorWithException.super.decorate(f);
+        }
+        FunctionWithException<T, R, E> result = f;
+        for (int i = decorators.length - 1; i >= 0; i--) {
+            result = decorators[i].decorate(result);
+        }
+        return result;
+    }
+
+    @Override
+    public SupplierWithException<R, E> decorate(
+            SupplierWithException<R, E> f) {
+        if (!suppliersWithException) {
+            return DecoratorWithException.super.decorate(f);
+        }
+        SupplierWithException<R, E> result = f;
+        for (int i = decorators.length - 1; i >= 0; i--) {
+            result = decorators[i].decorate(result);
+        }
+        return result;
+    }
+
+    @Override
+    public RunnableWithException<E> decorate(RunnableWithException<E> f) {
+        if (!runnablesWithException) {
+            return DecoratorWithException.super.decorate(f);
+        }
+        RunnableWithException<E> result = f;
+        for (int i = decorators.length - 1; i >= 0; i--) {
+            result = decorators[i].decorate(result);
+        }
+        return result;
+    }
+
+    @Override
+    public Function<T, R> decorate(Function<T, R> f) {
+        if (!functions) {
+            return DecoratorWithException.super.decorate(f);
+        }
+        Function<T, R> result = f;
+        for (int i = decorators.length - 1; i >= 0; i--) {
+            result = decorators[i].decorate(result);
+        }
+        return result;
+    }
+
+    @Override
+    public Supplier<R> decorate(Supplier<R> f) {
+        if (!suppliers) {
+            return DecoratorWithException.super.decorate(f);
+        }
+        Supplier<R> result = f;
+        for (int i = decorators.length - 1; i >= 0; i--) {
+            result = decorators[i].decorate(result);
+        }
+        return result;
+    }
+
+    @Override
+    public Runnable decorate(Runnable f) {
+        if (!runnables) {
+            return DecoratorWithException.super.decorate(f);
+        }
+        Runnable result = f;
+        for (int i = decorators.length - 1; i >= 0; i--) {
+            result = decorators[i].decorate(result);
+        }
+        return result;
+    }
+
+}
@@ -36,6 +36,12 @@ import java.util.function.Supplier;
  * functions into a {@code BiFunction} and back.
  *
  * <p>
+ * The conversion adds two calls to every call of the decorated function.
+ * A decorator which is used on hot paths may override the other
+ * {@code decorate()} methods as well, to decorate functions of these types
+ * directly.
+ *
+ * <p>
  * The following snippet shows how to create a decorator which executes its
  * wrapped method after a delay of 1 second.
  *
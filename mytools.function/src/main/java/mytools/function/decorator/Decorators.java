@@ -0,0 +1,66 @@
+package mytools.function.decorator;
+
+/**
+ * This interface contains methods which combine decorators.
+ *
+ * <p>
+ * Decorating a function with several decorators one by one, like in
+ *
+ * <pre>
+ * {@code
+ *  Function<T, R> f = d1.decorate(d2.decorate(d3.decorate(g)));
+ * }
+ * </pre>
+ *
+ * converts the function into a {@code BiFunction} and back for every
+ * decorator which only implements {@code decorate(BiFunction)}. A chain of
+ * decorators converts the function once and applies all the decorators to
+ * the same {@code BiFunction}:
+ *
+ * <pre>
+ * {@code
+ *  Function<T, R> f = Decorators.chain(d1, d2, d3).decorate(g);
+ * }
+ * </pre>
+ *
+ * <p>
+ * Only the conversions are saved. Every decorator still wraps the function
+ * returned by the next one, so a chain of decorators which decorate the
+ * function type directly is no faster than decorating with them one by one.
+ * A chain of one decorator is the decorator itself.
+ *
+ * <p>
+ * The decorators are applied in the order they are given in, so that
+ * the first decorator is the outermost one, and the last decorator wraps
+ * the original function directly.
+ */
+public interface Decorators {
+
+    /**
+     * Combine the given decorators into one.
+     */
+    @SafeVarargs
+    static <T, U, R> Decorator<T, U, R> chain(
+            Decorator<T, U, R>... decorators) {
+        if (decorators.length == 1) {
+            return decorators[0];
+        }
+        return new ChainedDecorator<>(decorators);
+    }
+
+    /**
+     * Combine the given decorators with exceptions into one.
+     * If the resulting decorator is used on a function which does not throw
+     * checked exceptions, the function is converted to a function with
+     * exception and the result is unchecked once, not by every decorator.
+     */
+    @SafeVarargs
+    static <T, U, R, E extends Exception> DecoratorWithException<T, U, R, E>
+    chain(DecoratorWithException<T, U, R, E>... decorators) {
+        if (decorators.length == 1) {
+            return decorators[0];
+        }
+        return new ChainedDecoratorWithException<>(decorators);
+    }
+
+}
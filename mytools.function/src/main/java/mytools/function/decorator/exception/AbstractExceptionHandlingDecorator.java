@@ -3,8 +3,13 @@ package mytools.function.decorator.exception;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import mytools.function.BiFunctionWithException;
+import mytools.function.FunctionWithException;
+import mytools.function.RunnableWithException;
+import mytools.function.SupplierWithException;
 import mytools.function.decorator.ExceptionHidingDecorator;
 
 abstract class AbstractExceptionHandlingDecorator<T, U, R, E extends Exception>
@@ -21,6 +26,42 @@ abstract class AbstractExceptionHandlingDecorator<T, U, R, E extends Exception>
         };
     }
 
+    // Shape specific versions of the above, which don't convert the function
+    // to and from BiFunction on every call
+
+    @Override
+    public Function<T, R> decorate(FunctionWithException<T, R, E> f) {
+        return t -> {
+            try {
+                return f.apply(t);
+            } catch (Exception e) {
+                return dealWithException(e);
+            }
+        };
+    }
+
+    @Override
+    public Supplier<R> decorate(SupplierWithException<R, E> f) {
+        return () -> {
+            try {
+                return f.get();
+            } catch (Exception e) {
+                return dealWithException(e);
+            }
+        };
+    }
+
+    @Override
+    public Runnable decorate(RunnableWithException<E> f) {
+        return () -> {
+            try {
+                f.run();
+            } catch (Exception e) {
+                dealWithException(e);
+            }
+        };
+    }
+
     abstract R dealWithException(Exception e);
 
     static RuntimeException toUnchecked(Exception e) {
@@ -0,0 +1,74 @@
+package mytools.function.decorator.exception;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import mytools.function.decorator.AsyncDecorator;
+
+/**
+ * Applies the exception handling of {@link Safe} or {@link Uncheck} to the
+ * stages returned by asynchronous functions. A stage which fails with
+ * an exception is turned into a stage which completes with {@code null},
+ * or fails with an unchecked exception, without blocking.
+ */
+final class AsyncExceptionHandlingDecorator<T, U, R>
+    implements AsyncDecorator<T, U, R> {
+
+    private final AbstractExceptionHandlingDecorator<T, U, R, ?> handler;
+    private final BiFunction<R, Throwable, R> handle = this::handle;
+
+    AsyncExceptionHandlingDecorator(
+            AbstractExceptionHandlingDecorator<T, U, R, ?> handler) {
+        this.handler = handler;
+    }
+
+    @Override
+    public BiFunction<T, U, CompletionStage<R>> decorate(
+            BiFunction<T, U, CompletionStage<R>> f) {
+        return (t, u) -> AsyncDecorator.call(f, t, u).handle(handle);
+    }
+
+    @Override
+    public Function<T, CompletionStage<R>> decorate(
+            Function<T, CompletionStage<R>> f) {
+        return t -> {
+            CompletionStage<R> stage;
+            try {
+                stage = f.apply(t);
+            } catch (RuntimeException e) {
+                stage = CompletableFuture.failedFuture(e);
+            }
+            return stage.handle(handle);
+        };
+    }
+
+    @Override
+    public Supplier<CompletionStage<R>> decorate(
+            Supplier<CompletionStage<R>> f) {
+        return () -> {
+            CompletionStage<R> stage;
+            try {
+                stage = f.get();
+            } catch (RuntimeException e) {
+                stage = CompletableFuture.failedFuture(e);
+            }
+            return stage.handle(handle);
+        };
+    }
+
+    private R handle(R result, Throwable e) {
+        if (e == null) {
+            return result;
+        }
+        Throwable cause = AsyncDecorator.cause(e);
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return handler.dealWithException(cause instanceof Exception ?
+                (Exception) cause : new RuntimeException(cause));
+    }
+
+}
@@ -1,17 +1,48 @@
 package mytools.function.decorator.exception;
 
+import java.util.concurrent.CompletionStage;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongSupplier;
+import java.util.function.LongUnaryOperator;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 import mytools.function.BiConsumerWithException;
 import mytools.function.BiFunctionWithException;
 import mytools.function.ConsumerWithException;
+import mytools.function.DoubleConsumerWithException;
+import mytools.function.DoubleFunctionWithException;
+import mytools.function.DoubleSupplierWithException;
+import mytools.function.DoubleUnaryOperatorWithException;
 import mytools.function.FunctionWithException;
+import mytools.function.IntConsumerWithException;
+import mytools.function.IntFunctionWithException;
+import mytools.function.IntSupplierWithException;
+import mytools.function.IntUnaryOperatorWithException;
+import mytools.function.LongConsumerWithException;
+import mytools.function.LongFunctionWithException;
+import mytools.function.LongSupplierWithException;
+import mytools.function.LongUnaryOperatorWithException;
 import mytools.function.RunnableWithException;
 import mytools.function.SupplierWithException;
+import mytools.function.ToDoubleFunctionWithException;
+import mytools.function.ToIntFunctionWithException;
+import mytools.function.ToLongFunctionWithException;
 
 /**
  * This interface contains methods which expose functionality of different
@@ -68,7 +99,24 @@ import mytools.function.SupplierWithException;
  * </pre>
  *
  * <p>
+ * When an exception class is given, its {@code (Throwable)} constructor is
+ * looked up once, and an {@code IllegalArgumentException} is thrown right away
+ * if there is no such constructor. Methods which accept
+ * {@code writableStackTrace} flag may be used to create exceptions without
+ * capturing the stack trace, which is much cheaper when failures are frequent
+ * and expected. The exception class must declare a
+ * {@code (String, Throwable, boolean, boolean)} constructor in this case,
+ * unless it is {@code RuntimeException} or {@code null}, in which case
+ * exceptions of private subclasses of {@code RuntimeException} and
+ * {@code UncheckedIOException} are thrown.
+ *
+ * <p>
  * {@code safe()} and {@code safely()} methods may be used similarly.
+ *
+ * <p>
+ * {@code uncheckedAsync()} and {@code safeAsync()} methods decorate functions
+ * which return {@code CompletionStage}. They handle exceptions which fail
+ * the returned stage, without waiting for it.
  */
 public interface ExceptionDecorators {
 
@@ -84,6 +132,14 @@ public interface ExceptionDecorators {
                 .decorate(f);
     }
 
+    static <E extends Exception> Runnable unchecked(
+            Class<? extends RuntimeException> exceptionClass,
+            boolean writableStackTrace,
+            RunnableWithException<E> f) {
+        return new Uncheck<Object, Object, Object, E>(
+                exceptionClass, writableStackTrace).decorate(f);
+    }
+
     static <R, E extends Exception> Supplier<R> unchecked(
             SupplierWithException<R, E> f) {
         return new Uncheck<Object, Object, R, E>().decorate(f);
@@ -95,6 +151,14 @@ public interface ExceptionDecorators {
         return new Uncheck<Object, Object, R, E>(exceptionClass).decorate(f);
     }
 
+    static <R, E extends Exception> Supplier<R> unchecked(
+            Class<? extends RuntimeException> exceptionClass,
+            boolean writableStackTrace,
+            SupplierWithException<R, E> f) {
+        return new Uncheck<Object, Object, R, E>(
+                exceptionClass, writableStackTrace).decorate(f);
+    }
+
     static <T, E extends Exception> Consumer<T> unchecked(
             ConsumerWithException<T, E> f) {
         return new Uncheck<T, Object, Object, E>().decorate(f);
@@ -106,6 +170,14 @@ public interface ExceptionDecorators {
         return new Uncheck<T, Object, Object, E>(exceptionClass).decorate(f);
     }
 
+    static <T, E extends Exception> Consumer<T> unchecked(
+            Class<? extends RuntimeException> exceptionClass,
+            boolean writableStackTrace,
+            ConsumerWithException<T, E> f) {
+        return new Uncheck<T, Object, Object, E>(
+                exceptionClass, writableStackTrace).decorate(f);
+    }
+
     static <T, U, E extends Exception> BiConsumer<T, U> unchecked(
             BiConsumerWithException<T, U, E> f) {
         return new Uncheck<T, U, Object, E>().decorate(f);
@@ -117,6 +189,14 @@ public interface ExceptionDecorators {
         return new Uncheck<T, U, Object, E>(exceptionClass).decorate(f);
     }
 
+    static <T, U, E extends Exception> BiConsumer<T, U> unchecked(
+            Class<? extends RuntimeException> exceptionClass,
+            boolean writableStackTrace,
+            BiConsumerWithException<T, U, E> f) {
+        return new Uncheck<T, U, Object, E>(
+                exceptionClass, writableStackTrace).decorate(f);
+    }
+
     static <T, R, E extends Exception> Function<T, R> unchecked(
             FunctionWithException<T, R, E> f) {
         return new Uncheck<T, Object, R, E>().decorate(f);
@@ -128,6 +208,14 @@ public interface ExceptionDecorators {
         return new Uncheck<T, Object, R, E>(exceptionClass).decorate(f);
     }
 
+    static <T, R, E extends Exception> Function<T, R> unchecked(
+            Class<? extends RuntimeException> exceptionClass,
+            boolean writableStackTrace,
+            FunctionWithException<T, R, E> f) {
+        return new Uncheck<T, Object, R, E>(
+                exceptionClass, writableStackTrace).decorate(f);
+    }
+
     static <T, U, R, E extends Exception> BiFunction<T, U, R> unchecked(
             BiFunctionWithException<T, U, R, E> f) {
         return new Uncheck<T, U, R, E>().decorate(f);
@@ -139,6 +227,203 @@ public interface ExceptionDecorators {
         return new Uncheck<T, U, R, E>(exceptionClass).decorate(f);
     }
 
+    static <T, U, R, E extends Exception> BiFunction<T, U, R> unchecked(
+            Class<? extends RuntimeException> exceptionClass,
+            boolean writableStackTrace,
+            BiFunctionWithException<T, U, R, E> f) {
+        return new Uncheck<T, U, R, E>(
+                exceptionClass, writableStackTrace).decorate(f);
+    }
+
+    /////////////////// primitive specializations ///////////////////////////
+
+    // These have their own names, since lambdas which fit them would also
+    // fit the unchecked() overloads above, and make those calls ambiguous.
+
+    static <R, E extends Exception> IntFunction<R> uncheckedIntFunction(
+            IntFunctionWithException<R, E> f) {
+        return new Uncheck<Object, Object, Object, E>().decorate(f);
+    }
+
+    static <R, E extends Exception> IntFunction<R> uncheckedIntFunction(
+            Class<? extends RuntimeException> exceptionClass,
+            IntFunctionWithException<R, E> f) {
+        return new Uncheck<Object, Object, Object, E>(exceptionClass)
+                .decorate(f);
+    }
+
+    static <T, E extends Exception> ToIntFunction<T> uncheckedToIntFunction(
+            ToIntFunctionWithException<T, E> f) {
+        return new Uncheck<Object, Object, Object, E>().decorate(f);
+    }
+
+    static <T, E extends Exception> ToIntFunction<T> uncheckedToIntFunction(
+            Class<? extends RuntimeException> exceptionClass,
+            ToIntFunctionWithException<T, E> f) {
+        return new Uncheck<Object, Object, Object, E>(exceptionClass)
+                .decorate(f);
+    }
+
+    static <E extends Exception> IntSupplier uncheckedIntSupplier(
+            IntSupplierWithException<E> f) {
+        return new Uncheck<Object, Object, Object, E>().decorate(f);
+    }
+
+    static <E extends Exception> IntSupplier uncheckedIntSupplier(
+            Class<? extends RuntimeException> exceptionClass,
+            IntSupplierWithException<E> f) {
+        return new Uncheck<Object, Object, Object, E>(exceptionClass)
+                .decorate(f);
+    }
+
+    static <E extends Exception> IntConsumer uncheckedIntConsumer(
+            IntConsumerWithException<E> f) {
+        return new Uncheck<Object, Object, Object, E>().decorate(f);
+    }
+
+    static <E extends Exception> IntConsumer uncheckedIntConsumer(
+            Class<? extends RuntimeException> exceptionClass,
+            IntConsumerWithException<E> f) {
+        return new Uncheck<Object, Object, Object, E>(exceptionClass)
+                .decorate(f);
+    }
+
+    static <E extends Exception> IntUnaryOperator uncheckedIntUnaryOperator(
+            IntUnaryOperatorWithException<E> f) {
+        return new Uncheck<Object, Object, Object, E>().decorate(f);
+    }
+
+    static <E extends Exception> IntUnaryOperator uncheckedIntUnaryOperator(
+            Class<? extends RuntimeException> exceptionClass,
+            IntUnaryOperatorWithException<E> f) {
+        return new Uncheck<Object, Object, Object, E>(exceptionClass)
+                .decorate(f);
+    }
+
+    static <R, E extends Exception> LongFunction<R> uncheckedLongFunction(
+            LongFunctionWithException<R, E> f) {
+        return new Uncheck<Object, Object, Object, E>().decorate(f);
+    }
+
+    static <R, E extends Exception> LongFunction<R> uncheckedLongFunction(
+            Class<? extends RuntimeException> exceptionClass,
+            LongFunctionWithException<R, E> f) {
+        return new Uncheck<Object, Object, Object, E>(exceptionClass)
+                .decorate(f);
+    }
+
+    static <T, E extends Exception> ToLongFunction<T> uncheckedToLongFunction(
+            ToLongFunctionWithException<T, E> f) {
+        return new Uncheck<Object, Object, Object, E>().decorate(f);
+    }
+
+    static <T, E extends Exception> ToLongFunction<T> uncheckedToLongFunction(
+            Class<? extends RuntimeException> exceptionClass,
+            ToLongFunctionWithException<T, E> f) {
+        return new Uncheck<Object, Object, Object, E>(exceptionClass)
+                .decorate(f);
+    }
+
+    static <E extends Exception> LongSupplier uncheckedLongSupplier(
+            LongSupplierWithException<E> f) {
+        return new Uncheck<Object, Object, Object, E>().decorate(f);
+    }
+
+    static <E extends Exception> LongSupplier uncheckedLongSupplier(
+            Class<? extends RuntimeException> exceptionClass,
+            LongSupplierWithException<E> f) {
+        return new Uncheck<Object, Object, Object, E>(exceptionClass)
+                .decorate(f);
+    }
+
+    static <E extends Exception> LongConsumer uncheckedLongConsumer(
+            LongConsumerWithException<E> f) {
+        return new Uncheck<Object, Object, Object, E>().decorate(f);
+    }
+
+    static <E extends Exception> LongConsumer uncheckedLongConsumer(
+            Class<? extends RuntimeException> exceptionClass,
+            LongConsumerWithException<E> f) {
+        return new Uncheck<Object, Object, Object, E>(exceptionClass)
+                .decorate(f);
+    }
+
+    static <E extends Exception> LongUnaryOperator uncheckedLongUnaryOperator(
+            LongUnaryOperatorWithException<E> f) {
+        return new Uncheck<Object, Object, Object, E>().decorate(f);
+    }
+
+    static <E extends Exception> LongUnaryOperator uncheckedLongUnaryOperator(
+            Class<? extends RuntimeException> exceptionClass,
+            LongUnaryOperatorWithException<E> f) {
+        return new Uncheck<Object, Object, Object, E>(exceptionClass)
+                .decorate(f);
+    }
+
+    static <R, E extends Exception> DoubleFunction<R> uncheckedDoubleFunction(
+            DoubleFunctionWithException<R, E> f) {
+        return new Uncheck<Object, Object, Object, E>().decorate(f);
+    }
+
+    static <R, E extends Exception> DoubleFunction<R> uncheckedDoubleFunction(
+            Class<? extends RuntimeException> exceptionClass,
+            DoubleFunctionWithException<R, E> f) {
+        return new Uncheck<Object, Object, Object, E>(exceptionClass)
+                .decorate(f);
+    }
+
+    static <T, E extends Exception> ToDoubleFunction<T>
+    uncheckedToDoubleFunction(
+            ToDoubleFunctionWithException<T, E> f) {
+        return new Uncheck<Object, Object, Object, E>().decorate(f);
+    }
+
+    static <T, E extends Exception> ToDoubleFunction<T>
+    uncheckedToDoubleFunction(
+            Class<? extends RuntimeException> exceptionClass,
+            ToDoubleFunctionWithException<T, E> f) {
+        return new Uncheck<Object, Object, Object, E>(exceptionClass)
+                .decorate(f);
+    }
+
+    static <E extends Exception> DoubleSupplier uncheckedDoubleSupplier(
+            DoubleSupplierWithException<E> f) {
+        return new Uncheck<Object, Object, Object, E>().decorate(f);
+    }
+
+    static <E extends Exception> DoubleSupplier uncheckedDoubleSupplier(
+            Class<? extends RuntimeException> exceptionClass,
+            DoubleSupplierWithException<E> f) {
+        return new Uncheck<Object, Object, Object, E>(exceptionClass)
+                .decorate(f);
+    }
+
+    static <E extends Exception> DoubleConsumer uncheckedDoubleConsumer(
+            DoubleConsumerWithException<E> f) {
+        return new Uncheck<Object, Object, Object, E>().decorate(f);
+    }
+
+    static <E extends Exception> DoubleConsumer uncheckedDoubleConsumer(
+            Class<? extends RuntimeException> exceptionClass,
+            DoubleConsumerWithException<E> f) {
+        return new Uncheck<Object, Object, Object, E>(exceptionClass)
+                .decorate(f);
+    }
+
+    static <E extends Exception> DoubleUnaryOperator
+    uncheckedDoubleUnaryOperator(
+            DoubleUnaryOperatorWithException<E> f) {
+        return new Uncheck<Object, Object, Object, E>().decorate(f);
+    }
+
+    static <E extends Exception> DoubleUnaryOperator
+    uncheckedDoubleUnaryOperator(
+            Class<? extends RuntimeException> exceptionClass,
+            DoubleUnaryOperatorWithException<E> f) {
+        return new Uncheck<Object, Object, Object, E>(exceptionClass)
+                .decorate(f);
+    }
+
     static <E extends Exception> void uncheck(RunnableWithException<E> f) {
         unchecked(f).run();
     }
@@ -160,6 +445,20 @@ public interface ExceptionDecorators {
         return unchecked(exceptionClass, f).get();
     }
 
+    static <E extends Exception> void uncheck(
+            Class<? extends RuntimeException> exceptionClass,
+            boolean writableStackTrace,
+            RunnableWithException<E> f) {
+        unchecked(exceptionClass, writableStackTrace, f).run();
+    }
+
+    static <R, E extends Exception> R uncheck(
+            Class<? extends RuntimeException> exceptionClass,
+            boolean writableStackTrace,
+            SupplierWithException<? extends R, E> f) {
+        return unchecked(exceptionClass, writableStackTrace, f).get();
+    }
+
     static <R, E extends Exception> Supplier<R> safe(
             SupplierWithException<R, E> f) {
         return new Safe<Object, Object, R, E>().decorate(f);
@@ -206,4 +505,88 @@ public interface ExceptionDecorators {
         return safe(f, exceptions).get();
     }
 
+    // These pass the exceptions which they catch to the listener before
+    // returning null, so that they may be counted or logged.
+
+    @SafeVarargs
+    static <R, E extends Exception> Supplier<R> safe(
+            SupplierWithException<R, E> f,
+            Consumer<? super Exception> listener,
+            Class<? extends Exception>... exceptions) {
+        return new Safe<Object, Object, R, E>(listener, exceptions)
+                .decorate(f);
+    }
+
+    @SafeVarargs
+    static <T, R, E extends Exception> Function<T, R> safe(
+            FunctionWithException<T, R, E> f,
+            Consumer<? super Exception> listener,
+            Class<? extends Exception>... exceptions) {
+        return new Safe<T, Object, R, E>(listener, exceptions).decorate(f);
+    }
+
+    @SafeVarargs
+    static <T, U, R, E extends Exception> BiFunction<T, U, R> safe(
+            BiFunctionWithException<T, U, R, E> f,
+            Consumer<? super Exception> listener,
+            Class<? extends Exception>... exceptions) {
+        return new Safe<T, U, R, E>(listener, exceptions).decorate(f);
+    }
+
+    @SafeVarargs
+    static <R, E extends Exception> R safely(SupplierWithException<R, E> f,
+            Consumer<? super Exception> listener,
+            Class<? extends Exception>... exceptions) {
+        return safe(f, listener, exceptions).get();
+    }
+
+    ///////////////////// asynchronous functions /////////////////////////
+
+    // These act on the stage returned by the function, and do not block.
+
+    static <R> Supplier<CompletionStage<R>> uncheckedAsync(
+            Supplier<CompletionStage<R>> f) {
+        return new AsyncExceptionHandlingDecorator<>(
+                new Uncheck<Object, Object, R, Exception>()).decorate(f);
+    }
+
+    static <R> Supplier<CompletionStage<R>> uncheckedAsync(
+            Class<? extends RuntimeException> exceptionClass,
+            Supplier<CompletionStage<R>> f) {
+        return new AsyncExceptionHandlingDecorator<>(
+                new Uncheck<Object, Object, R, Exception>(exceptionClass))
+                .decorate(f);
+    }
+
+    static <T, R> Function<T, CompletionStage<R>> uncheckedAsync(
+            Function<T, CompletionStage<R>> f) {
+        return new AsyncExceptionHandlingDecorator<>(
+                new Uncheck<T, Object, R, Exception>()).decorate(f);
+    }
+
+    static <T, R> Function<T, CompletionStage<R>> uncheckedAsync(
+            Class<? extends RuntimeException> exceptionClass,
+            Function<T, CompletionStage<R>> f) {
+        return new AsyncExceptionHandlingDecorator<>(
+                new Uncheck<T, Object, R, Exception>(exceptionClass))
+                .decorate(f);
+    }
+
+    @SafeVarargs
+    static <R> Supplier<CompletionStage<R>> safeAsync(
+            Supplier<CompletionStage<R>> f,
+            Class<? extends Exception>... exceptions) {
+        return new AsyncExceptionHandlingDecorator<>(
+                new Safe<Object, Object, R, Exception>(exceptions))
+                .decorate(f);
+    }
+
+    @SafeVarargs
+    static <T, R> Function<T, CompletionStage<R>> safeAsync(
+            Function<T, CompletionStage<R>> f,
+            Class<? extends Exception>... exceptions) {
+        return new AsyncExceptionHandlingDecorator<>(
+                new Safe<T, Object, R, Exception>(exceptions)).decorate(f);
+    }
+
 }
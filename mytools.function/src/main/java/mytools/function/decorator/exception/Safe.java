@@ -1,25 +1,38 @@
 package mytools.function.decorator.exception;
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 /**
  * Transform a function which throws exception into a function which returns
- * null in cases when exception is thrown.
+ * null in cases when exception is thrown. The exceptions which are caught
+ * may be passed to a listener, for example to count them.
  */
 final class Safe <T, U, R, E extends Exception>
     extends AbstractExceptionHandlingDecorator<T, U, R, E> {
 
     private final Class<? extends Exception>[] catchExceptions;
+    private final Consumer<? super Exception> listener;
 
     @SafeVarargs
     Safe(Class<? extends Exception>... catchExceptions) {
+        this(null, catchExceptions);
+    }
+
+    @SafeVarargs
+    Safe(Consumer<? super Exception> listener,
+            Class<? extends Exception>... catchExceptions) {
         this.catchExceptions = catchExceptions;
+        this.listener = listener;
     }
 
     @Override
     R dealWithException(Exception e) {
         if (catchExceptions.length == 0 ||
             catchExceptions != null && exceptionMatches(e)) {
+            if (listener != null) {
+                listener.accept(e);
+            }
             return null;
         }
         throw toUnchecked(e);
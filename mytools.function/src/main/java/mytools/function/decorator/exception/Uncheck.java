@@ -1,44 +1,357 @@
 package mytools.function.decorator.exception;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongSupplier;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import mytools.function.DoubleConsumerWithException;
+import mytools.function.DoubleFunctionWithException;
+import mytools.function.DoubleSupplierWithException;
+import mytools.function.DoubleUnaryOperatorWithException;
+import mytools.function.IntConsumerWithException;
+import mytools.function.IntFunctionWithException;
+import mytools.function.IntSupplierWithException;
+import mytools.function.IntUnaryOperatorWithException;
+import mytools.function.LongConsumerWithException;
+import mytools.function.LongFunctionWithException;
+import mytools.function.LongSupplierWithException;
+import mytools.function.LongUnaryOperatorWithException;
+import mytools.function.ToDoubleFunctionWithException;
+import mytools.function.ToIntFunctionWithException;
+import mytools.function.ToLongFunctionWithException;
 
 /**
  * Transform a function which throws checked exception into a function which
  * throws unchecked exception. This unchecked exception will be either of class
  * given as constructor parameter, or of RuntimeException/UncheckedIOException
  * class
+ *
+ * <p>The constructor of the given exception class is resolved once per class
+ * and validated when the decorator is created, so converting an exception
+ * costs one constructor call. If the decorator is created with
+ * {@code writableStackTrace} set to false, the exception is created with
+ * the {@code (String, Throwable, boolean, boolean)} constructor, which must
+ * be declared by the exception class, and does not capture the stack trace.
+ * {@code RuntimeException}, whose constructor is protected, and the default
+ * {@code RuntimeException}/{@code UncheckedIOException} are replaced with
+ * private subclasses which don't capture the stack trace.
  */
 final class Uncheck <T, U, R, E extends Exception>
     extends AbstractExceptionHandlingDecorator<T, U, R, E> {
 
+    private static final MethodHandle MESSAGE;
+    static {
+        try {
+            MESSAGE = MethodHandles.lookup().findStatic(Uncheck.class,
+                    "message", MethodType.methodType(
+                            String.class, Throwable.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // (Throwable)RuntimeException factories
+
+    private static final ClassValue<MethodHandle> CONSTRUCTORS =
+            new ClassValue<MethodHandle>() {
+                @Override
+                protected MethodHandle computeValue(Class<?> type) {
+                    return constructor(type, Throwable.class);
+                }
+            };
+
+    private static final ClassValue<MethodHandle> NO_STACK_TRACE_CONSTRUCTORS =
+            new ClassValue<MethodHandle>() {
+                @Override
+                protected MethodHandle computeValue(Class<?> type) {
+                    if (type == RuntimeException.class) {
+                        return constructor(
+                                StacklessException.class, Throwable.class);
+                    }
+                    MethodHandle c = MethodHandles.insertArguments(
+                            constructor(type, String.class, Throwable.class,
+                                    boolean.class, boolean.class),
+                            2, true, false);
+                    return MethodHandles.foldArguments(c, MESSAGE);
+                }
+            };
+
     private final Class<? extends RuntimeException> exceptionClass;
+    private final boolean writableStackTrace;
+    private final MethodHandle factory;
 
     Uncheck() {
         this(null);
     }
 
     Uncheck(Class<? extends RuntimeException> exceptionClass) {
+        this(exceptionClass, true);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the exception class does not have
+     *         a suitable constructor
+     */
+    Uncheck(Class<? extends RuntimeException> exceptionClass,
+            boolean writableStackTrace) {
         this.exceptionClass = exceptionClass;
+        this.writableStackTrace = writableStackTrace;
+        if (exceptionClass == null) {
+            factory = null;
+        } else {
+            factory = writableStackTrace ?
+                    CONSTRUCTORS.get(exceptionClass) :
+                    NO_STACK_TRACE_CONSTRUCTORS.get(exceptionClass);
+        }
     }
 
     @Override
     R dealWithException(Exception e) {
-        throw (exceptionClass != null) ?
-                toSpecificException(e) : toUnchecked(e);
+        throw convert(e);
+    }
+
+    ///////////////////// primitive specializations /////////////////////////
+
+    // These don't go through decorate(BiFunction), so that primitive
+    // arguments and results are not boxed.
+
+    <V> IntFunction<V> decorate(IntFunctionWithException<V, E> f) {
+        return value -> {
+            try {
+                return f.apply(value);
+            } catch (Exception e) {
+                throw convert(e);
+            }
+        };
+    }
+
+    <V> ToIntFunction<V> decorate(ToIntFunctionWithException<V, E> f) {
+        return t -> {
+            try {
+                return f.applyAsInt(t);
+            } catch (Exception e) {
+                throw convert(e);
+            }
+        };
+    }
+
+    IntSupplier decorate(IntSupplierWithException<E> f) {
+        return () -> {
+            try {
+                return f.getAsInt();
+            } catch (Exception e) {
+                throw convert(e);
+            }
+        };
+    }
+
+    IntConsumer decorate(IntConsumerWithException<E> f) {
+        return value -> {
+            try {
+                f.accept(value);
+            } catch (Exception e) {
+                throw convert(e);
+            }
+        };
+    }
+
+    IntUnaryOperator decorate(IntUnaryOperatorWithException<E> f) {
+        return operand -> {
+            try {
+                return f.applyAsInt(operand);
+            } catch (Exception e) {
+                throw convert(e);
+            }
+        };
+    }
+
+    <V> LongFunction<V> decorate(LongFunctionWithException<V, E> f) {
+        return value -> {
+            try {
+                return f.apply(value);
+            } catch (Exception e) {
+                throw convert(e);
+            }
+        };
+    }
+
+    <V> ToLongFunction<V> decorate(ToLongFunctionWithException<V, E> f) {
+        return t -> {
+            try {
+                return f.applyAsLong(t);
+            } catch (Exception e) {
+                throw convert(e);
+            }
+        };
+    }
+
+    LongSupplier decorate(LongSupplierWithException<E> f) {
+        return () -> {
+            try {
+                return f.getAsLong();
+            } catch (Exception e) {
+                throw convert(e);
+            }
+        };
+    }
+
+    LongConsumer decorate(LongConsumerWithException<E> f) {
+        return value -> {
+            try {
+                f.accept(value);
+            } catch (Exception e) {
+                throw convert(e);
+            }
+        };
+    }
+
+    LongUnaryOperator decorate(LongUnaryOperatorWithException<E> f) {
+        return operand -> {
+            try {
+                return f.applyAsLong(operand);
+            } catch (Exception e) {
+                throw convert(e);
+            }
+        };
+    }
+
+    <V> DoubleFunction<V> decorate(DoubleFunctionWithException<V, E> f) {
+        return value -> {
+            try {
+                return f.apply(value);
+            } catch (Exception e) {
+                throw convert(e);
+            }
+        };
+    }
+
+    <V> ToDoubleFunction<V> decorate(ToDoubleFunctionWithException<V, E> f) {
+        return t -> {
+            try {
+                return f.applyAsDouble(t);
+            } catch (Exception e) {
+                throw convert(e);
+            }
+        };
+    }
+
+    DoubleSupplier decorate(DoubleSupplierWithException<E> f) {
+        return () -> {
+            try {
+                return f.getAsDouble();
+            } catch (Exception e) {
+                throw convert(e);
+            }
+        };
+    }
+
+    DoubleConsumer decorate(DoubleConsumerWithException<E> f) {
+        return value -> {
+            try {
+                f.accept(value);
+            } catch (Exception e) {
+                throw convert(e);
+            }
+        };
+    }
+
+    DoubleUnaryOperator decorate(DoubleUnaryOperatorWithException<E> f) {
+        return operand -> {
+            try {
+                return f.applyAsDouble(operand);
+            } catch (Exception e) {
+                throw convert(e);
+            }
+        };
+    }
+
+    private RuntimeException convert(Exception e) {
+        if (exceptionClass != null) {
+            return toSpecificException(e);
+        } else if (writableStackTrace || e instanceof RuntimeException) {
+            return toUnchecked(e);
+        } else if (e instanceof IOException) {
+            return new StacklessUncheckedIOException((IOException) e);
+        }
+        return new StacklessException(e);
     }
 
     private RuntimeException toSpecificException(Exception e) {
         try {
-            Constructor<? extends RuntimeException> c =
-                    exceptionClass.getDeclaredConstructor(Throwable.class);
-            c.setAccessible(true);
-            return c.newInstance(e);
-        } catch (NoSuchMethodException  | InvocationTargetException |
-                 IllegalAccessException | InstantiationException ex) {
+            return (RuntimeException) factory.invokeExact((Throwable) e);
+        } catch (Throwable ex) {
             throw new RuntimeException(
                     "Error calling constructor of class " +
                             exceptionClass + ": " + ex.getMessage());
         }
     }
+
+    private static MethodHandle constructor(
+            Class<?> exceptionClass, Class<?>... parameterTypes) {
+        if (Modifier.isAbstract(exceptionClass.getModifiers())) {
+            throw new IllegalArgumentException(
+                    "Cannot instantiate abstract class " + exceptionClass);
+        }
+        try {
+            Constructor<?> c =
+                    exceptionClass.getDeclaredConstructor(parameterTypes);
+            c.setAccessible(true);
+            MethodHandle h = MethodHandles.lookup().unreflectConstructor(c);
+            return h.asType(h.type().changeReturnType(RuntimeException.class));
+        } catch (NoSuchMethodException | IllegalAccessException |
+                 RuntimeException ex) {
+            throw new IllegalArgumentException("Class " + exceptionClass +
+                    " has no accessible constructor with parameters " +
+                    Arrays.toString(parameterTypes) +
+                    (parameterTypes.length == 1 ? "" :
+                            ", so it cannot be created without a stack trace"),
+                    ex);
+        }
+    }
+
+    private static String message(Throwable cause) {
+        return cause == null ? null : cause.toString();
+    }
+
+    // Exceptions which don't capture the stack trace
+
+    private static final class StacklessException extends RuntimeException {
+
+        StacklessException(Throwable cause) {
+            super(message(cause), cause, true, false);
+        }
+    }
+
+    private static final class StacklessUncheckedIOException
+            extends UncheckedIOException {
+
+        StacklessUncheckedIOException(IOException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
 }
@@ -0,0 +1,133 @@
+package mytools.function.object;
+
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * A thread safe counterpart of {@link Holder}, which may be updated
+ * atomically from parallel code.
+ *
+ * <p>The value is compared by reference in {@link #compareAndSet} and
+ * update functions. Update functions may be called more than once when
+ * threads contend, so they should be free of side effects.
+ *
+ * <p>The value is padded with 64 bytes on both sides, so that a holder
+ * which is updated frequently does not slow down access to unrelated data
+ * on the same cache line. The padding relies on the field layout of
+ * HotSpot, which is checked by the tests, and is not guaranteed by the
+ * JVM specification.
+ *
+ * <p>All the methods are lock-free, except {@link #computeIfAbsent}, which
+ * blocks while another thread initializes the value.
+ */
+public final class AtomicHolder<T> extends AtomicHolderValue {
+
+    @SuppressWarnings("unused")
+    private long p11;
+    @SuppressWarnings("unused")
+    private long p12;
+    @SuppressWarnings("unused")
+    private long p13;
+    @SuppressWarnings("unused")
+    private long p14;
+    @SuppressWarnings("unused")
+    private long p15;
+    @SuppressWarnings("unused")
+    private long p16;
+    @SuppressWarnings("unused")
+    private long p17;
+    @SuppressWarnings("unused")
+    private long p18;
+
+    private final Object initLock = new Object();
+
+    public AtomicHolder() {
+        this(null);
+    }
+
+    public AtomicHolder(T obj) {
+        super(obj);
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get() {
+        return (T) VALUE.getVolatile(this);
+    }
+
+    public void set(T obj) {
+        VALUE.setVolatile(this, obj);
+    }
+
+    @SuppressWarnings("unchecked")
+    public T getAndSet(T obj) {
+        return (T) VALUE.getAndSet(this, obj);
+    }
+
+    /**
+     * Set the value to {@code update} if the current value is
+     * {@code expect}.
+     *
+     * @return true if the value was set
+     */
+    public boolean compareAndSet(T expect, T update) {
+        return VALUE.compareAndSet(this, expect, update);
+    }
+
+    public T getAndUpdate(UnaryOperator<T> f) {
+        T prev;
+        do {
+            prev = get();
+        } while (!compareAndSet(prev, f.apply(prev)));
+        return prev;
+    }
+
+    public T updateAndGet(UnaryOperator<T> f) {
+        T prev;
+        T next;
+        do {
+            prev = get();
+            next = f.apply(prev);
+        } while (!compareAndSet(prev, next));
+        return next;
+    }
+
+    public T getAndAccumulate(T x, BinaryOperator<T> f) {
+        return getAndUpdate(prev -> f.apply(prev, x));
+    }
+
+    public T accumulateAndGet(T x, BinaryOperator<T> f) {
+        return updateAndGet(prev -> f.apply(prev, x));
+    }
+
+    /**
+     * Get the value, initializing it with the given supplier if it is
+     * {@code null}. The supplier is called at most once, even if several
+     * threads call this method at the same time, and the other threads wait
+     * for the value. Once the value is set, this method does not block.
+     *
+     * <p>If the supplier returns {@code null}, the holder stays empty, and
+     * the next call will call the supplier again.
+     */
+    public T computeIfAbsent(Supplier<? extends T> supplier) {
+        T v = get();
+        if (v == null) {
+            synchronized (initLock) {
+                v = get();
+                if (v == null) {
+                    v = supplier.get();
+                    if (!compareAndSet(null, v)) {
+                        v = get();
+                    }
+                }
+            }
+        }
+        return v;
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(get());
+    }
+
+}
@@ -0,0 +1,31 @@
+package mytools.function.object;
+
+/**
+ * Padding in front of the value of {@link AtomicHolder}. The fields of a
+ * superclass are laid out before the fields of its subclasses, but since
+ * JDK 15 a subclass field may be placed in a gap which the superclass
+ * leaves, such as the 4 bytes after a 12 byte object header. The padding
+ * is made of {@code int} fields for this reason: they fill the object from
+ * the end of the header on, whatever its size, and leave no gap in which
+ * the value could be placed. The 64 bytes of padding keep the value off
+ * the cache line of the header and of the object in front of it.
+ */
+@SuppressWarnings("unused")
+abstract class AtomicHolderPadding {
+    private int p01;
+    private int p02;
+    private int p03;
+    private int p04;
+    private int p05;
+    private int p06;
+    private int p07;
+    private int p08;
+    private int p09;
+    private int p10;
+    private int p11;
+    private int p12;
+    private int p13;
+    private int p14;
+    private int p15;
+    private int p16;
+}
@@ -0,0 +1,29 @@
+package mytools.function.object;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * The value of {@link AtomicHolder}, placed between the padding fields.
+ *
+ * @see AtomicHolderPadding
+ */
+abstract class AtomicHolderValue extends AtomicHolderPadding {
+
+    static final VarHandle VALUE;
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(
+                    AtomicHolderValue.class, "value", Object.class);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private volatile Object value;
+
+    AtomicHolderValue(Object value) {
+        this.value = value;
+    }
+}
@@ -0,0 +1,61 @@
+package mytools.function.object;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread safe counterpart of {@link Counter}, which may be updated from
+ * parallel streams or concurrently running callbacks.
+ *
+ * <p>Updates are spread over several cells, as in {@link LongAdder}, so that
+ * concurrent threads rarely contend. Reading the value sums the cells without
+ * blocking the writers. The result is not an atomic snapshot: updates made
+ * concurrently with the read may or may not be reflected in it.
+ *
+ * <p>{@link #reset()} and {@link #getAndReset()} never lose updates. An update
+ * made concurrently with a reset is counted either before or after it.
+ * Operations which return the updated value, such as
+ * {@code incrementAndGet()}, are not provided, since they would require all
+ * threads to update a single variable.
+ */
+public final class ConcurrentCounter {
+
+    private final LongAdder adder = new LongAdder();
+    private final int initValue;
+
+    public ConcurrentCounter(int initValue) {
+        this.initValue = initValue;
+    }
+
+    public ConcurrentCounter() {
+        this(0);
+    }
+
+    public void add(int increment) {
+        adder.add(increment);
+    }
+
+    public void increment() {
+        adder.increment();
+    }
+
+    public void decrement() {
+        adder.decrement();
+    }
+
+    public void reset() {
+        adder.sumThenReset();
+    }
+
+    public int get() {
+        return (int) (initValue + adder.sum());
+    }
+
+    public int getAndReset() {
+        return (int) (initValue + adder.sumThenReset());
+    }
+
+    @Override
+    public String toString() {
+        return Integer.toString(get());
+    }
+}
@@ -0,0 +1,61 @@
+package mytools.function.object;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread safe counterpart of {@link LongCounter}, which may be updated from
+ * parallel streams or concurrently running callbacks.
+ *
+ * <p>Updates are spread over several cells, as in {@link LongAdder}, so that
+ * concurrent threads rarely contend. Reading the value sums the cells without
+ * blocking the writers. The result is not an atomic snapshot: updates made
+ * concurrently with the read may or may not be reflected in it.
+ *
+ * <p>{@link #reset()} and {@link #getAndReset()} never lose updates. An update
+ * made concurrently with a reset is counted either before or after it.
+ * Operations which return the updated value, such as
+ * {@code incrementAndGet()}, are not provided, since they would require all
+ * threads to update a single variable.
+ */
+public final class ConcurrentLongCounter {
+
+    private final LongAdder adder = new LongAdder();
+    private final long initValue;
+
+    public ConcurrentLongCounter(long initValue) {
+        this.initValue = initValue;
+    }
+
+    public ConcurrentLongCounter() {
+        this(0);
+    }
+
+    public void add(long increment) {
+        adder.add(increment);
+    }
+
+    public void increment() {
+        adder.increment();
+    }
+
+    public void decrement() {
+        adder.decrement();
+    }
+
+    public void reset() {
+        adder.sumThenReset();
+    }
+
+    public long get() {
+        return initValue + adder.sum();
+    }
+
+    public long getAndReset() {
+        return initValue + adder.sumThenReset();
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(get());
+    }
+}
@@ -0,0 +1,165 @@
+package mytools.function.decorator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import mytools.function.BiFunctionWithException;
+import mytools.function.FunctionWithException;
+
+public class DecoratorsTest {
+
+    /*
+     * Records entering the decorated function.
+     */
+    private static class TraceDecorator<T, U, R> implements Decorator<T, U, R> {
+
+        private final String name;
+        private final List<String> trace;
+
+        TraceDecorator(String name, List<String> trace) {
+            this.name = name;
+            this.trace = trace;
+        }
+
+        @Override
+        public BiFunction<T, U, R> decorate(BiFunction<T, U, R> f) {
+            return (t, u) -> {
+                trace.add(name);
+                return f.apply(t, u);
+            };
+        }
+    }
+
+    /*
+     * Calls the function once more if it throws.
+     */
+    private static class RetryOnce<T, U, R, E extends Exception>
+        implements DecoratorWithException<T, U, R, E> {
+
+        @Override
+        public BiFunctionWithException<T, U, R, E> decorate(
+                BiFunctionWithException<T, U, R, E> f) {
+            return (t, u) -> {
+                try {
+                    return f.apply(t, u);
+                } catch (Exception e) {
+                    return f.apply(t, u);
+                }
+            };
+        }
+    }
+
+    /*
+     * Decorates functions directly, and records which way was used.
+     */
+    private static class NativeDecorator<T, U, R>
+        extends TraceDecorator<T, U, R> {
+
+        private final List<String> trace;
+
+        NativeDecorator(List<String> trace) {
+            super("bifunction", trace);
+            this.trace = trace;
+        }
+
+        @Override
+        public Function<T, R> decorate(Function<T, R> f) {
+            return t -> {
+                trace.add("function");
+                return f.apply(t);
+            };
+        }
+    }
+
+    @Test
+    public void chainAppliesFirstDecoratorOutermost() {
+        List<String> chained = new ArrayList<>();
+        Function<Integer, Integer> f = Decorators.<Integer, Object, Integer>
+                chain(new TraceDecorator<>("a", chained),
+                      new TraceDecorator<>("b", chained),
+                      new TraceDecorator<>("c", chained))
+                .decorate(i -> i + 1);
+        assertEquals(2, f.apply(1));
+
+        List<String> nested = new ArrayList<>();
+        Function<Integer, Integer> g =
+                new TraceDecorator<Integer, Object, Integer>("a", nested)
+                .decorate(new TraceDecorator<Integer, Object, Integer>(
+                        "b", nested)
+                .decorate(new TraceDecorator<Integer, Object, Integer>(
+                        "c", nested)
+                .decorate(i -> i + 1)));
+        assertEquals(2, g.apply(1));
+
+        assertEquals(Arrays.asList("a", "b", "c"), chained);
+        assertEquals(nested, chained);
+    }
+
+    @Test
+    public void chainDecoratorsWithException() throws IOException {
+        List<Integer> calls = new ArrayList<>();
+        FunctionWithException<Integer, Integer, IOException> failsTwice =
+                i -> {
+                    calls.add(i);
+                    if (calls.size() <= 2) {
+                        throw new IOException("fail " + calls.size());
+                    }
+                    return i;
+                };
+
+        DecoratorWithException<Integer, Object, Integer, IOException> d =
+                Decorators.chain(new RetryOnce<>(), new RetryOnce<>());
+        assertEquals(1, d.decorate(failsTwice).apply(1));
+
+        calls.clear();
+        Function<Integer, Integer> single = Decorators.chain(
+                new RetryOnce<Integer, Object, Integer, IOException>())
+                .decorate((Function<Integer, Integer>) i -> {
+                    calls.add(i);
+                    throw new IllegalStateException();
+                });
+        assertThrows(IllegalStateException.class, () -> single.apply(1));
+        assertEquals(2, calls.size());
+    }
+
+    @Test
+    public void chainUsesShapeSpecificDecorate() {
+        List<String> trace = new ArrayList<>();
+        Decorator<Integer, Object, Integer> d1 = new NativeDecorator<>(trace);
+        Decorator<Integer, Object, Integer> d2 = new NativeDecorator<>(trace);
+        Function<Integer, Integer> f = Decorators.chain(d1, d2)
+                .decorate(i -> i + 1);
+        assertEquals(2, f.apply(1));
+        assertEquals(Arrays.asList("function", "function"), trace);
+
+        // one decorator without the shape specific method
+        trace.clear();
+        Decorator<Integer, Object, Integer> d3 =
+                new TraceDecorator<>("bifunction", trace);
+        Function<Integer, Integer> g = Decorators.chain(d1, d3)
+                .decorate(i -> i + 1);
+        assertEquals(2, g.apply(1));
+        assertEquals(Arrays.asList("bifunction", "bifunction"), trace);
+    }
+
+    @Test
+    public void chainOfOneIsTheDecorator() {
+        Decorator<Integer, Object, Integer> d =
+                new TraceDecorator<>("d", new ArrayList<>());
+        assertSame(d, Decorators.chain(d));
+        DecoratorWithException<Integer, Object, Integer, IOException> r =
+                new RetryOnce<>();
+        assertSame(r, Decorators.chain(r));
+    }
+
+}
@@ -1,21 +1,43 @@
 package mytools.function.decorator.exception;
 
 import static mytools.function.decorator.exception.ExceptionDecorators.safe;
+import static mytools.function.decorator.exception.ExceptionDecorators.safeAsync;
 import static mytools.function.decorator.exception.ExceptionDecorators.safely;
 import static mytools.function.decorator.exception.ExceptionDecorators.uncheck;
 import static mytools.function.decorator.exception.ExceptionDecorators.unchecked;
+import static mytools.function.decorator.exception.ExceptionDecorators.uncheckedAsync;
+import static mytools.function.decorator.exception.ExceptionDecorators.uncheckedDoubleSupplier;
+import static mytools.function.decorator.exception.ExceptionDecorators.uncheckedIntUnaryOperator;
+import static mytools.function.decorator.exception.ExceptionDecorators.uncheckedToLongFunction;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
 import org.junit.jupiter.api.Test;
 
 import mytools.function.BiConsumerWithException;
 import mytools.function.BiFunctionWithException;
+import mytools.function.Conversions;
 import mytools.function.ConsumerWithException;
+import mytools.function.DoubleSupplierWithException;
 import mytools.function.FunctionWithException;
+import mytools.function.IntUnaryOperatorWithException;
 import mytools.function.RunnableWithException;
 import mytools.function.SupplierWithException;
+import mytools.function.ToLongFunctionWithException;
 import mytools.function.object.Counter;
 
 /**
@@ -23,6 +45,9 @@ import mytools.function.object.Counter;
  */
 public class ExceptionDecoratorsTest {
 
+    private static final int NUM_CAUGHT = 3;
+    private static final int ANSWER = 42;
+
     @Test
     public void testUnchecked() {
         int expectedCounterValue = 0;
@@ -150,6 +175,174 @@ public class ExceptionDecoratorsTest {
 
     }
 
+    @Test
+    public void testSafeWithListener() {
+        List<Exception> caught = new ArrayList<>();
+
+        assertNull(safely(() -> {
+            throwMyException();
+            return "Hello, World";
+        }, caught::add));
+
+        assertNull(safe((Integer i) -> {
+            throwMyException();
+            return i.toString();
+        }, caught::add, MyRuntimeException.class).apply(1));
+
+        assertNull(safe((Integer i, Integer j) -> {
+            throwMyException();
+            return i * j;
+        }, caught::add).apply(1, 2));
+
+        assertEquals(NUM_CAUGHT, caught.size());
+        assertTrue(caught.stream().allMatch(
+                e -> e instanceof MyRuntimeException));
+
+        // exceptions which are re-thrown are not passed to the listener
+        assertThrows(MyRuntimeException.class, () -> safe(() -> {
+            throwMyException();
+            return "Hello, World";
+        }, caught::add, IllegalStateException.class).get());
+        assertEquals(NUM_CAUGHT, caught.size());
+    }
+
+    @Test
+    public void testUncheckedWithoutStackTrace() {
+        IOException cause = new IOException("io");
+        RunnableWithException<IOException> f = () -> {
+            throw cause;
+        };
+        Runnable r = unchecked(MyRuntimeException.class, false, f);
+        MyRuntimeException e = assertThrows(MyRuntimeException.class, r::run);
+        assertEquals(cause, e.getCause());
+        assertEquals(cause.toString(), e.getMessage());
+        assertEquals(0, e.getStackTrace().length);
+
+        e = assertThrows(MyRuntimeException.class, () ->
+                uncheck(MyRuntimeException.class, true, f));
+        assertEquals(cause, e.getCause());
+        assertTrue(e.getStackTrace().length > 0);
+    }
+
+    @Test
+    public void testUncheckedRuntimeExceptionWithoutStackTrace() {
+        IOException cause = new IOException("io");
+        RunnableWithException<IOException> f = () -> {
+            throw cause;
+        };
+        RuntimeException e = assertThrows(RuntimeException.class,
+                unchecked(RuntimeException.class, false, f)::run);
+        assertEquals(cause, e.getCause());
+        assertEquals(cause.toString(), e.getMessage());
+        assertEquals(0, e.getStackTrace().length);
+
+        UncheckedIOException io = assertThrows(UncheckedIOException.class,
+                unchecked(null, false, f)::run);
+        assertEquals(cause, io.getCause());
+        assertEquals(0, io.getStackTrace().length);
+
+        e = assertThrows(RuntimeException.class, unchecked(null, false,
+                (RunnableWithException<Exception>) () -> {
+                    throw new Exception("checked");
+                })::run);
+        assertEquals("checked", e.getCause().getMessage());
+        assertEquals(0, e.getStackTrace().length);
+
+        // unchecked exceptions are re-thrown as they are
+        MyRuntimeException my = new MyRuntimeException("unchecked");
+        assertTrue(my == assertThrows(MyRuntimeException.class,
+                unchecked(null, false, (RunnableWithException<Exception>)
+                        () -> {
+                            throw my;
+                        })::run));
+
+        io = assertThrows(UncheckedIOException.class,
+                unchecked(null, true, f)::run);
+        assertTrue(io.getStackTrace().length > 0);
+    }
+
+    @Test
+    public void testUncheckedWithInvalidExceptionClass() {
+        IllegalArgumentException e = assertThrows(
+                IllegalArgumentException.class, () ->
+                unchecked(IllegalStateException.class, false,
+                        Functions.runnable()));
+        assertTrue(e.getMessage().contains("without a stack trace"));
+        assertThrows(IllegalArgumentException.class, () ->
+                unchecked(AbstractRuntimeException.class,
+                        Functions.runnable()));
+    }
+
+    @Test
+    public void testUncheckedPrimitives() {
+        IntUnaryOperatorWithException<IOException> inc = i -> {
+            if (i < 0) {
+                throw new IOException("negative");
+            }
+            return i + 1;
+        };
+        IntUnaryOperator f = uncheckedIntUnaryOperator(inc);
+        assertEquals(2, f.applyAsInt(1));
+        assertEquals("negative", assertThrows(UncheckedIOException.class,
+                () -> f.applyAsInt(-1)).getCause().getMessage());
+
+        ToLongFunctionWithException<String, Exception> parse = Long::parseLong;
+        assertEquals(1L, uncheckedToLongFunction(parse).applyAsLong("1"));
+
+        DoubleSupplierWithException<Exception> fail = () -> {
+            throw new Exception("foo");
+        };
+        assertEquals("foo", assertThrows(MyRuntimeException.class,
+                uncheckedDoubleSupplier(MyRuntimeException.class, fail)
+                        ::getAsDouble)
+                .getCause().getMessage());
+    }
+
+    @Test
+    public void testUncheckedLambdas() {
+        // lambdas which also fit primitive functions still resolve to the
+        // generic overloads
+        Supplier<Integer> s = unchecked(() -> ANSWER);
+        assertEquals(ANSWER, s.get());
+        Function<String, Integer> f = unchecked((String str) -> str.length());
+        assertEquals(2, f.apply("ab"));
+        SupplierWithException<Integer, Exception> se =
+                Conversions.withException(() -> ANSWER);
+        FunctionWithException<String, Integer, Exception> fe =
+                Conversions.withException((String str) -> str.length());
+        assertEquals(2, unchecked(fe).apply("ab"));
+        assertEquals(ANSWER, unchecked(se).get());
+
+        IntUnaryOperator inc = uncheckedIntUnaryOperator(i -> i + 1);
+        assertEquals(2, inc.applyAsInt(1));
+    }
+
+    @Test
+    public void testAsync() {
+        Function<Integer, CompletionStage<Integer>> f = i -> i < 0 ?
+                CompletableFuture.failedFuture(new IOException("negative")) :
+                CompletableFuture.completedFuture(i + 1);
+
+        assertEquals(2, uncheckedAsync(f).apply(1)
+                .toCompletableFuture().join());
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> uncheckedAsync(MyRuntimeException.class, f).apply(-1)
+                        .toCompletableFuture().join());
+        assertTrue(e.getCause() instanceof MyRuntimeException);
+        assertEquals("negative", e.getCause().getCause().getMessage());
+
+        assertNull(safeAsync(f).apply(-1).toCompletableFuture().join());
+        assertThrows(CompletionException.class,
+                () -> safeAsync(f, IllegalStateException.class).apply(-1)
+                        .toCompletableFuture().join());
+
+        // exceptions thrown instead of returning a stage are handled too
+        Supplier<CompletionStage<Integer>> s = () -> {
+            throw new IllegalStateException();
+        };
+        assertNull(safeAsync(s).get().toCompletableFuture().join());
+    }
+
     private static void testUnchecked(int expectedCounterValue, Runnable r) {
         try {
             r.run();
@@ -189,6 +382,19 @@ class MyRuntimeException extends RuntimeException {
     MyRuntimeException(Throwable cause) {
         super(cause);
     }
+
+    // used when the stack trace is not writable
+    MyRuntimeException(String message, Throwable cause,
+            boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
+
+@SuppressWarnings("serial")
+abstract class AbstractRuntimeException extends RuntimeException {
+    AbstractRuntimeException(Throwable cause) {
+        super(cause);
+    }
 }
 
 final class Functions {
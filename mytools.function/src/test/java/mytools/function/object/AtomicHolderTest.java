@@ -0,0 +1,137 @@
+package mytools.function.object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class AtomicHolderTest {
+
+    private static final Integer FOURTY_TWO = 42;
+    private static final Integer FOURTY_THREE = 43;
+    private static final int TIMES = 10_000;
+    private static final int THREADS = 8;
+    private static final long CACHE_LINE = 64;
+
+    @Test
+    public void constructor() {
+        assertNull(new AtomicHolder<>().get());
+        assertEquals(FOURTY_TWO, new AtomicHolder<>(FOURTY_TWO).get());
+    }
+
+    @Test
+    public void getAndSet() {
+        AtomicHolder<Integer> h = new AtomicHolder<>(FOURTY_TWO);
+        assertEquals(FOURTY_TWO, h.getAndSet(FOURTY_THREE));
+        assertEquals(FOURTY_THREE, h.get());
+    }
+
+    @Test
+    public void compareAndSet() {
+        AtomicHolder<Integer> h = new AtomicHolder<>(FOURTY_TWO);
+        assertFalse(h.compareAndSet(FOURTY_THREE, FOURTY_TWO));
+        assertTrue(h.compareAndSet(FOURTY_TWO, FOURTY_THREE));
+        assertEquals(FOURTY_THREE, h.get());
+    }
+
+    @Test
+    public void updateAndAccumulate() {
+        AtomicHolder<Integer> h = new AtomicHolder<>(FOURTY_TWO);
+        assertEquals(FOURTY_THREE, h.updateAndGet(i -> i + 1));
+        assertEquals(FOURTY_THREE, h.getAndUpdate(i -> i - 1));
+        assertEquals(FOURTY_TWO, h.getAndAccumulate(1, Integer::sum));
+        assertEquals(FOURTY_TWO, h.accumulateAndGet(-1, Integer::sum));
+    }
+
+    @Test
+    public void concurrentUpdates() {
+        AtomicHolder<Integer> h = new AtomicHolder<>(0);
+        IntStream.range(0, TIMES).parallel()
+                .forEach(i -> h.accumulateAndGet(1, Integer::sum));
+        assertEquals(TIMES, h.get());
+    }
+
+    @Test
+    public void computeIfAbsentOnce() throws InterruptedException {
+        AtomicHolder<Object> h = new AtomicHolder<>();
+        ConcurrentCounter calls = new ConcurrentCounter();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Object> results = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Thread t = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                Object v = h.computeIfAbsent(() -> {
+                    calls.increment();
+                    return new Object();
+                });
+                synchronized (results) {
+                    results.add(v);
+                }
+            });
+            threads.add(t);
+            t.start();
+        }
+        start.countDown();
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        assertEquals(1, calls.get());
+        assertEquals(THREADS, results.size());
+        results.forEach(v -> assertSame(h.get(), v));
+    }
+
+    @Test
+    public void computeIfAbsentNull() {
+        AtomicHolder<Integer> h = new AtomicHolder<>();
+        assertNull(h.computeIfAbsent(() -> null));
+        assertEquals(FOURTY_TWO, h.computeIfAbsent(() -> FOURTY_TWO));
+        assertEquals(FOURTY_TWO, h.computeIfAbsent(() -> FOURTY_THREE));
+    }
+
+    @Test
+    public void valueIsPadded() throws Exception {
+        Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+        Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+        theUnsafe.setAccessible(true);
+        Object unsafe = theUnsafe.get(null);
+        Method offset = unsafeClass.getMethod("objectFieldOffset",
+                Field.class);
+
+        long value = (long) offset.invoke(unsafe,
+                AtomicHolderValue.class.getDeclaredField("value"));
+        long before = Long.MAX_VALUE;
+        for (Field f : AtomicHolderPadding.class.getDeclaredFields()) {
+            long o = (long) offset.invoke(unsafe, f);
+            assertTrue(o < value, f.getName());
+            before = Math.min(before, o);
+        }
+        long after = Long.MAX_VALUE;
+        long end = 0;
+        for (Field f : AtomicHolder.class.getDeclaredFields()) {
+            if (f.getType() == long.class) {
+                long o = (long) offset.invoke(unsafe, f);
+                assertTrue(o > value, f.getName());
+                after = Math.min(after, o);
+                end = Math.max(end, o + Long.BYTES);
+            }
+        }
+        assertTrue(value - before >= CACHE_LINE);
+        assertTrue(end - after >= CACHE_LINE);
+    }
+}
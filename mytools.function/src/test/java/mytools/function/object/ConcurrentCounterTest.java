@@ -0,0 +1,60 @@
+package mytools.function.object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentCounterTest {
+
+    private static final int FOURTY_TWO = 42;
+    private static final int TIMES = 100_000;
+
+    @Test
+    public void constructor() {
+        assertEquals(0, new ConcurrentCounter().get());
+        assertEquals(FOURTY_TWO, new ConcurrentCounter(FOURTY_TWO).get());
+    }
+
+    @Test
+    public void incrementAndDecrement() {
+        ConcurrentCounter c = new ConcurrentCounter();
+        c.increment();
+        c.increment();
+        c.decrement();
+        assertEquals(1, c.get());
+    }
+
+    @Test
+    public void add() {
+        ConcurrentCounter c = new ConcurrentCounter(1);
+        c.add(FOURTY_TWO);
+        assertEquals(FOURTY_TWO + 1, c.get());
+    }
+
+    @Test
+    public void reset() {
+        ConcurrentCounter c = new ConcurrentCounter(FOURTY_TWO);
+        c.increment();
+        assertEquals(FOURTY_TWO + 1, c.getAndReset());
+        assertEquals(FOURTY_TWO, c.get());
+        c.increment();
+        c.reset();
+        assertEquals(FOURTY_TWO, c.get());
+    }
+
+    @Test
+    public void concurrentUpdates() {
+        ConcurrentCounter c = new ConcurrentCounter();
+        ConcurrentCounter drained = new ConcurrentCounter();
+        IntStream.range(0, TIMES).parallel().forEach(i -> {
+            c.increment();
+            if (i % FOURTY_TWO == 0) {
+                drained.add(c.getAndReset());
+            }
+        });
+        assertEquals(TIMES, drained.get() + c.get());
+    }
+
+}
@@ -1,3 +1,4 @@
 module mytools.reflection {
+    requires mytools.strinparser;
     exports mytools.reflection;
 }
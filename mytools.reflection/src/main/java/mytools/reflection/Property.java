@@ -0,0 +1,110 @@
+package mytools.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+
+/**
+ * A property of a class, backed by an instance field.
+ *
+ * <p>The property is read with a getter method ({@code getX()}, {@code isX()}
+ * or, for records, {@code x()}) if the class declares one, or directly from
+ * the field otherwise. Likewise, it is written with a {@code setX(...)}
+ * method, or directly to the field if it is not final.
+ *
+ * <p>The accessors are method handles prepared once, when the class is first
+ * introspected, so reading and writing a property does no reflective lookups.
+ *
+ * @see Reflections#properties(Class)
+ */
+public final class Property {
+
+    private final Field field;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+
+    /**
+     * Create a property.
+     *
+     * @param field  the backing field
+     * @param getter a {@code (Object)Object} method handle which reads
+     *               the property
+     * @param setter a {@code (Object,Object)void} method handle which writes
+     *               the property, or {@code null} if the property is read-only
+     */
+    public Property(Field field, MethodHandle getter, MethodHandle setter) {
+        this.field = field;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    public String getName() {
+        return field.getName();
+    }
+
+    public Class<?> getType() {
+        return field.getType();
+    }
+
+    public Type getGenericType() {
+        return field.getGenericType();
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * Get a {@code (Object)Object} method handle which reads the property.
+     */
+    public MethodHandle getGetter() {
+        return getter;
+    }
+
+    /**
+     * Get a {@code (Object,Object)void} method handle which writes
+     * the property, or {@code null} if the property is read-only.
+     */
+    public MethodHandle getSetter() {
+        return setter;
+    }
+
+    public boolean isWritable() {
+        return setter != null;
+    }
+
+    /**
+     * Read the property of the given object.
+     */
+    public Object get(Object obj) {
+        try {
+            return (Object) getter.invokeExact(obj);
+        } catch (Throwable e) {
+            throw Reflections.propagate(e);
+        }
+    }
+
+    /**
+     * Write the property of the given object.
+     *
+     * @throws UnsupportedOperationException if the property is read-only
+     */
+    public void set(Object obj, Object value) {
+        if (setter == null) {
+            throw new UnsupportedOperationException("Property " + getName() +
+                    " of " + field.getDeclaringClass().getName() +
+                    " is read-only");
+        }
+        try {
+            setter.invokeExact(obj, value);
+        } catch (Throwable e) {
+            throw Reflections.propagate(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return field.getDeclaringClass().getName() + "." + getName();
+    }
+
+}
@@ -1,5 +1,141 @@
 package mytools.reflection;
 
-public class Reflections {
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+import java.util.Map;
+
+import mytools.reflection.impl.ClassInfo;
+
+/**
+ * This class contains functions which access constructors and properties of
+ * objects reflectively.
+ *
+ * <p>A class is introspected once, on first access. Its properties and
+ * constructors are cached as method handles in a {@code ClassValue}, so
+ * repeated access costs about as much as a direct call, and the cache does not
+ * prevent classes from being unloaded.
+ *
+ * <p>If a class is in a named module, its package must be open to
+ * the {@code mytools.reflection} module.
+ *
+ * <pre>
+ * {@code
+ *  Property price = Reflections.property(Trade.class, "price");
+ *  for (Trade t : trades) {
+ *      total = total.add((BigDecimal) price.get(t));
+ *  }
+ * }
+ * </pre>
+ */
+public final class Reflections {
+
+    private Reflections() { }
+
+    /**
+     * Get the properties of the given class and its superclasses,
+     * superclass properties first.
+     *
+     * <p>The properties of a record are in the order of its components.
+     * The properties of other classes are in the order of
+     * {@link Class#getDeclaredFields()}, which is the order of declaration
+     * in OpenJDK, but is not specified, so code which must not depend on
+     * the JVM should look properties up by name.
+     *
+     * @return an unmodifiable map of properties by name
+     * @see Property
+     */
+    public static Map<String, Property> properties(Class<?> klass) {
+        return ClassInfo.of(klass).getProperties();
+    }
+
+    /**
+     * Get the names of the components of the given record, in the order of
+     * the parameters of its canonical constructor.
+     *
+     * @throws IllegalArgumentException if the class is not a record
+     */
+    public static List<String> recordComponents(Class<?> klass) {
+        List<String> components = ClassInfo.of(klass).getRecordComponents();
+        if (components == null) {
+            throw new IllegalArgumentException(
+                    "Class " + klass.getName() + " is not a record");
+        }
+        return components;
+    }
+
+    /**
+     * Get a property of the given class.
+     *
+     * @throws IllegalArgumentException if the class has no such property
+     */
+    public static Property property(Class<?> klass, String name) {
+        Property p = properties(klass).get(name);
+        if (p == null) {
+            throw new IllegalArgumentException(
+                    "Class " + klass.getName() + " has no property " + name);
+        }
+        return p;
+    }
+
+    /**
+     * Read a property of the given object.
+     */
+    public static Object get(Object obj, String property) {
+        return property(obj.getClass(), property).get(obj);
+    }
+
+    /**
+     * Write a property of the given object.
+     */
+    public static void set(Object obj, String property, Object value) {
+        property(obj.getClass(), property).set(obj, value);
+    }
+
+    /**
+     * Get a method handle for the constructor with the given parameter types.
+     * The type of the method handle is exactly
+     * {@code (parameterTypes)klass}.
+     *
+     * @throws IllegalArgumentException if there is no such constructor
+     */
+    public static MethodHandle constructor(
+            Class<?> klass, Class<?>... parameterTypes) {
+        return ClassInfo.of(klass).constructor(parameterTypes);
+    }
+
+    /**
+     * Create an instance of the given class with its no-argument constructor.
+     *
+     * @throws IllegalArgumentException if there is no such constructor
+     */
+    public static <T> T newInstance(Class<T> klass) {
+        try {
+            return klass.cast(
+                    (Object) ClassInfo.of(klass).defaultConstructor()
+                            .invokeExact());
+        } catch (Throwable e) {
+            throw propagate(e);
+        }
+    }
+
+    /**
+     * Check if the given class is a record.
+     */
+    public static boolean isRecord(Class<?> klass) {
+        return ClassInfo.isRecord(klass);
+    }
+
+    /**
+     * Rethrow unchecked exceptions and errors thrown by a method handle as is,
+     * wrap checked exceptions.
+     */
+    static RuntimeException propagate(Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        } else if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new RuntimeException(e);
+    }
 
 }
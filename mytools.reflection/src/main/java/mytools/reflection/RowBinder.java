@@ -0,0 +1,208 @@
+package mytools.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import mytools.stringparser.StringParser;
+import mytools.stringparser.StringParsers;
+
+/**
+ * Binds rows of strings, such as CSV lines or query results, to objects.
+ *
+ * <p>A binder introspects the target class once, when it is created.
+ * It resolves a parser for every bound property with
+ * {@link StringParsers#resolve(java.lang.reflect.Type)} and takes method
+ * handles for the constructor and the property setters from
+ * {@link Reflections}, so that binding a row does no reflective lookups.
+ *
+ * <p>The target class may be:
+ * <ul>
+ * <li>a class with a no-argument constructor (a POJO), in which case
+ * the parsed values are written to its writable properties</li>
+ * <li>a record, in which case the parsed values are passed to its canonical
+ * constructor, and components which are not bound get their default
+ * values</li>
+ * </ul>
+ *
+ * <p>If the class is in a named module, its package must be open to
+ * the {@code mytools.reflection} module.
+ *
+ * <pre>
+ * {@code
+ *  RowBinder<Trade> binder = RowBinder.of(Trade.class, "id", "price", null);
+ *  List<Trade> trades = binder.bind(rows);
+ * }
+ * </pre>
+ *
+ * <p>Binders are immutable and thread safe.
+ */
+public final class RowBinder<T> {
+
+    private final Class<T> klass;
+    private final String[] columns;
+    private final StringParser<?>[] parsers;
+
+    // POJOs: ()Object constructor and (Object,Object)void property setters
+    private final MethodHandle[] setters;
+
+    // records: (Object[])Object canonical constructor and argument positions
+    private final int[] arguments;
+    private final Object[] defaults;
+
+    private final MethodHandle constructor;
+
+    private RowBinder(Class<T> klass, String[] columns) {
+        this.klass = klass;
+        this.columns = columns.clone();
+
+        Map<String, Property> properties = Reflections.properties(klass);
+        boolean record = Reflections.isRecord(klass);
+        List<String> components =
+                record ? Reflections.recordComponents(klass) : null;
+
+        parsers = new StringParser<?>[columns.length];
+        setters = record ? null : new MethodHandle[columns.length];
+        arguments = record ? new int[columns.length] : null;
+
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i] == null) {
+                if (record) {
+                    arguments[i] = -1;
+                }
+                continue;
+            }
+            Property p = properties.get(columns[i]);
+            if (p == null || (!record && !p.isWritable())) {
+                throw new IllegalArgumentException("Class " +
+                        klass.getName() + " has no writable property " +
+                        columns[i]);
+            }
+            parsers[i] = StringParsers.resolve(p.getGenericType());
+            if (record) {
+                arguments[i] = components.indexOf(p.getName());
+            } else {
+                setters[i] = p.getSetter();
+            }
+        }
+
+        if (record) {
+            Class<?>[] types = components.stream()
+                    .map(name -> properties.get(name).getType())
+                    .toArray(Class<?>[]::new);
+            defaults = new Object[types.length];
+            for (int i = 0; i < types.length; i++) {
+                if (types[i].isPrimitive()) {
+                    defaults[i] = Array.get(Array.newInstance(types[i], 1), 0);
+                }
+            }
+            MethodHandle c = Reflections.constructor(klass, types);
+            constructor = c.asType(c.type().generic())
+                    .asSpreader(Object[].class, types.length);
+        } else {
+            defaults = null;
+            constructor = Reflections.constructor(klass)
+                    .asType(MethodType.methodType(Object.class));
+        }
+    }
+
+    /**
+     * Create a binder which maps row columns to the components of a record,
+     * in the order of the parameters of its canonical constructor, or to
+     * the properties of a POJO, in the order of
+     * {@link Reflections#properties(Class)}.
+     * Transient and read-only properties of POJOs are not bound.
+     */
+    public static <T> RowBinder<T> of(Class<T> klass) {
+        if (Reflections.isRecord(klass)) {
+            return new RowBinder<>(klass, Reflections.recordComponents(klass)
+                    .toArray(new String[0]));
+        }
+        List<String> names = new ArrayList<>();
+        Reflections.properties(klass).values().forEach(p -> {
+            if (p.isWritable() &&
+                    !Modifier.isTransient(p.getField().getModifiers())) {
+                names.add(p.getName());
+            }
+        });
+        return new RowBinder<>(klass, names.toArray(new String[0]));
+    }
+
+    /**
+     * Create a binder which maps row columns to the named properties of
+     * the given class. A {@code null} name skips the corresponding column.
+     *
+     * @throws IllegalArgumentException if the class cannot be instantiated,
+     *         or has no property with one of the given names, or if no parser
+     *         is available for a property type
+     */
+    public static <T> RowBinder<T> of(Class<T> klass, String... columns) {
+        return new RowBinder<>(klass, columns);
+    }
+
+    /**
+     * Create an object from the given row. The row may contain more
+     * columns than the binder uses, and extra columns are ignored.
+     *
+     * @throws IllegalArgumentException if the row is too short, or if
+     *         a value cannot be parsed
+     */
+    @SuppressWarnings("unchecked")
+    public T bind(String[] row) {
+        if (row.length < columns.length) {
+            throw new IllegalArgumentException("Row of length " +
+                    row.length + " has less than " + columns.length +
+                    " columns");
+        }
+        try {
+            if (setters == null) {
+                Object[] args = defaults.clone();
+                for (int i = 0; i < columns.length; i++) {
+                    if (arguments[i] >= 0) {
+                        args[arguments[i]] = parse(i, row[i]);
+                    }
+                }
+                return (T) constructor.invokeExact(args);
+            }
+
+            Object obj = (Object) constructor.invokeExact();
+            for (int i = 0; i < columns.length; i++) {
+                if (setters[i] != null) {
+                    setters[i].invokeExact(obj, parse(i, row[i]));
+                }
+            }
+            return (T) obj;
+        } catch (Throwable e) {
+            throw Reflections.propagate(e);
+        }
+    }
+
+    /**
+     * Create objects from the given rows.
+     */
+    public List<T> bind(List<String[]> rows) {
+        List<T> result = new ArrayList<>(rows.size());
+        for (String[] row : rows) {
+            result.add(bind(row));
+        }
+        return result;
+    }
+
+    public Class<T> getTargetClass() {
+        return klass;
+    }
+
+    private Object parse(int column, String s) {
+        try {
+            return parsers[column].parse(s);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cannot parse value '" + s +
+                    "' in column " + column + " (" + columns[column] + ")", e);
+        }
+    }
+
+}
@@ -0,0 +1,257 @@
+package mytools.reflection.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import mytools.reflection.Property;
+
+/**
+ * Everything the reflection facade knows about a class: its properties and
+ * the constructors requested so far. Class information is computed once
+ * per class and cached in a {@code ClassValue}, so it is released together
+ * with the class.
+ */
+public final class ClassInfo {
+
+    private static final ClassValue<ClassInfo> CACHE =
+            new ClassValue<ClassInfo>() {
+                @Override
+                protected ClassInfo computeValue(Class<?> type) {
+                    return new ClassInfo(type);
+                }
+            };
+
+    // Class.getRecordComponents() and RecordComponent.getName(), which are
+    // looked up at run time, since the module targets Java 11.
+    // They are null before Java 16.
+    private static final MethodHandle RECORD_COMPONENTS;
+    private static final MethodHandle COMPONENT_NAME;
+
+    static {
+        MethodHandle components;
+        MethodHandle name;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            components = lookup.unreflect(
+                    Class.class.getMethod("getRecordComponents"));
+            name = lookup.unreflect(
+                    Class.forName("java.lang.reflect.RecordComponent")
+                            .getMethod("getName"));
+        } catch (ReflectiveOperationException e) {
+            components = null;
+            name = null;
+        }
+        RECORD_COMPONENTS = components;
+        COMPONENT_NAME = name;
+    }
+
+    private static final MethodType GETTER =
+            MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER =
+            MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<?> klass;
+    private final MethodHandles.Lookup lookup;
+    private final Map<String, Property> properties;
+    private final List<String> recordComponents;
+    private final Map<MethodType, MethodHandle> constructors =
+            new ConcurrentHashMap<>();
+
+    private volatile MethodHandle defaultConstructor;
+
+    private ClassInfo(Class<?> klass) {
+        this.klass = klass;
+        this.lookup = lookup(klass);
+        this.recordComponents = recordComponents(klass);
+        Map<String, Property> props = new LinkedHashMap<>();
+        collectProperties(props);
+        this.properties = Collections.unmodifiableMap(props);
+    }
+
+    /**
+     * Get (cached) information about the given class.
+     *
+     * @throws IllegalArgumentException if the class is in a package which
+     *         is not open to this module
+     */
+    public static ClassInfo of(Class<?> klass) {
+        return CACHE.get(klass);
+    }
+
+    /**
+     * Properties of the class and its superclasses, in the order described
+     * in {@link mytools.reflection.Reflections#properties(Class)}.
+     * Properties of superclasses in packages which are not open to this
+     * module are not included.
+     */
+    public Map<String, Property> getProperties() {
+        return properties;
+    }
+
+    /**
+     * Names of the record components, in the order of the parameters of
+     * the canonical constructor, or {@code null} if the class is not
+     * a record.
+     */
+    public List<String> getRecordComponents() {
+        return recordComponents;
+    }
+
+    /**
+     * Get a constructor method handle of the exact type
+     * {@code (parameterTypes)klass}.
+     */
+    public MethodHandle constructor(Class<?>... parameterTypes) {
+        MethodType type = MethodType.methodType(void.class, parameterTypes);
+        MethodHandle c = constructors.get(type);
+        if (c == null) {
+            try {
+                c = lookup.findConstructor(klass, type);
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                throw new IllegalArgumentException("Class " +
+                        klass.getName() + " has no accessible constructor " +
+                        type.parameterList(), e);
+            }
+            MethodHandle existing = constructors.putIfAbsent(type, c);
+            if (existing != null) {
+                c = existing;
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Get a {@code ()Object} method handle for the no-argument constructor.
+     */
+    public MethodHandle defaultConstructor() {
+        MethodHandle c = defaultConstructor;
+        if (c == null) {
+            c = constructor().asType(MethodType.methodType(Object.class));
+            defaultConstructor = c;
+        }
+        return c;
+    }
+
+    public static boolean isRecord(Class<?> klass) {
+        Class<?> superclass = klass.getSuperclass();
+        return RECORD_COMPONENTS != null && superclass != null &&
+                "java.lang.Record".equals(superclass.getName());
+    }
+
+    private static List<String> recordComponents(Class<?> klass) {
+        if (!isRecord(klass)) {
+            return null;
+        }
+        try {
+            Object[] components = (Object[]) RECORD_COMPONENTS.invoke(klass);
+            String[] names = new String[components.length];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = (String) COMPONENT_NAME.invoke(components[i]);
+            }
+            return Collections.unmodifiableList(Arrays.asList(names));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void collectProperties(Map<String, Property> props) {
+        Class<?> superclass = klass.getSuperclass();
+        if (superclass != null && superclass != Object.class &&
+                superclass.getModule().isOpen(superclass.getPackageName(),
+                        ClassInfo.class.getModule())) {
+            props.putAll(of(superclass).getProperties());
+        }
+        if (recordComponents != null) {
+            for (String name : recordComponents) {
+                props.put(name, property(field(name)));
+            }
+            return;
+        }
+        for (Field f : klass.getDeclaredFields()) {
+            if (!Modifier.isStatic(f.getModifiers()) && !f.isSynthetic()) {
+                props.put(f.getName(), property(f));
+            }
+        }
+    }
+
+    private Property property(Field f) {
+        String name = f.getName();
+        String suffix = Character.toUpperCase(name.charAt(0)) +
+                name.substring(1);
+        try {
+            Method m = method("get" + suffix);
+            if (m == null && f.getType() == boolean.class) {
+                m = method("is" + suffix);
+            }
+            if (m == null && isRecord(klass)) {
+                m = method(name);
+            }
+            if (m != null && m.getReturnType() != f.getType()) {
+                m = null;
+            }
+            MethodHandle getter = (m == null) ?
+                    lookup.unreflectGetter(f) : lookup.unreflect(m);
+
+            MethodHandle setter = null;
+            m = method("set" + suffix, f.getType());
+            if (m != null) {
+                setter = lookup.unreflect(m);
+            } else if (!Modifier.isFinal(f.getModifiers())) {
+                setter = lookup.unreflectSetter(f);
+            }
+
+            return new Property(f, getter.asType(GETTER),
+                    setter == null ? null : setter.asType(SETTER));
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException(
+                    "Cannot access property " + name + " of " +
+                    klass.getName(), e);
+        }
+    }
+
+    private Field field(String name) {
+        try {
+            return klass.getDeclaredField(name);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("Record " + klass.getName() +
+                    " has no field for component " + name, e);
+        }
+    }
+
+    /**
+     * Find an instance method declared in the class.
+     */
+    private Method method(String name, Class<?>... parameterTypes) {
+        try {
+            Method m = klass.getDeclaredMethod(name, parameterTypes);
+            return Modifier.isStatic(m.getModifiers()) ? null : m;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandles.Lookup lookup(Class<?> klass) {
+        Module module = ClassInfo.class.getModule();
+        module.addReads(klass.getModule());
+        try {
+            return MethodHandles.privateLookupIn(klass, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Package " +
+                    klass.getPackageName() + " is not open to " +
+                    module.getName(), e);
+        }
+    }
+
+}
@@ -0,0 +1,105 @@
+package mytools.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+public class ReflectionsTest {
+
+    private static final int AGE = 33;
+
+    @SuppressWarnings("unused")
+    private static class Named {
+        private String name;
+        private final long id;
+
+        Named() {
+            this(-1);
+        }
+
+        Named(long id) {
+            this.id = id;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class Person extends Named {
+        private static int instances;
+        private int age;
+        private boolean active;
+        private int setterCalls;
+
+        Person() { }
+
+        Person(long id) {
+            super(id);
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            setterCalls++;
+            this.age = age;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+    }
+
+    @Test
+    public void introspectProperties() {
+        assertEquals(
+                Arrays.asList("name", "id", "age", "active", "setterCalls"),
+                new ArrayList<>(Reflections.properties(Person.class).keySet()));
+        assertSame(Reflections.properties(Person.class),
+                Reflections.properties(Person.class));
+        assertSame(Reflections.property(Named.class, "name"),
+                Reflections.property(Person.class, "name"));
+        assertTrue(Reflections.property(Person.class, "active").isWritable());
+        assertFalse(Reflections.property(Person.class, "id").isWritable());
+        assertThrows(IllegalArgumentException.class, () ->
+                Reflections.property(Person.class, "instances"));
+    }
+
+    @Test
+    public void readAndWriteProperties() {
+        Person p = Reflections.newInstance(Person.class);
+        Reflections.set(p, "name", "Joe");
+        Reflections.set(p, "age", AGE);
+        Reflections.set(p, "active", true);
+
+        assertEquals("Joe", Reflections.get(p, "name"));
+        assertEquals(AGE, Reflections.get(p, "age"));
+        assertEquals(true, Reflections.get(p, "active"));
+        assertEquals(-1L, Reflections.get(p, "id"));
+        assertEquals(1, p.setterCalls);
+
+        assertThrows(UnsupportedOperationException.class, () ->
+                Reflections.set(p, "id", 1L));
+        assertThrows(ClassCastException.class, () ->
+                Reflections.set(p, "age", "old"));
+    }
+
+    @Test
+    public void invokeConstructors() throws Throwable {
+        MethodHandle c = Reflections.constructor(Person.class, long.class);
+        assertSame(c, Reflections.constructor(Person.class, long.class));
+        Person p = (Person) c.invokeExact(2L);
+        assertEquals(2L, Reflections.get(p, "id"));
+
+        assertThrows(IllegalArgumentException.class, () ->
+                Reflections.constructor(Person.class, String.class));
+    }
+
+}
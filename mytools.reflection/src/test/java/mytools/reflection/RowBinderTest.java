@@ -0,0 +1,137 @@
+package mytools.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.spi.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class RowBinderTest {
+
+    private static final long ID = 42L;
+    private static final int QUANTITY = 100;
+    private static final int RECORDS = 16;
+
+    private enum Side { BUY, SELL }
+
+    @SuppressWarnings("unused")
+    private static class Entity {
+        private static int instances;
+        private long id;
+    }
+
+    @SuppressWarnings("unused")
+    private static class Trade extends Entity {
+        private final String fixed = "fixed";
+        private transient String cached;
+        private Side side;
+        private BigDecimal price;
+        private int quantity;
+        private Optional<String> comment;
+        private List<Integer> legs;
+    }
+
+    @Test
+    public void bindInDeclarationOrder() {
+        Trade t = RowBinder.of(Trade.class).bind(new String[] {
+                "42", "SELL", "1.5", "100", "", "1,2", "ignored"});
+        assertEquals(ID, ((Entity) t).id);
+        assertEquals(Side.SELL, t.side);
+        assertEquals(new BigDecimal("1.5"), t.price);
+        assertEquals(QUANTITY, t.quantity);
+        assertEquals(Optional.empty(), t.comment);
+        assertEquals(Arrays.asList(1, 2), t.legs);
+        assertNull(t.cached);
+    }
+
+    @Test
+    public void bindNamedColumns() {
+        RowBinder<Trade> binder = RowBinder.of(
+                Trade.class, "side", null, "id", "comment");
+        List<Trade> trades = binder.bind(Arrays.asList(
+                new String[] {"BUY", "skipped", "1", "a"},
+                new String[] {"SELL", "skipped", "2", "b"}));
+
+        assertEquals(2, trades.size());
+        assertEquals(Side.BUY, trades.get(0).side);
+        assertEquals(1, ((Entity) trades.get(0)).id);
+        assertEquals(Optional.of("b"), trades.get(1).comment);
+        assertNull(trades.get(1).price);
+    }
+
+    /*
+     * Test sources are compiled for Java 11, so compile the record here.
+     * Returns null if records or the compiler are not available.
+     */
+    private static Class<?> compileRecord(Path dir, String source)
+            throws IOException, ClassNotFoundException {
+        Optional<ToolProvider> javac = ToolProvider.findFirst("javac");
+        if (javac.isEmpty() || Runtime.version().feature() < RECORDS) {
+            return null;
+        }
+        String name = source.replaceAll("(?s).*record (\\w+).*", "$1");
+        Path file = Files.writeString(dir.resolve(name + ".java"), source);
+        if (javac.get().run(System.out, System.err,
+                "-d", dir.toString(), file.toString()) != 0) {
+            throw new IllegalStateException("Cannot compile " + source);
+        }
+        URLClassLoader loader = new URLClassLoader(
+                new URL[] {dir.toUri().toURL()},
+                RowBinderTest.class.getClassLoader());
+        return loader.loadClass(name);
+    }
+
+    @Test
+    public void bindRecord(@TempDir Path dir) throws Exception {
+        Class<?> klass = compileRecord(dir,
+                "public record Quote(int size, String symbol, long time) {}");
+        assumeTrue(klass != null, "Records are not supported");
+
+        List<String> components = Arrays.asList("size", "symbol", "time");
+        assertEquals(components, Reflections.recordComponents(klass));
+        assertEquals(components,
+                new ArrayList<>(Reflections.properties(klass).keySet()));
+        Object quote = RowBinder.of(klass)
+                .bind(new String[] {"100", "ABC", "42"});
+        assertEquals("Quote[size=100, symbol=ABC, time=42]", quote.toString());
+
+        quote = RowBinder.of(klass, "time", null, "symbol")
+                .bind(new String[] {"42", "skipped", "ABC"});
+        assertEquals("Quote[size=0, symbol=ABC, time=42]", quote.toString());
+
+        assertThrows(IllegalArgumentException.class, () ->
+                Reflections.recordComponents(Trade.class));
+    }
+
+    @Test
+    public void rejectBadInput() {
+        assertThrows(IllegalArgumentException.class, () ->
+                RowBinder.of(Trade.class, "nope"));
+        assertThrows(IllegalArgumentException.class, () ->
+                RowBinder.of(Trade.class, "fixed"));
+
+        RowBinder<Trade> binder = RowBinder.of(Trade.class, "id", "side");
+        assertThrows(IllegalArgumentException.class, () ->
+                binder.bind(new String[] {"1"}));
+        IllegalArgumentException e = assertThrows(
+                IllegalArgumentException.class, () ->
+                binder.bind(new String[] {"1", "HOLD"}));
+        assertEquals("Cannot parse value 'HOLD' in column 1 (side)",
+                e.getMessage());
+    }
+
+}
@@ -0,0 +1,281 @@
+package mytools.stringparser;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import mytools.stringparser.impl.ColumnParser;
+import mytools.stringparser.impl.ColumnParser.RowParser;
+import mytools.stringparser.impl.LineBuffer;
+
+/**
+ * This class contains functions which parse whole columns of strings
+ * into arrays in one pass.
+ *
+ * <p>The input column may be given as a {@code List}, as an array or as
+ * a buffer of characters with one value per line. The parsed values are
+ * stored into a caller provided output array, which must be at least as
+ * long as the input column.
+ *
+ * <p>Values are converted by parsers registered in {@link StringParsers}.
+ * When the default parser is registered for a primitive wrapper type, values
+ * are parsed directly into primitives without boxing.
+ *
+ * <p>A value which cannot be parsed does not stop parsing. Instead, the error
+ * is collected and parsing continues with the next value. The output array
+ * element which corresponds to the bad value is left unchanged.
+ *
+ * <p>Large columns may be parsed in parallel chunks in the common
+ * fork-join pool. The parsers must be thread safe in this case.
+ *
+ * <pre>
+ * {@code
+ *  int[] ids = new int[column.size()];
+ *  List<ParseError> errors = ColumnParsers.parseInts(column, ids, true);
+ *  errors.forEach(e -> log.warn("bad id in row " + e.getRow()));
+ * }
+ * </pre>
+ */
+public final class ColumnParsers {
+
+    private ColumnParsers() { }
+
+    private static final int DECIMAL_RADIX = 10;
+
+    /////////////////////////////// int //////////////////////////////////
+
+    public static List<ParseError> parseInts(
+            List<String> input, int[] output) {
+        return parseInts(input, output, false);
+    }
+
+    public static List<ParseError> parseInts(
+            List<String> input, int[] output, boolean parallel) {
+        return ints(input.size(), input::get, output, parallel);
+    }
+
+    public static List<ParseError> parseInts(String[] input, int[] output) {
+        return parseInts(input, output, false);
+    }
+
+    public static List<ParseError> parseInts(
+            String[] input, int[] output, boolean parallel) {
+        return ints(input.length, i -> input[i], output, parallel);
+    }
+
+    /**
+     * Parse a buffer which contains one value per line.
+     *
+     * @see #lineCount(CharSequence)
+     */
+    public static List<ParseError> parseInts(
+            CharSequence lines, int[] output) {
+        return parseInts(lines, output, false);
+    }
+
+    /**
+     * Parse a buffer which contains one value per line.
+     * Lines are parsed in place, without creating intermediate strings,
+     * if the default {@code Integer} parser is registered.
+     *
+     * @see #lineCount(CharSequence)
+     */
+    public static List<ParseError> parseInts(
+            CharSequence lines, int[] output, boolean parallel) {
+        LineBuffer buf = new LineBuffer(lines);
+        if (parser(Integer.class) != StringParsers.Defaults.INT_PARSER) {
+            return ints(buf.size(), buf::line, output, parallel);
+        }
+        checkCapacity(output.length, buf.size());
+        return ColumnParser.parse(buf.size(), buf::line, i -> {
+            output[i] = Integer.parseInt(
+                    lines, buf.start(i), buf.end(i), DECIMAL_RADIX);
+        }, parallel);
+    }
+
+    /////////////////////////////// long /////////////////////////////////
+
+    public static List<ParseError> parseLongs(
+            List<String> input, long[] output) {
+        return parseLongs(input, output, false);
+    }
+
+    public static List<ParseError> parseLongs(
+            List<String> input, long[] output, boolean parallel) {
+        return longs(input.size(), input::get, output, parallel);
+    }
+
+    public static List<ParseError> parseLongs(
+            String[] input, long[] output) {
+        return parseLongs(input, output, false);
+    }
+
+    public static List<ParseError> parseLongs(
+            String[] input, long[] output, boolean parallel) {
+        return longs(input.length, i -> input[i], output, parallel);
+    }
+
+    /**
+     * Parse a buffer which contains one value per line.
+     *
+     * @see #lineCount(CharSequence)
+     */
+    public static List<ParseError> parseLongs(
+            CharSequence lines, long[] output) {
+        return parseLongs(lines, output, false);
+    }
+
+    /**
+     * Parse a buffer which contains one value per line.
+     * Lines are parsed in place, without creating intermediate strings,
+     * if the default {@code Long} parser is registered.
+     *
+     * @see #lineCount(CharSequence)
+     */
+    public static List<ParseError> parseLongs(
+            CharSequence lines, long[] output, boolean parallel) {
+        LineBuffer buf = new LineBuffer(lines);
+        if (parser(Long.class) != StringParsers.Defaults.LONG_PARSER) {
+            return longs(buf.size(), buf::line, output, parallel);
+        }
+        checkCapacity(output.length, buf.size());
+        return ColumnParser.parse(buf.size(), buf::line, i -> {
+            output[i] = Long.parseLong(
+                    lines, buf.start(i), buf.end(i), DECIMAL_RADIX);
+        }, parallel);
+    }
+
+    /////////////////////////////// double ///////////////////////////////
+
+    public static List<ParseError> parseDoubles(
+            List<String> input, double[] output) {
+        return parseDoubles(input, output, false);
+    }
+
+    public static List<ParseError> parseDoubles(
+            List<String> input, double[] output, boolean parallel) {
+        return doubles(input.size(), input::get, output, parallel);
+    }
+
+    public static List<ParseError> parseDoubles(
+            String[] input, double[] output) {
+        return parseDoubles(input, output, false);
+    }
+
+    public static List<ParseError> parseDoubles(
+            String[] input, double[] output, boolean parallel) {
+        return doubles(input.length, i -> input[i], output, parallel);
+    }
+
+    /**
+     * Parse a buffer which contains one value per line.
+     *
+     * @see #lineCount(CharSequence)
+     */
+    public static List<ParseError> parseDoubles(
+            CharSequence lines, double[] output) {
+        return parseDoubles(lines, output, false);
+    }
+
+    /**
+     * Parse a buffer which contains one value per line.
+     *
+     * @see #lineCount(CharSequence)
+     */
+    public static List<ParseError> parseDoubles(
+            CharSequence lines, double[] output, boolean parallel) {
+        LineBuffer buf = new LineBuffer(lines);
+        return doubles(buf.size(), buf::line, output, parallel);
+    }
+
+    /////////////////////////////// objects //////////////////////////////
+
+    /**
+     * Parse a column of values of any type which has a parser registered in
+     * {@link StringParsers}.
+     */
+    public static <T> List<ParseError> parse(
+            Class<T> klass, List<String> input, T[] output) {
+        return parse(klass, input, output, false);
+    }
+
+    public static <T> List<ParseError> parse(Class<T> klass,
+            List<String> input, T[] output, boolean parallel) {
+        return objects(klass, input.size(), input::get, output, parallel);
+    }
+
+    public static <T> List<ParseError> parse(
+            Class<T> klass, String[] input, T[] output) {
+        return parse(klass, input, output, false);
+    }
+
+    public static <T> List<ParseError> parse(Class<T> klass,
+            String[] input, T[] output, boolean parallel) {
+        return parse(klass, Arrays.asList(input), output, parallel);
+    }
+
+    /**
+     * Return the number of values in a buffer which contains one value per
+     * line. Use it to allocate an output array of the proper size.
+     */
+    public static int lineCount(CharSequence lines) {
+        return new LineBuffer(lines).size();
+    }
+
+    ////////////////////////////// helpers ///////////////////////////////
+
+    private static List<ParseError> ints(int size, IntFunction<String> input,
+            int[] output, boolean parallel) {
+        checkCapacity(output.length, size);
+        StringParser<Integer> p = parser(Integer.class);
+        RowParser rowParser = (p == StringParsers.Defaults.INT_PARSER) ?
+                i -> output[i] = Integer.parseInt(input.apply(i)) :
+                i -> output[i] = p.parse(input.apply(i));
+        return ColumnParser.parse(size, input, rowParser, parallel);
+    }
+
+    private static List<ParseError> longs(int size, IntFunction<String> input,
+            long[] output, boolean parallel) {
+        checkCapacity(output.length, size);
+        StringParser<Long> p = parser(Long.class);
+        RowParser rowParser = (p == StringParsers.Defaults.LONG_PARSER) ?
+                i -> output[i] = Long.parseLong(input.apply(i)) :
+                i -> output[i] = p.parse(input.apply(i));
+        return ColumnParser.parse(size, input, rowParser, parallel);
+    }
+
+    private static List<ParseError> doubles(int size,
+            IntFunction<String> input, double[] output, boolean parallel) {
+        checkCapacity(output.length, size);
+        StringParser<Double> p = parser(Double.class);
+        RowParser rowParser = (p == StringParsers.Defaults.DOUBLE_PARSER) ?
+                i -> output[i] = Double.parseDouble(input.apply(i)) :
+                i -> output[i] = p.parse(input.apply(i));
+        return ColumnParser.parse(size, input, rowParser, parallel);
+    }
+
+    private static <T> List<ParseError> objects(Class<T> klass, int size,
+            IntFunction<String> input, T[] output, boolean parallel) {
+        checkCapacity(output.length, size);
+        StringParser<T> p = parser(klass);
+        return ColumnParser.parse(size, input,
+                i -> output[i] = p.parse(input.apply(i)), parallel);
+    }
+
+    private static <T> StringParser<T> parser(Class<T> klass) {
+        StringParser<T> p = StringParsers.get(klass);
+        if (p == null) {
+            throw new IllegalArgumentException(
+                    "No parser registered for " + klass);
+        }
+        return p;
+    }
+
+    private static void checkCapacity(int capacity, int size) {
+        if (capacity < size) {
+            throw new IllegalArgumentException("Output array of length " +
+                    capacity + " cannot hold " + size + " values");
+        }
+    }
+
+}
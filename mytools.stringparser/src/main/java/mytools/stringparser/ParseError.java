@@ -0,0 +1,68 @@
+package mytools.stringparser;
+
+import java.util.Objects;
+
+/**
+ * Describes a value which could not be parsed during bulk (column) parsing.
+ *
+ * @see ColumnParsers
+ */
+public final class ParseError {
+
+    private final int row;
+    private final String input;
+    private final RuntimeException cause;
+
+    public ParseError(int row, String input, RuntimeException cause) {
+        this.row = row;
+        this.input = input;
+        this.cause = cause;
+    }
+
+    /**
+     * Zero based index of the value in the input column.
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * The string which could not be parsed.
+     */
+    public String getInput() {
+        return input;
+    }
+
+    /**
+     * The exception thrown by the parser.
+     */
+    public RuntimeException getCause() {
+        return cause;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(row, input);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null) return false;
+        if (getClass() != obj.getClass()) return false;
+        ParseError other = (ParseError) obj;
+        return row == other.row &&
+               Objects.equals(input, other.input) &&
+               Objects.equals(cause, other.cause);
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("[")
+                .append(row).append(",")
+                .append(input).append(",")
+                .append(cause).append("]")
+                .toString();
+    }
+
+}
@@ -1,5 +1,6 @@
 package mytools.stringparser;
 
+import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.time.LocalDate;
@@ -7,10 +8,11 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZonedDateTime;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import mytools.stringparser.impl.DateStringParser;
+import mytools.stringparser.impl.ParserResolver;
 
 /**
  * This class contains functions which convert (parse) strings to objects.
@@ -150,29 +152,67 @@ public final class StringParsers {
      * for the entire application.
      */
     public static <T> void register(Class<T> klass, StringParser<T> parser) {
-        synchronized (PARSERS) {
+        if (parser == null) {
+            PARSERS.remove(klass);
+        } else {
             PARSERS.put(klass, parser);
         }
+        ParserResolver.clear();
     }
 
     /**
      * Remove (unregister) a parser for the given type.
      */
     public static <T> void unregister(Class<T> klass) {
-        synchronized (PARSERS) {
-            PARSERS.remove(klass);
-        }
+        PARSERS.remove(klass);
+        ParserResolver.clear();
     }
 
     /**
      * Get a parser for the given type.
      */
     public static <T> StringParser<T> get(Class<T> klass) {
-        synchronized (PARSERS) {
-            @SuppressWarnings("unchecked")
-            StringParser<T> p = (StringParser<T>) PARSERS.get(klass);
-            return p;
-        }
+        @SuppressWarnings("unchecked")
+        StringParser<T> p = (StringParser<T>) PARSERS.get(klass);
+        return p;
+    }
+
+    /**
+     * Get a parser for the given type, which may be a primitive, an enum,
+     * an array, a record, or a parameterized type such as
+     * {@code Optional<Integer>}, {@code List<Long>} or {@code Set<MyEnum>}.
+     *
+     * <p>The parser is composed from the registered parsers once and is
+     * cached by type, so subsequent calls cost one map lookup.
+     * Array and collection elements are separated by commas and trimmed.
+     * Record components are separated by commas as well, and are passed
+     * to the canonical constructor, so they cannot be arrays or collections.
+     * An empty string is parsed to an empty {@code Optional}.
+     *
+     * <pre>
+     * {@code
+     *  Type type = MyBean.class.getDeclaredField("ids").getGenericType();
+     *  List<Long> ids = (List<Long>) StringParsers.resolve(type).parse(s);
+     * }
+     * </pre>
+     *
+     * @throws IllegalArgumentException if no parser can be built for the type
+     */
+    public static StringParser<?> resolve(Type type) {
+        return ParserResolver.resolve(type);
+    }
+
+    /**
+     * Get a parser for the given class.
+     * Unlike {@link #get(Class)}, this method supports primitives, enums and
+     * arrays, and never returns {@code null}.
+     *
+     * @throws IllegalArgumentException if no parser can be built for the class
+     * @see #resolve(Type)
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> StringParser<T> resolve(Class<T> klass) {
+        return (StringParser<T>) ParserResolver.resolve(klass);
     }
 
     public static Byte parseByte(String s) {
@@ -240,7 +280,7 @@ public final class StringParsers {
     }
 
     private static final Map<Class<?>, StringParser<?>> PARSERS =
-            new HashMap<>();
+            new ConcurrentHashMap<>();
     static {
         PARSERS.put(Byte.class, Defaults.BYTE_PARSER);
         PARSERS.put(Short.class, Defaults.SHORT_PARSER);
@@ -0,0 +1,103 @@
+package mytools.stringparser.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntFunction;
+
+import mytools.stringparser.ParseError;
+
+/**
+ * Runs a row parser over all rows of a column, sequentially or in parallel
+ * chunks, collecting errors instead of failing on the first bad value.
+ */
+public final class ColumnParser {
+
+    private ColumnParser() { }
+
+    /**
+     * Minimal number of rows which is worth processing in a separate
+     * fork-join task.
+     */
+    private static final int PARALLEL_THRESHOLD = 8192;
+
+    /**
+     * Parses the value in the given row and stores the result into
+     * the output column.
+     */
+    @FunctionalInterface
+    public interface RowParser {
+        void parse(int row);
+    }
+
+    /**
+     * Parse rows {@code [0, size)}.
+     *
+     * @param size     number of rows
+     * @param input    returns the input string of a row, used to report errors
+     * @param parser   parses a row and stores the result
+     * @param parallel true to split the rows into chunks which are parsed in
+     *                 the common fork-join pool
+     * @return         errors ordered by row, or an empty list
+     */
+    public static List<ParseError> parse(int size, IntFunction<String> input,
+            RowParser parser, boolean parallel) {
+        List<ParseError> errors = (parallel && size > PARALLEL_THRESHOLD) ?
+                new ParseTask(0, size, input, parser).invoke() :
+                parseRange(0, size, input, parser, null);
+        return errors == null ? Collections.emptyList() : errors;
+    }
+
+    private static List<ParseError> parseRange(int from, int to,
+            IntFunction<String> input, RowParser parser,
+            List<ParseError> errors) {
+        List<ParseError> result = errors;
+        for (int row = from; row < to; row++) {
+            try {
+                parser.parse(row);
+            } catch (RuntimeException e) {
+                if (result == null) {
+                    result = new ArrayList<>();
+                }
+                result.add(new ParseError(row, input.apply(row), e));
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("serial")
+    private static final class ParseTask
+        extends RecursiveTask<List<ParseError>> {
+
+        private final int from;
+        private final int to;
+        private final IntFunction<String> input;
+        private final RowParser parser;
+
+        ParseTask(int from, int to, IntFunction<String> input,
+                RowParser parser) {
+            this.from = from;
+            this.to = to;
+            this.input = input;
+            this.parser = parser;
+        }
+
+        @Override
+        protected List<ParseError> compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                return parseRange(from, to, input, parser, null);
+            }
+            int middle = (from + to) >>> 1;
+            ParseTask left = new ParseTask(from, middle, input, parser);
+            left.fork();
+            List<ParseError> rightErrors =
+                    new ParseTask(middle, to, input, parser).compute();
+            List<ParseError> leftErrors = left.join();
+            if (leftErrors == null) return rightErrors;
+            if (rightErrors != null) leftErrors.addAll(rightErrors);
+            return leftErrors;
+        }
+    }
+
+}
@@ -1,16 +1,21 @@
 package mytools.stringparser.impl;
 
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.Date;
+import java.util.Locale;
 
 public final class DateStringParser {
 
     private DateStringParser() { }
 
-    private static final DateFormat DATE_TO_STRING_FORMAT =
-            new SimpleDateFormat("EEE MMM dd HH:mm:ss Z yyyy");
+    /*
+     * Immutable, so unlike SimpleDateFormat it can be shared by threads.
+     * The zone may be a name, like Date.toString() prints, or an offset.
+     */
+    private static final DateTimeFormatter DATE_TO_STRING_FORMAT =
+            DateTimeFormatter.ofPattern("EEE MMM dd HH:mm:ss [zzz][xx] yyyy",
+                    Locale.US);
 
     /**
      * Parse date object from format which is produced by the
@@ -18,11 +23,8 @@ public final class DateStringParser {
      * Note, that with this format milliseconds are always set to zero.
      */
     public static Date parse(String s) {
-        try {
-            return DATE_TO_STRING_FORMAT.parse(s);
-        } catch (ParseException e) {
-            throw new RuntimeException(e);
-        }
+        return Date.from(
+                ZonedDateTime.parse(s, DATE_TO_STRING_FORMAT).toInstant());
     }
 
 }
@@ -0,0 +1,66 @@
+package mytools.stringparser.impl;
+
+import java.util.Arrays;
+
+/**
+ * An index of lines in a character buffer. Lines are separated by
+ * {@code '\n'}, a trailing {@code '\r'} is not considered to be a part of
+ * the line. A line break at the very end of the buffer does not start a new
+ * line.
+ */
+public final class LineBuffer {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final CharSequence chars;
+    private int[] starts = new int[INITIAL_CAPACITY];
+    private int[] ends = new int[INITIAL_CAPACITY];
+    private int size;
+
+    public LineBuffer(CharSequence chars) {
+        this.chars = chars;
+        int length = chars.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            if (chars.charAt(i) == '\n') {
+                add(start, i);
+                start = i + 1;
+            }
+        }
+        if (start < length) {
+            add(start, length);
+        }
+    }
+
+    public CharSequence getChars() {
+        return chars;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int start(int line) {
+        return starts[line];
+    }
+
+    public int end(int line) {
+        return ends[line];
+    }
+
+    public String line(int line) {
+        return chars.subSequence(starts[line], ends[line]).toString();
+    }
+
+    private void add(int start, int end) {
+        if (size == starts.length) {
+            starts = Arrays.copyOf(starts, size << 1);
+            ends = Arrays.copyOf(ends, size << 1);
+        }
+        starts[size] = start;
+        ends[size] = (end > start && chars.charAt(end - 1) == '\r') ?
+                end - 1 : end;
+        size++;
+    }
+
+}
@@ -0,0 +1,358 @@
+package mytools.stringparser.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import mytools.stringparser.StringParser;
+import mytools.stringparser.StringParsers;
+
+/**
+ * Builds parsers for types which don't have a parser registered directly,
+ * such as primitives, enums, arrays, records, {@code Optional} and
+ * collections, and caches them by type.
+ *
+ * <p>Composed parsers capture the parsers of their element types at the time
+ * they are built, so the cache must be cleared whenever the parser
+ * registration changes.
+ */
+public final class ParserResolver {
+
+    private ParserResolver() { }
+
+    /** Separates elements of arrays and collections. */
+    public static final char DELIMITER = ',';
+
+    private static final Map<Class<?>, Class<?>> WRAPPERS = Map.of(
+            boolean.class, Boolean.class,
+            byte.class, Byte.class,
+            short.class, Short.class,
+            char.class, Character.class,
+            int.class, Integer.class,
+            long.class, Long.class,
+            float.class, Float.class,
+            double.class, Double.class);
+
+    // Class.getRecordComponents(), RecordComponent.getType() and
+    // RecordComponent.getGenericType(), which are looked up at run time,
+    // since the module targets Java 11. They are null before Java 16.
+    private static final MethodHandle RECORD_COMPONENTS;
+    private static final MethodHandle COMPONENT_TYPE;
+    private static final MethodHandle COMPONENT_GENERIC_TYPE;
+
+    static {
+        MethodHandle components;
+        MethodHandle type;
+        MethodHandle genericType;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            Class<?> component =
+                    Class.forName("java.lang.reflect.RecordComponent");
+            components = lookup.unreflect(
+                    Class.class.getMethod("getRecordComponents"));
+            type = lookup.unreflect(component.getMethod("getType"));
+            genericType = lookup.unreflect(
+                    component.getMethod("getGenericType"));
+        } catch (ReflectiveOperationException e) {
+            components = null;
+            type = null;
+            genericType = null;
+        }
+        RECORD_COMPONENTS = components;
+        COMPONENT_TYPE = type;
+        COMPONENT_GENERIC_TYPE = genericType;
+    }
+
+    private static volatile Map<Type, StringParser<?>> cache =
+            new ConcurrentHashMap<>();
+
+    public static StringParser<?> resolve(Type type) {
+        // a parser built while the cache is being cleared goes
+        // into the discarded map
+        Map<Type, StringParser<?>> c = cache;
+        StringParser<?> p = c.get(type);
+        if (p == null) {
+            p = build(type);
+            StringParser<?> existing = c.putIfAbsent(type, p);
+            if (existing != null) {
+                p = existing;
+            }
+        }
+        return p;
+    }
+
+    public static void clear() {
+        cache = new ConcurrentHashMap<>();
+    }
+
+    private static StringParser<?> build(Type type) {
+        if (type instanceof Class) {
+            return forClass((Class<?>) type);
+        } else if (type instanceof ParameterizedType) {
+            return forParameterizedType((ParameterizedType) type);
+        } else if (type instanceof GenericArrayType) {
+            Type componentType =
+                    ((GenericArrayType) type).getGenericComponentType();
+            return array(rawClass(componentType), resolve(componentType));
+        } else if (type instanceof WildcardType) {
+            return resolve(((WildcardType) type).getUpperBounds()[0]);
+        }
+        throw noParser(type);
+    }
+
+    private static StringParser<?> forClass(Class<?> klass) {
+        StringParser<?> registered = StringParsers.get(klass);
+        if (registered != null) {
+            return registered;
+        } else if (klass.isPrimitive() && WRAPPERS.containsKey(klass)) {
+            return resolve(WRAPPERS.get(klass));
+        } else if (klass.isEnum()) {
+            return enumeration(klass);
+        } else if (klass.isArray()) {
+            Class<?> componentType = klass.getComponentType();
+            return array(componentType, resolve(componentType));
+        } else if (isRecord(klass)) {
+            return record(klass);
+        }
+        throw noParser(klass);
+    }
+
+    private static StringParser<?> forParameterizedType(
+            ParameterizedType type) {
+        Class<?> raw = rawClass(type);
+        Type[] args = type.getActualTypeArguments();
+        if (raw == Optional.class) {
+            StringParser<?> p = resolve(args[0]);
+            return s -> (s == null || s.isEmpty()) ?
+                    Optional.empty() : Optional.ofNullable(p.parse(s));
+        } else if (raw == List.class || raw == Collection.class ||
+                raw == Iterable.class) {
+            StringParser<?> p = resolve(args[0]);
+            return s -> s == null ? null : parseElements(s, p);
+        } else if (raw == Set.class) {
+            StringParser<?> p = resolve(args[0]);
+            return s -> s == null ?
+                    null : new LinkedHashSet<>(parseElements(s, p));
+        }
+        StringParser<?> registered = StringParsers.get(raw);
+        if (registered != null) {
+            return registered;
+        }
+        throw noParser(type);
+    }
+
+    private static StringParser<?> enumeration(Class<?> klass) {
+        Map<String, Object> constants = new HashMap<>();
+        for (Object constant : klass.getEnumConstants()) {
+            constants.put(((Enum<?>) constant).name(), constant);
+        }
+        return s -> {
+            Object constant = constants.get(s);
+            if (constant == null) {
+                throw new IllegalArgumentException("No enum constant " +
+                        klass.getCanonicalName() + "." + s);
+            }
+            return constant;
+        };
+    }
+
+    /**
+     * Parse the components of a record, in the order of their declaration,
+     * from a delimited string, and pass them to the canonical constructor.
+     */
+    private static StringParser<?> record(Class<?> klass) {
+        Class<?>[] types;
+        StringParser<?>[] parsers;
+        try {
+            Object[] components = (Object[]) RECORD_COMPONENTS.invoke(klass);
+            types = new Class<?>[components.length];
+            parsers = new StringParser<?>[components.length];
+            for (int i = 0; i < components.length; i++) {
+                types[i] = (Class<?>) COMPONENT_TYPE.invoke(components[i]);
+                parsers[i] = resolve(
+                        (Type) COMPONENT_GENERIC_TYPE.invoke(components[i]));
+            }
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+
+        MethodHandle c = canonicalConstructor(klass, types);
+        MethodHandle constructor = c.asType(c.type().generic())
+                .asSpreader(Object[].class, types.length);
+        return s -> {
+            if (s == null) {
+                return null;
+            }
+            List<String> parts = split(s);
+            if (parts.size() != parsers.length) {
+                throw new IllegalArgumentException("Record " +
+                        klass.getName() + " has " + parsers.length +
+                        " components, but '" + s + "' has " + parts.size() +
+                        " values");
+            }
+            Object[] args = new Object[parsers.length];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = parsers[i].parse(parts.get(i));
+            }
+            try {
+                return (Object) constructor.invokeExact(args);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalArgumentException(e);
+            }
+        };
+    }
+
+    /**
+     * A public constructor of a public class in an exported package, or
+     * any constructor of a class in a package which is open to this module.
+     */
+    private static MethodHandle canonicalConstructor(
+            Class<?> klass, Class<?>[] types) {
+        MethodType type = MethodType.methodType(void.class, types);
+        try {
+            try {
+                return MethodHandles.publicLookup()
+                        .findConstructor(klass, type);
+            } catch (IllegalAccessException e) {
+                Module module = ParserResolver.class.getModule();
+                module.addReads(klass.getModule());
+                return MethodHandles.privateLookupIn(
+                        klass, MethodHandles.lookup())
+                        .findConstructor(klass, type);
+            }
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException("No accessible canonical " +
+                    "constructor in record " + klass.getName(), e);
+        }
+    }
+
+    /**
+     * Check if the class is a record without {@code Class.isRecord()},
+     * which is not available in Java 11.
+     */
+    private static boolean isRecord(Class<?> klass) {
+        Class<?> superclass = klass.getSuperclass();
+        return RECORD_COMPONENTS != null && superclass != null &&
+                "java.lang.Record".equals(superclass.getName());
+    }
+
+    private static StringParser<?> array(
+            Class<?> componentType, StringParser<?> p) {
+        if (componentType == int.class &&
+                p == StringParsers.Defaults.INT_PARSER) {
+            return s -> {
+                List<String> parts = split(s);
+                int[] a = new int[parts.size()];
+                for (int i = 0; i < a.length; i++) {
+                    a[i] = Integer.parseInt(parts.get(i));
+                }
+                return a;
+            };
+        } else if (componentType == long.class &&
+                p == StringParsers.Defaults.LONG_PARSER) {
+            return s -> {
+                List<String> parts = split(s);
+                long[] a = new long[parts.size()];
+                for (int i = 0; i < a.length; i++) {
+                    a[i] = Long.parseLong(parts.get(i));
+                }
+                return a;
+            };
+        } else if (componentType == double.class &&
+                p == StringParsers.Defaults.DOUBLE_PARSER) {
+            return s -> {
+                List<String> parts = split(s);
+                double[] a = new double[parts.size()];
+                for (int i = 0; i < a.length; i++) {
+                    a[i] = Double.parseDouble(parts.get(i));
+                }
+                return a;
+            };
+        } else if (componentType.isPrimitive()) {
+            return s -> {
+                List<String> parts = split(s);
+                Object a = Array.newInstance(componentType, parts.size());
+                for (int i = 0; i < parts.size(); i++) {
+                    Array.set(a, i, p.parse(parts.get(i)));
+                }
+                return a;
+            };
+        }
+        return s -> {
+            List<String> parts = split(s);
+            Object[] a = (Object[]) Array.newInstance(
+                    componentType, parts.size());
+            for (int i = 0; i < a.length; i++) {
+                a[i] = p.parse(parts.get(i));
+            }
+            return a;
+        };
+    }
+
+    private static List<Object> parseElements(String s, StringParser<?> p) {
+        List<String> parts = split(s);
+        List<Object> result = new ArrayList<>(parts.size());
+        for (String part : parts) {
+            result.add(p.parse(part));
+        }
+        return result;
+    }
+
+    /**
+     * Split a string by the delimiter and trim the parts.
+     * An empty (or blank) string has no parts.
+     */
+    static List<String> split(String s) {
+        List<String> parts = new ArrayList<>();
+        if (s.trim().isEmpty()) {
+            return parts;
+        }
+        int start = 0;
+        int end;
+        while ((end = s.indexOf(DELIMITER, start)) >= 0) {
+            parts.add(s.substring(start, end).trim());
+            start = end + 1;
+        }
+        parts.add(s.substring(start).trim());
+        return parts;
+    }
+
+    private static Class<?> rawClass(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        } else if (type instanceof ParameterizedType) {
+            return rawClass(((ParameterizedType) type).getRawType());
+        } else if (type instanceof GenericArrayType) {
+            Type componentType =
+                    ((GenericArrayType) type).getGenericComponentType();
+            return Array.newInstance(rawClass(componentType), 0).getClass();
+        } else if (type instanceof WildcardType) {
+            return rawClass(((WildcardType) type).getUpperBounds()[0]);
+        }
+        throw noParser(type);
+    }
+
+    private static IllegalArgumentException noParser(Type type) {
+        return new IllegalArgumentException(
+                "No parser available for type " + type.getTypeName());
+    }
+
+}
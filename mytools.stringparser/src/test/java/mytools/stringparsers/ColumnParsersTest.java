@@ -0,0 +1,108 @@
+package mytools.stringparsers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import mytools.stringparser.ColumnParsers;
+import mytools.stringparser.ParseError;
+import mytools.stringparser.StringParsers;
+
+public class ColumnParsersTest {
+
+    private static final int LARGE_COLUMN_SIZE = 100_000;
+    private static final int BAD_ROW_STEP = 9_999;
+    private static final double[] DOUBLES = {1.5, -2.25, 0.0};
+    private static final int[] INTS = {1, -2, 3};
+
+    @Test
+    public void parseIntsCollectingErrors() {
+        List<String> input = Arrays.asList("1", "x", "3", null);
+        int[] output = new int[input.size()];
+        List<ParseError> errors = ColumnParsers.parseInts(input, output);
+
+        assertArrayEquals(new int[] {1, 0, INTS[2], 0}, output);
+        assertEquals(2, errors.size());
+        assertEquals(1, errors.get(0).getRow());
+        assertEquals("x", errors.get(0).getInput());
+        assertTrue(errors.get(0).getCause() instanceof NumberFormatException);
+        assertEquals(input.size() - 1, errors.get(1).getRow());
+    }
+
+    @Test
+    public void parseLargeColumnInParallel() {
+        String[] input = new String[LARGE_COLUMN_SIZE];
+        List<Integer> badRows = new ArrayList<>();
+        for (int i = 0; i < input.length; i++) {
+            if (i % BAD_ROW_STEP == 0) {
+                input[i] = "bad" + i;
+                badRows.add(i);
+            } else {
+                input[i] = Integer.toString(i);
+            }
+        }
+
+        long[] output = new long[input.length];
+        List<ParseError> errors = ColumnParsers.parseLongs(input, output, true);
+
+        List<Integer> errorRows = new ArrayList<>();
+        errors.forEach(e -> errorRows.add(e.getRow()));
+        assertEquals(badRows, errorRows);
+        for (int i = 0; i < input.length; i++) {
+            assertEquals(i % BAD_ROW_STEP == 0 ? 0 : i, output[i]);
+        }
+    }
+
+    @Test
+    public void parseLineBuffer() {
+        String lines = "1\r\n-2\n3\n";
+        assertEquals(INTS.length, ColumnParsers.lineCount(lines));
+
+        int[] ints = new int[ColumnParsers.lineCount(lines)];
+        assertTrue(ColumnParsers.parseInts(lines, ints).isEmpty());
+        assertArrayEquals(INTS, ints);
+
+        double[] doubles = new double[DOUBLES.length];
+        assertTrue(ColumnParsers.parseDoubles(
+                "1.5\n-2.25\n0", doubles).isEmpty());
+        assertArrayEquals(DOUBLES, doubles);
+    }
+
+    @Test
+    public void parseWithRegisteredParser() {
+        StringParsers.register(Integer.class, s -> Integer.valueOf(s.trim()));
+        try {
+            int[] output = new int[2];
+            assertTrue(ColumnParsers.parseInts(
+                    new String[] {" 1", "2 "}, output).isEmpty());
+            assertArrayEquals(new int[] {1, 2}, output);
+        } finally {
+            StringParsers.register(
+                    Integer.class, StringParsers.Defaults.INT_PARSER);
+        }
+    }
+
+    @Test
+    public void parseObjects() {
+        BigDecimal[] output = new BigDecimal[2];
+        List<ParseError> errors = ColumnParsers.parse(
+                BigDecimal.class, new String[] {"1.10", "?"}, output);
+        assertEquals(new BigDecimal("1.10"), output[0]);
+        assertEquals(1, errors.size());
+    }
+
+    @Test
+    public void outputArrayMustFitTheInput() {
+        assertThrows(IllegalArgumentException.class, () ->
+                ColumnParsers.parseInts(new String[] {"1", "2"}, new int[1]));
+    }
+
+}
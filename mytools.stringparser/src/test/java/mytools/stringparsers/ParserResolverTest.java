@@ -0,0 +1,136 @@
+package mytools.stringparsers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.reflect.Type;
+import java.nio.file.attribute.GroupPrincipal;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import mytools.stringparser.StringParser;
+import mytools.stringparser.StringParsers;
+
+public class ParserResolverTest {
+
+    private static final int THREE = 3;
+
+    private enum Color { RED, GREEN }
+
+    @SuppressWarnings("unused")
+    private static class Fields {
+        private Optional<Integer> optionalInt;
+        private List<Long> longs;
+        private Set<Color> colors;
+        private List<Optional<Color>>[] listArray;
+        private Map<String, String> map;
+    }
+
+    private static Type type(String field) throws Exception {
+        return Fields.class.getDeclaredField(field).getGenericType();
+    }
+
+    @Test
+    public void resolveClasses() {
+        assertEquals(THREE, StringParsers.resolve(int.class).parse("3"));
+        assertEquals("x", StringParsers.resolve(String.class).parse("x"));
+        assertEquals(Color.GREEN,
+                StringParsers.resolve(Color.class).parse("GREEN"));
+        assertThrows(IllegalArgumentException.class, () ->
+                StringParsers.resolve(Color.class).parse("BLUE"));
+        assertArrayEquals(new int[] {1, 2, THREE}, (int[])
+                StringParsers.resolve(int[].class).parse("1, 2,3"));
+        assertArrayEquals(new String[] {"a", "b"}, (String[])
+                StringParsers.resolve(String[].class).parse("a , b"));
+        assertArrayEquals(new char[] {'a', 'b'}, (char[])
+                StringParsers.resolve(char[].class).parse("a,b"));
+        assertArrayEquals(new long[0], (long[])
+                StringParsers.resolve(long[].class).parse(""));
+    }
+
+    @Test
+    public void resolveParameterizedTypes() throws Exception {
+        assertEquals(Optional.of(1),
+                StringParsers.resolve(type("optionalInt")).parse("1"));
+        assertEquals(Optional.empty(),
+                StringParsers.resolve(type("optionalInt")).parse(""));
+        assertEquals(Arrays.asList(1L, 2L),
+                StringParsers.resolve(type("longs")).parse("1,2"));
+        assertEquals(new LinkedHashSet<>(Arrays.asList(Color.RED)),
+                StringParsers.resolve(type("colors")).parse("RED,RED"));
+
+        @SuppressWarnings("unchecked")
+        List<Optional<Color>>[] listArray = (List<Optional<Color>>[])
+                StringParsers.resolve(type("listArray")).parse("GREEN");
+        assertEquals(1, listArray.length);
+        assertEquals(Arrays.asList(Optional.of(Color.GREEN)), listArray[0]);
+
+        assertThrows(IllegalArgumentException.class, () ->
+                StringParsers.resolve(type("map")));
+    }
+
+    /*
+     * Test sources are compiled for Java 11, so use a record of the JDK.
+     */
+    private static Class<?> principalRecord() {
+        try {
+            return Class.forName("jdk.net.UnixDomainPrincipal");
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    @Test
+    public void resolveRecords() throws Exception {
+        Class<?> record = principalRecord();
+        assumeTrue(record != null, "Records are not supported");
+
+        StringParsers.register(UserPrincipal.class, s -> () -> s);
+        StringParsers.register(GroupPrincipal.class, s -> () -> s);
+        try {
+            StringParser<?> p = StringParsers.resolve(record);
+            Object principal = p.parse("joe, staff");
+            assertEquals("joe", ((UserPrincipal)
+                    record.getMethod("user").invoke(principal)).getName());
+            assertEquals("staff", ((GroupPrincipal)
+                    record.getMethod("group").invoke(principal)).getName());
+            assertThrows(IllegalArgumentException.class, () ->
+                    p.parse("joe"));
+        } finally {
+            StringParsers.unregister(UserPrincipal.class);
+            StringParsers.unregister(GroupPrincipal.class);
+        }
+        assertThrows(IllegalArgumentException.class, () ->
+                StringParsers.resolve(record));
+    }
+
+    @Test
+    public void cacheResolvedParsers() throws Exception {
+        StringParser<?> p = StringParsers.resolve(type("longs"));
+        assertSame(p, StringParsers.resolve(type("longs")));
+
+        StringParsers.register(Long.class, s -> Long.valueOf(s) * 2);
+        try {
+            StringParser<?> doubling = StringParsers.resolve(type("longs"));
+            assertNotSame(p, doubling);
+            assertEquals(Arrays.asList(2L), doubling.parse("1"));
+        } finally {
+            StringParsers.register(
+                    Long.class, StringParsers.Defaults.LONG_PARSER);
+        }
+        assertEquals(Arrays.asList(1L),
+                StringParsers.resolve(type("longs")).parse("1"));
+    }
+
+}
@@ -0,0 +1,111 @@
+package mytools.util.date;
+
+import java.time.ZoneId;
+
+import mytools.util.date.impl.EpochEncodings;
+
+/**
+ * Encode timestamps as primitive numbers, which can be stored in arrays,
+ * grouped and compared without creating date objects.
+ *
+ * <ul>
+ * <li>epoch day: the number of days since 1970-01-01, as an {@code int}</li>
+ * <li>yyyymmdd: a date as a decimal {@code int}, like {@code 20261019}</li>
+ * <li>yyyymmddhhmmss: a date and time as a decimal {@code long}, like
+ * {@code 20261019153000}</li>
+ * </ul>
+ *
+ * <p>
+ * Both decimal encodings sort in the order of time. They are defined for
+ * years from 0 to 9999, and methods which would encode or decode a date
+ * out of these years throw {@code java.time.DateTimeException}, as do
+ * methods which would return an epoch day out of the {@code int} range.
+ * Timestamps are in UTC unless a zone is given.
+ * The bulk methods write into an output array, which must be at least as
+ * long as the input.
+ *
+ * <pre>{@code
+ *  long[] timestamps = ...;
+ *  int[] days = new int[timestamps.length];
+ *  DateEncodings.epochDays(timestamps, ZoneId.systemDefault(), days);
+ *  DateEncodings.yyyymmdd(days, days);
+ * }</pre>
+ */
+public interface DateEncodings {
+
+    static int epochDay(long epochSeconds) {
+        return EpochEncodings.epochDay(epochSeconds);
+    }
+
+    static int epochDay(long epochSeconds, ZoneId zone) {
+        return EpochEncodings.epochDay(epochSeconds, zone);
+    }
+
+    static int epochDayOfMillis(long epochMillis) {
+        return EpochEncodings.epochDayOfMillis(epochMillis);
+    }
+
+    static int yyyymmdd(int epochDay) {
+        return EpochEncodings.yyyymmdd(epochDay);
+    }
+
+    /**
+     * Decode a date.
+     *
+     * @throws java.time.DateTimeException if the month or the day
+     * is not valid
+     */
+    static int epochDayFromYyyymmdd(int yyyymmdd) {
+        return EpochEncodings.epochDayFromYyyymmdd(yyyymmdd);
+    }
+
+    static long yyyymmddhhmmss(long epochSeconds) {
+        return EpochEncodings.yyyymmddhhmmss(epochSeconds);
+    }
+
+    static long yyyymmddhhmmss(long epochSeconds, ZoneId zone) {
+        return EpochEncodings.yyyymmddhhmmss(epochSeconds, zone);
+    }
+
+    /**
+     * Decode a date and time in UTC.
+     *
+     * @throws java.time.DateTimeException if a field is not valid
+     */
+    static long epochSecondFromYyyymmddhhmmss(long yyyymmddhhmmss) {
+        return EpochEncodings.epochSecondFromYyyymmddhhmmss(yyyymmddhhmmss);
+    }
+
+    ///////////////////////// bulk conversions /////////////////////////
+
+    static void epochDays(long[] epochSeconds, int[] out) {
+        EpochEncodings.epochDays(epochSeconds, out);
+    }
+
+    static void epochDays(long[] epochSeconds, ZoneId zone, int[] out) {
+        EpochEncodings.epochDays(epochSeconds, zone, out);
+    }
+
+    static void epochDaysOfMillis(long[] epochMillis, int[] out) {
+        EpochEncodings.epochDaysOfMillis(epochMillis, out);
+    }
+
+    /**
+     * Encode the epoch days. The output may be the same array.
+     */
+    static void yyyymmdd(int[] epochDays, int[] out) {
+        EpochEncodings.yyyymmdd(epochDays, out);
+    }
+
+    /**
+     * Decode the dates. The output may be the same array.
+     */
+    static void epochDaysFromYyyymmdd(int[] yyyymmdd, int[] out) {
+        EpochEncodings.epochDaysFromYyyymmdd(yyyymmdd, out);
+    }
+
+    static void yyyymmddhhmmss(long[] epochSeconds, long[] out) {
+        EpochEncodings.yyyymmddhhmmss(epochSeconds, out);
+    }
+
+}
@@ -4,19 +4,49 @@ import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.Date;
 
 import mytools.util.date.impl.DateConversions;
 
+/**
+ * Conversions between the legacy {@code Date} and the {@code java.time}
+ * classes, in the system time zone unless a zone is given.
+ *
+ * <p>
+ * Conversions from epoch seconds cache the zone offset of every hour
+ * without a transition, so converting timestamps which are close to each
+ * other does not look up the zone rules, and creates no objects besides
+ * the result. The formatters are immutable and safe to share.
+ */
 public interface Dates {
 
+    /**
+     * The format of {@code Date.toString()}.
+     *
+     * @deprecated {@code SimpleDateFormat} is not thread safe, use
+     * {@link #DATE_TO_STRING_FORMATTER}, {@link #format(Date)} or
+     * {@link #parse(String)} instead.
+     */
+    @Deprecated
     DateFormat DATE_TO_STRING_FORMAT =
             new SimpleDateFormat("EEE MMM dd HH:mm:ss Z yyyy");
 
+    /**
+     * The format of {@code Date.toString()}, in the system time zone.
+     */
+    DateTimeFormatter DATE_TO_STRING_FORMATTER =
+            DateConversions.DATE_TO_STRING_FORMATTER;
+
     static LocalDateTime localDateTime(long epochSeconds) {
         return DateConversions.localDateTime(epochSeconds);
     }
 
+    static LocalDateTime localDateTime(long epochSeconds, ZoneId zone) {
+        return DateConversions.localDateTime(epochSeconds, zone);
+    }
+
     static LocalDateTime localDateTime(Date date) {
         return DateConversions.localDateTime(date);
     }
@@ -33,4 +63,19 @@ public interface Dates {
         return DateConversions.date(date);
     }
 
+    /**
+     * Format a date the same way as {@code Date.toString()} does.
+     */
+    static String format(Date date) {
+        return DateConversions.format(date);
+    }
+
+    /**
+     * Parse a date in the format of {@code Date.toString()}. The zone may
+     * also be a numeric offset, like {@code -0500}.
+     */
+    static Date parse(String s) {
+        return DateConversions.parse(s);
+    }
+
 }
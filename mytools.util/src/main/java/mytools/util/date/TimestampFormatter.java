@@ -0,0 +1,290 @@
+package mytools.util.date;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.Locale;
+
+import mytools.util.date.impl.ZoneOffsets;
+
+/**
+ * A formatter for timestamps which are formatted one after another, such
+ * as the times of log records. The text of the current minute is formatted
+ * once, and for every timestamp in that minute only the digits of the
+ * seconds and of the fraction of a second are written.
+ *
+ * <p>
+ * The pattern is a {@link DateTimeFormatter} pattern which contains the
+ * seconds as {@code ss} once, optionally followed by one separator and the
+ * fraction of a second, like {@code ss.SSS}. No other field may change
+ * within a minute.
+ *
+ * <p>
+ * The formatter is immutable apart from the text of the current minute,
+ * which is replaced as a whole, so it is safe to share between threads.
+ *
+ * <pre>{@code
+ *  TimestampFormatter f = TimestampFormatter.ofPattern(
+ *          TimestampFormatter.DEFAULT_PATTERN);
+ *  f.format(System.currentTimeMillis(), logLine); // 2026-10-19 15:30:00.123
+ * }</pre>
+ */
+public final class TimestampFormatter {
+
+    public static final String DEFAULT_PATTERN = "yyyy-MM-dd HH:mm:ss.SSS";
+
+    private static final int MILLIS_PER_SECOND = 1000;
+    private static final int NANOS_PER_MILLI = 1_000_000;
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final int MAX_FRACTION_DIGITS = 9;
+    private static final int TEN = 10;
+    private static final int[] POWERS_OF_TEN = {
+        1, 10, 100, 1000, 10_000, 100_000, 1_000_000, 10_000_000,
+        100_000_000, 1_000_000_000,
+    };
+    private static final String SUB_MINUTE_FIELDS = "sSnNA";
+
+    private final String pattern;
+    private final ZoneId zone;
+    private final ZoneOffsets offsets;
+    private final DateTimeFormatter head;
+    private final DateTimeFormatter tail;
+    private final String separator;
+    private final int fractionDigits;
+
+    private volatile Minute current;
+
+    private TimestampFormatter(String pattern, ZoneId zone, Locale locale) {
+        int seconds = -1;
+        int fractionStart = -1;
+        int fractionEnd = -1;
+        boolean quoted = false;
+        int i = 0;
+        while (i < pattern.length()) {
+            char ch = pattern.charAt(i);
+            int end = i + 1;
+            if (ch == '\'') {
+                quoted = !quoted;
+            } else if (!quoted && isLetter(ch)) {
+                while (end < pattern.length() && pattern.charAt(end) == ch) {
+                    end++;
+                }
+                if (ch == 's' && end - i == 2 && seconds < 0) {
+                    seconds = i;
+                    int s = end + 1;
+                    int e = s;
+                    while (e < pattern.length() && pattern.charAt(e) == 'S') {
+                        e++;
+                    }
+                    if (e > s && e - s <= MAX_FRACTION_DIGITS
+                            && isSeparator(pattern.charAt(end))) {
+                        fractionStart = end;
+                        fractionEnd = e;
+                        end = e;
+                    }
+                } else if (SUB_MINUTE_FIELDS.indexOf(ch) >= 0) {
+                    throw invalidPattern(pattern);
+                }
+            }
+            i = end;
+        }
+        if (seconds < 0) {
+            throw invalidPattern(pattern);
+        }
+
+        int tailStart = fractionStart < 0 ? seconds + 2 : fractionEnd;
+        this.pattern = pattern;
+        this.zone = zone;
+        this.offsets = ZoneOffsets.of(zone);
+        this.head = formatter(pattern.substring(0, seconds), zone, locale);
+        this.tail = formatter(pattern.substring(tailStart), zone, locale);
+        this.separator = fractionStart < 0 ? "" :
+                pattern.substring(fractionStart, fractionStart + 1);
+        this.fractionDigits = fractionStart < 0 ? 0 :
+                fractionEnd - fractionStart - 1;
+        this.current = new Minute(Long.MIN_VALUE, 0, new char[0], 0);
+    }
+
+    /**
+     * Create a formatter in the system time zone and the default locale.
+     *
+     * @throws IllegalArgumentException if the pattern is not valid
+     */
+    public static TimestampFormatter ofPattern(String pattern) {
+        return ofPattern(pattern, ZoneId.systemDefault(),
+                Locale.getDefault(Locale.Category.FORMAT));
+    }
+
+    /**
+     * Create a formatter in the given time zone and locale.
+     *
+     * @throws IllegalArgumentException if the pattern is not valid
+     */
+    public static TimestampFormatter ofPattern(
+            String pattern, ZoneId zone, Locale locale) {
+        return new TimestampFormatter(pattern, zone, locale);
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    public String format(long epochMillis) {
+        Minute m = minute(Math.floorDiv(epochMillis, MILLIS_PER_SECOND));
+        char[] text = m.text.clone();
+        write(m, epochMillis, text, 0);
+        return new String(text);
+    }
+
+    public String format(Date date) {
+        return format(date.getTime());
+    }
+
+    /**
+     * Format a local date time in the time zone of this formatter.
+     */
+    public String format(LocalDateTime dateTime) {
+        return format(epochMillis(dateTime));
+    }
+
+    public StringBuilder format(long epochMillis, StringBuilder out) {
+        Minute m = minute(Math.floorDiv(epochMillis, MILLIS_PER_SECOND));
+        int start = out.length();
+        out.append(m.text);
+        write(m, epochMillis, out, start);
+        return out;
+    }
+
+    public StringBuilder format(LocalDateTime dateTime, StringBuilder out) {
+        return format(epochMillis(dateTime), out);
+    }
+
+    /**
+     * Write the formatted timestamp into the array at the given offset,
+     * and return the offset after it.
+     *
+     * @throws IndexOutOfBoundsException if the text does not fit
+     */
+    public int format(long epochMillis, char[] out, int offset) {
+        Minute m = minute(Math.floorDiv(epochMillis, MILLIS_PER_SECOND));
+        System.arraycopy(m.text, 0, out, offset, m.text.length);
+        write(m, epochMillis, out, offset);
+        return offset + m.text.length;
+    }
+
+    @Override
+    public String toString() {
+        return "TimestampFormatter[" + pattern + ", " + zone + "]";
+    }
+
+    private long epochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    /*
+     * The text of the minute of the given second, where the seconds and
+     * the fraction are zeros.
+     */
+    private Minute minute(long epochSecond) {
+        int offset = offsets.offsetSeconds(epochSecond);
+        long localMinute =
+                Math.floorDiv(epochSecond + offset, SECONDS_PER_MINUTE);
+        Minute m = current;
+        if (m.localMinute != localMinute || m.offset != offset) {
+            ZonedDateTime start = Instant.ofEpochSecond(
+                    epochSecond - Math.floorMod(
+                            epochSecond + offset, SECONDS_PER_MINUTE))
+                    .atZone(zone);
+            String prefix = head.format(start);
+            String text = prefix + "00" + separator
+                    + "0".repeat(fractionDigits) + tail.format(start);
+            m = new Minute(localMinute, offset, text.toCharArray(),
+                    prefix.length());
+            current = m;
+        }
+        return m;
+    }
+
+    private void write(Minute m, long epochMillis, char[] out, int offset) {
+        int at = offset + m.secondsAt;
+        int second = second(m, epochMillis);
+        out[at] = (char) ('0' + second / TEN);
+        out[at + 1] = (char) ('0' + second % TEN);
+        at += 2 + separator.length();
+        int fraction = fraction(epochMillis);
+        for (int i = at + fractionDigits - 1; i >= at; i--) {
+            out[i] = (char) ('0' + fraction % TEN);
+            fraction /= TEN;
+        }
+    }
+
+    private void write(Minute m, long epochMillis, StringBuilder out,
+            int offset) {
+        int at = offset + m.secondsAt;
+        int second = second(m, epochMillis);
+        out.setCharAt(at, (char) ('0' + second / TEN));
+        out.setCharAt(at + 1, (char) ('0' + second % TEN));
+        at += 2 + separator.length();
+        int fraction = fraction(epochMillis);
+        for (int i = at + fractionDigits - 1; i >= at; i--) {
+            out.setCharAt(i, (char) ('0' + fraction % TEN));
+            fraction /= TEN;
+        }
+    }
+
+    private static int second(Minute m, long epochMillis) {
+        long epochSecond = Math.floorDiv(epochMillis, MILLIS_PER_SECOND);
+        return (int) Math.floorMod(epochSecond + m.offset, SECONDS_PER_MINUTE);
+    }
+
+    /*
+     * The fraction of the second with the number of digits of the pattern.
+     */
+    private int fraction(long epochMillis) {
+        int nanos = (int) Math.floorMod(epochMillis, MILLIS_PER_SECOND)
+                * NANOS_PER_MILLI;
+        return nanos / POWERS_OF_TEN[MAX_FRACTION_DIGITS - fractionDigits];
+    }
+
+    private static boolean isSeparator(char ch) {
+        return !isLetter(ch) && ch != '\'' && ch != '[' && ch != ']';
+    }
+
+    private static boolean isLetter(char ch) {
+        return ch >= 'a' && ch <= 'z' || ch >= 'A' && ch <= 'Z';
+    }
+
+    private static DateTimeFormatter formatter(
+            String pattern, ZoneId zone, Locale locale) {
+        return DateTimeFormatter.ofPattern(pattern, locale).withZone(zone);
+    }
+
+    private static IllegalArgumentException invalidPattern(String pattern) {
+        return new IllegalArgumentException("Pattern must contain the "
+                + "seconds as 'ss' once, optionally followed by a "
+                + "separator and 'S' digits, and no other field which "
+                + "changes within a minute: " + pattern);
+    }
+
+    /*
+     * The text of a minute in the local time, with the offset from UTC.
+     */
+    private static final class Minute {
+
+        private final long localMinute;
+        private final int offset;
+        private final char[] text;
+        private final int secondsAt;
+
+        Minute(long localMinute, int offset, char[] text, int secondsAt) {
+            this.localMinute = localMinute;
+            this.offset = offset;
+            this.text = text;
+            this.secondsAt = secondsAt;
+        }
+    }
+
+}
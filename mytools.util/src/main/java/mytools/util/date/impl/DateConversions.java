@@ -1,26 +1,42 @@
 package mytools.util.date.impl;
 
-import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.Date;
+import java.util.Locale;
 
 public final class DateConversions {
 
     private DateConversions() { }
 
     private static final ZoneId SYSTEM_ZONE = ZoneId.systemDefault();
+    private static final ZoneOffsets SYSTEM_OFFSETS =
+            ZoneOffsets.of(SYSTEM_ZONE);
+
+    public static final DateTimeFormatter DATE_TO_STRING_FORMATTER =
+            DateTimeFormatter.ofPattern("EEE MMM dd HH:mm:ss zzz yyyy",
+                    Locale.US).withZone(SYSTEM_ZONE);
+
+    /*
+     * Also accept numeric offsets, like the former SimpleDateFormat did.
+     */
+    private static final DateTimeFormatter DATE_TO_STRING_PARSER =
+            DateTimeFormatter.ofPattern("EEE MMM dd HH:mm:ss [zzz][xx] yyyy",
+                    Locale.US);
 
     public static LocalDateTime localDateTime(long epochSeconds) {
-        Instant i = Instant.ofEpochSecond(epochSeconds, 0);
-        ZonedDateTime utcZoned = ZonedDateTime.ofInstant(i, SYSTEM_ZONE);
-        return utcZoned.toLocalDateTime();
+        return SYSTEM_OFFSETS.localDateTime(epochSeconds, 0);
+    }
+
+    public static LocalDateTime localDateTime(long epochSeconds, ZoneId zone) {
+        return offsets(zone).localDateTime(epochSeconds, 0);
     }
 
     public static LocalDateTime localDateTime(Date date) {
-        return date.toInstant().atZone(SYSTEM_ZONE).toLocalDateTime();
+        return SYSTEM_OFFSETS.localDateTimeOfMillis(date.getTime());
     }
 
     public static LocalDate localDate(Date date) {
@@ -34,4 +50,18 @@ public final class DateConversions {
     public static Date date(LocalDate date) {
         return date(date.atStartOfDay());
     }
+
+    public static String format(Date date) {
+        return DATE_TO_STRING_FORMATTER.format(date.toInstant());
+    }
+
+    public static Date parse(String s) {
+        return Date.from(
+                ZonedDateTime.parse(s, DATE_TO_STRING_PARSER).toInstant());
+    }
+
+    private static ZoneOffsets offsets(ZoneId zone) {
+        return zone.equals(SYSTEM_ZONE) ? SYSTEM_OFFSETS : ZoneOffsets.of(zone);
+    }
+
 }
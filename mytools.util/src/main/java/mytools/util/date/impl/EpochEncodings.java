@@ -0,0 +1,204 @@
+package mytools.util.date.impl;
+
+import java.time.DateTimeException;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneId;
+
+/*
+ * The conversions between days and civil dates count in eras of 400 years
+ * which start on March 1st, so that the leap day is the last day of a year,
+ * and need no tables and no objects. See Howard Hinnant's "chrono-compatible
+ * low-level date algorithms".
+ */
+public final class EpochEncodings {
+
+    private EpochEncodings() { }
+
+    private static final int SECONDS_PER_DAY = 86400;
+    private static final int MILLIS_PER_DAY = 86_400_000;
+    private static final int SECONDS_PER_HOUR = 3600;
+    private static final int HOURS_PER_DAY = 24;
+    private static final int SECONDS_PER_MINUTE = 60;
+
+    private static final int DAYS_TO_EPOCH = 719_468;
+    private static final int DAYS_PER_ERA = 146_097;
+    private static final int YEARS_PER_ERA = 400;
+    private static final int DAYS_PER_YEAR = 365;
+    private static final int DAYS_PER_4_YEARS = 1460;
+    private static final int DAYS_PER_100_YEARS = 36_524;
+    private static final int YEARS_PER_LEAP = 4;
+    private static final int YEARS_PER_CENTURY = 100;
+    private static final int MONTHS_PER_YEAR = 12;
+    private static final int MARCH = 3;
+    private static final int FIVE_MONTHS = 5;
+    private static final int DAYS_PER_5_MONTHS = 153;
+    private static final int MONTHS_FROM_MARCH = 9;
+
+    // 0000-01-01 and 9999-12-31, the range of the decimal encodings
+    private static final int MIN_EPOCH_DAY = -719_528;
+    private static final int MAX_EPOCH_DAY = 2_932_896;
+    private static final int MAX_YYYYMMDD = 99_991_231;
+
+    private static final int YEAR = 10_000;
+    private static final int MONTH = 100;
+    private static final long DAY = 1_000_000L;
+    private static final int HOUR = 10_000;
+    private static final int MINUTE = 100;
+
+    public static int epochDay(long epochSeconds) {
+        return toInt(Math.floorDiv(epochSeconds, SECONDS_PER_DAY));
+    }
+
+    public static int epochDay(long epochSeconds, ZoneId zone) {
+        return epochDay(epochSeconds
+                + ZoneOffsets.of(zone).offsetSeconds(epochSeconds));
+    }
+
+    public static int epochDayOfMillis(long epochMillis) {
+        return toInt(Math.floorDiv(epochMillis, MILLIS_PER_DAY));
+    }
+
+    public static int yyyymmdd(int epochDay) {
+        if (epochDay < MIN_EPOCH_DAY || epochDay > MAX_EPOCH_DAY) {
+            throw new DateTimeException(
+                    "Epoch day out of years 0 to 9999: " + epochDay);
+        }
+        int z = epochDay + DAYS_TO_EPOCH;
+        int era = Math.floorDiv(z, DAYS_PER_ERA);
+        int dayOfEra = z - era * DAYS_PER_ERA;
+        int yearOfEra = (dayOfEra - dayOfEra / DAYS_PER_4_YEARS
+                + dayOfEra / DAYS_PER_100_YEARS
+                - dayOfEra / (DAYS_PER_ERA - 1)) / DAYS_PER_YEAR;
+        int dayOfYear = dayOfEra - (DAYS_PER_YEAR * yearOfEra
+                + yearOfEra / YEARS_PER_LEAP - yearOfEra / YEARS_PER_CENTURY);
+        int m = (FIVE_MONTHS * dayOfYear + 2) / DAYS_PER_5_MONTHS;
+        int day = dayOfYear - (DAYS_PER_5_MONTHS * m + 2) / FIVE_MONTHS + 1;
+        int month = m < MONTHS_PER_YEAR - MARCH + 1
+                ? m + MARCH : m - MONTHS_FROM_MARCH;
+        int year = yearOfEra + era * YEARS_PER_ERA + (month < MARCH ? 1 : 0);
+        return year * YEAR + month * MONTH + day;
+    }
+
+    public static int epochDayFromYyyymmdd(int yyyymmdd) {
+        int year = yyyymmdd / YEAR;
+        int month = yyyymmdd / MONTH % MONTH;
+        int day = yyyymmdd % MONTH;
+        if (yyyymmdd > MAX_YYYYMMDD
+                || month < 1 || month > MONTHS_PER_YEAR
+                || day < 1 || day > lengthOfMonth(year, month)) {
+            throw new DateTimeException("Invalid date: " + yyyymmdd);
+        }
+
+        int y = month < MARCH ? year - 1 : year;
+        int era = Math.floorDiv(y, YEARS_PER_ERA);
+        int yearOfEra = y - era * YEARS_PER_ERA;
+        int m = month < MARCH ? month + MONTHS_FROM_MARCH : month - MARCH;
+        int dayOfYear = (DAYS_PER_5_MONTHS * m + 2) / FIVE_MONTHS + day - 1;
+        int dayOfEra = yearOfEra * DAYS_PER_YEAR + yearOfEra / YEARS_PER_LEAP
+                - yearOfEra / YEARS_PER_CENTURY + dayOfYear;
+        return era * DAYS_PER_ERA + dayOfEra - DAYS_TO_EPOCH;
+    }
+
+    public static long yyyymmddhhmmss(long epochSeconds) {
+        int epochDay = epochDay(epochSeconds);
+        int second = (int) (epochSeconds - (long) epochDay * SECONDS_PER_DAY);
+        return yyyymmdd(epochDay) * DAY
+                + second / SECONDS_PER_HOUR * HOUR
+                + second / SECONDS_PER_MINUTE % SECONDS_PER_MINUTE * MINUTE
+                + second % SECONDS_PER_MINUTE;
+    }
+
+    public static long yyyymmddhhmmss(long epochSeconds, ZoneId zone) {
+        return yyyymmddhhmmss(epochSeconds
+                + ZoneOffsets.of(zone).offsetSeconds(epochSeconds));
+    }
+
+    public static long epochSecondFromYyyymmddhhmmss(
+            long yyyymmddhhmmss) {
+        int time = (int) (yyyymmddhhmmss % DAY);
+        int hour = time / HOUR;
+        int minute = time / MINUTE % MINUTE;
+        int second = time % MINUTE;
+        if (hour >= HOURS_PER_DAY || minute >= SECONDS_PER_MINUTE
+                || second >= SECONDS_PER_MINUTE) {
+            throw new DateTimeException("Invalid time: " + yyyymmddhhmmss);
+        }
+        int date = (int) (yyyymmddhhmmss / DAY);
+        return (long) epochDayFromYyyymmdd(date) * SECONDS_PER_DAY
+                + hour * SECONDS_PER_HOUR + minute * SECONDS_PER_MINUTE
+                + second;
+    }
+
+    ///////////////////////// bulk conversions /////////////////////////
+
+    /*
+     * Plain counted loops over arrays, with the conversions inlined, which
+     * the compiler can unroll and run without bounds checks.
+     */
+
+    public static void epochDays(long[] epochSeconds, int[] out) {
+        checkLengths(epochSeconds.length, out.length);
+        for (int i = 0; i < epochSeconds.length; i++) {
+            out[i] = epochDay(epochSeconds[i]);
+        }
+    }
+
+    public static void epochDays(long[] epochSeconds, ZoneId zone,
+            int[] out) {
+        checkLengths(epochSeconds.length, out.length);
+        ZoneOffsets offsets = ZoneOffsets.of(zone);
+        for (int i = 0; i < epochSeconds.length; i++) {
+            long s = epochSeconds[i];
+            out[i] = epochDay(s + offsets.offsetSeconds(s));
+        }
+    }
+
+    public static void epochDaysOfMillis(long[] epochMillis, int[] out) {
+        checkLengths(epochMillis.length, out.length);
+        for (int i = 0; i < epochMillis.length; i++) {
+            out[i] = epochDayOfMillis(epochMillis[i]);
+        }
+    }
+
+    public static void yyyymmdd(int[] epochDays, int[] out) {
+        checkLengths(epochDays.length, out.length);
+        for (int i = 0; i < epochDays.length; i++) {
+            out[i] = yyyymmdd(epochDays[i]);
+        }
+    }
+
+    public static void epochDaysFromYyyymmdd(int[] yyyymmdd, int[] out) {
+        checkLengths(yyyymmdd.length, out.length);
+        for (int i = 0; i < yyyymmdd.length; i++) {
+            out[i] = epochDayFromYyyymmdd(yyyymmdd[i]);
+        }
+    }
+
+    public static void yyyymmddhhmmss(long[] epochSeconds, long[] out) {
+        checkLengths(epochSeconds.length, out.length);
+        for (int i = 0; i < epochSeconds.length; i++) {
+            out[i] = yyyymmddhhmmss(epochSeconds[i]);
+        }
+    }
+
+    private static void checkLengths(int in, int out) {
+        if (out < in) {
+            throw new IllegalArgumentException("Output array is shorter "
+                    + "than input array: " + out + " < " + in);
+        }
+    }
+
+    private static int toInt(long epochDay) {
+        if (epochDay < Integer.MIN_VALUE || epochDay > Integer.MAX_VALUE) {
+            throw new DateTimeException("Epoch day out of int range: "
+                    + epochDay);
+        }
+        return (int) epochDay;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return Month.of(month).length(Year.isLeap(year));
+    }
+
+}
@@ -0,0 +1,108 @@
+package mytools.util.date.impl;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * Offsets of a time zone by the hour of the epoch. The offset of an hour
+ * without a transition is cached in a slot of an array, which is chosen by
+ * the hour. The hour and the offset are packed in one long, so the slot is
+ * read and written at once, and no lock is needed. The hours with a
+ * transition are not cached, and zones with a fixed offset need no cache.
+ */
+public final class ZoneOffsets {
+
+    private static final int SECONDS_PER_HOUR = 3600;
+    private static final int SECONDS_PER_DAY = 86400;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final int NANOS_PER_MILLI = 1_000_000;
+    private static final int MILLIS_PER_SECOND = 1000;
+    private static final int CACHE_SIZE = 4096;
+    private static final int NO_OFFSET = Integer.MIN_VALUE;
+    private static final long OFFSET_MASK = 0xFFFFFFFFL;
+
+    private static final ConcurrentMap<ZoneId, ZoneOffsets> ZONES =
+            new ConcurrentHashMap<>();
+
+    private final ZoneId zone;
+    private final ZoneRules rules;
+    private final int fixedOffset;
+    private final AtomicLongArray hours;
+
+    private ZoneOffsets(ZoneId zone) {
+        this.zone = zone;
+        this.rules = zone.getRules();
+        if (rules.isFixedOffset()) {
+            fixedOffset = rules.getOffset(Instant.EPOCH).getTotalSeconds();
+            hours = null;
+        } else {
+            fixedOffset = NO_OFFSET;
+            hours = new AtomicLongArray(CACHE_SIZE);
+            for (int i = 0; i < CACHE_SIZE; i++) {
+                hours.set(i, NO_OFFSET & OFFSET_MASK);
+            }
+        }
+    }
+
+    public static ZoneOffsets of(ZoneId zone) {
+        return ZONES.computeIfAbsent(zone, ZoneOffsets::new);
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    public int offsetSeconds(long epochSeconds) {
+        if (fixedOffset != NO_OFFSET) return fixedOffset;
+
+        long hour = Math.floorDiv(epochSeconds, SECONDS_PER_HOUR);
+        if (hour != (int) hour) return offsetOf(epochSeconds);
+
+        int slot = (int) hour & (CACHE_SIZE - 1);
+        long cached = hours.getOpaque(slot);
+        int offset = (int) cached;
+        if (offset != NO_OFFSET && (int) (cached >> Integer.SIZE) == hour) {
+            return offset;
+        }
+
+        long start = hour * SECONDS_PER_HOUR;
+        Instant i = Instant.ofEpochSecond(start);
+        ZoneOffsetTransition next = rules.nextTransition(i);
+        if (next != null && next.toEpochSecond() < start + SECONDS_PER_HOUR) {
+            return offsetOf(epochSeconds);
+        }
+        offset = rules.getOffset(i).getTotalSeconds();
+        hours.setOpaque(slot, (hour << Integer.SIZE) | (offset & OFFSET_MASK));
+        return offset;
+    }
+
+    public LocalDateTime localDateTime(long epochSeconds, int nanoOfSecond) {
+        long local = epochSeconds + offsetSeconds(epochSeconds);
+        long day = Math.floorDiv(local, SECONDS_PER_DAY);
+        long secondOfDay = Math.floorMod(local, SECONDS_PER_DAY);
+        return LocalDateTime.of(LocalDate.ofEpochDay(day),
+                LocalTime.ofNanoOfDay(secondOfDay * NANOS_PER_SECOND
+                        + nanoOfSecond));
+    }
+
+    public LocalDateTime localDateTimeOfMillis(long epochMillis) {
+        return localDateTime(
+                Math.floorDiv(epochMillis, MILLIS_PER_SECOND),
+                (int) Math.floorMod(epochMillis, MILLIS_PER_SECOND)
+                        * NANOS_PER_MILLI);
+    }
+
+    private int offsetOf(long epochSeconds) {
+        return rules.getOffset(Instant.ofEpochSecond(epochSeconds))
+                .getTotalSeconds();
+    }
+
+}
@@ -0,0 +1,270 @@
+package mytools.util.exception;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Count exceptions by their {@link ExceptionFingerprint}, and report every
+ * fingerprint once per interval, with one sample exception and the number
+ * of times it happened. This keeps a storm of identical failures from
+ * flooding the logs.
+ *
+ * <p>
+ * Recording an exception costs a fingerprint and a counter increment. The
+ * report of an interval is sent by the first record after the interval
+ * ends, so no thread is needed; {@link #flush()} sends it right away, and
+ * {@link #close()} sends the last one. Fingerprints with no exceptions in
+ * an interval are forgotten. If there are too many fingerprints, new ones
+ * are only counted by {@link #getDroppedCount()}.
+ *
+ * <p>
+ * The aggregator is a {@code Consumer}, so it may be given to the
+ * exception callbacks of other decorators:
+ *
+ * <pre>{@code
+ *  ExceptionAggregator errors = ExceptionAggregator.of(
+ *          Duration.ofMinutes(1),
+ *          s -> log.warn(s.getCount() + " times: "
+ *                  + Exceptions.getRootStackTrace(s.getSample())));
+ *
+ *  retried(policy, errors::accept, () -> callDependency());
+ *  safe(record -> parse(record), errors);
+ * }</pre>
+ */
+public final class ExceptionAggregator
+        implements Consumer<Throwable>, AutoCloseable {
+
+    public static final int DEFAULT_MAX_FINGERPRINTS = 1000;
+
+    private final long intervalNanos;
+    private final int depth;
+    private final int maxFingerprints;
+    private final Consumer<? super Summary> sink;
+    private final LongSupplier ticker;
+
+    private final Map<ExceptionFingerprint, Entry> entries =
+            new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile long intervalStart;
+
+    private ExceptionAggregator(Duration interval, int depth,
+            int maxFingerprints, Consumer<? super Summary> sink,
+            LongSupplier ticker) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Interval must be positive");
+        }
+        if (maxFingerprints <= 0) {
+            throw new IllegalArgumentException(
+                    "Maximum number of fingerprints must be positive");
+        }
+        this.intervalNanos = interval.toNanos();
+        this.depth = depth;
+        this.maxFingerprints = maxFingerprints;
+        this.sink = sink;
+        this.ticker = ticker;
+        this.intervalStart = ticker.getAsLong();
+    }
+
+    /**
+     * Report the exceptions every given interval to the given consumer,
+     * with fingerprints of the default depth.
+     */
+    public static ExceptionAggregator of(
+            Duration interval, Consumer<? super Summary> sink) {
+        return of(interval, ExceptionFingerprint.DEFAULT_DEPTH,
+                DEFAULT_MAX_FINGERPRINTS, sink);
+    }
+
+    /**
+     * Report the exceptions every given interval to the given consumer,
+     * with fingerprints of the given depth, and count at most the given
+     * number of fingerprints in an interval.
+     */
+    public static ExceptionAggregator of(Duration interval, int depth,
+            int maxFingerprints, Consumer<? super Summary> sink) {
+        return new ExceptionAggregator(
+                interval, depth, maxFingerprints, sink, System::nanoTime);
+    }
+
+    /*
+     * Use the given source of nanosecond time instead of System.nanoTime().
+     * Used in tests.
+     */
+    static ExceptionAggregator of(Duration interval,
+            Consumer<? super Summary> sink, LongSupplier ticker) {
+        return new ExceptionAggregator(interval,
+                ExceptionFingerprint.DEFAULT_DEPTH, DEFAULT_MAX_FINGERPRINTS,
+                sink, ticker);
+    }
+
+    /**
+     * Record an exception, and send the report of the previous interval
+     * if it ended.
+     */
+    @Override
+    public void accept(Throwable e) {
+        if (ticker.getAsLong() - intervalStart >= intervalNanos
+                && flushLock.tryLock()) {
+            try {
+                if (ticker.getAsLong() - intervalStart >= intervalNanos) {
+                    report();
+                }
+            } finally {
+                flushLock.unlock();
+            }
+        }
+
+        ExceptionFingerprint f = ExceptionFingerprint.of(e, depth);
+        while (true) {
+            Entry entry = entries.get(f);
+            if (entry == null) {
+                if (entries.size() >= maxFingerprints) {
+                    dropped.increment();
+                    return;
+                }
+                entry = entries.computeIfAbsent(f, Entry::new);
+            }
+            entry.sample.compareAndSet(null, e);
+            if (entry.count.getAndIncrement() >= 0) {
+                return;
+            }
+            // the entry was removed by report(), count in a new one
+        }
+    }
+
+    /**
+     * Send the report of the current interval now, and start a new one.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            report();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Send the report of the current interval.
+     */
+    @Override
+    public void close() {
+        flush();
+    }
+
+    /**
+     * The number of exceptions which were not counted, because there were
+     * too many fingerprints.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ExceptionAggregator[fingerprints=" + entries.size()
+                + ", dropped=" + dropped.sum() + "]";
+    }
+
+    /*
+     * Counts are taken with getAndSet(0), so an exception which is recorded
+     * while the report is sent is counted in the next interval. An entry
+     * with no exceptions is marked removed before it is removed from the
+     * map, only if its count is still zero, so that accept() does not
+     * count in it after that.
+     */
+    private void report() {
+        long start = intervalStart;
+        long end = ticker.getAsLong();
+        intervalStart = end;
+        Duration interval = Duration.ofNanos(end - start);
+        for (Entry entry : entries.values()) {
+            long count = entry.count.getAndSet(0);
+            if (count == 0) {
+                if (entry.count.compareAndSet(0, Entry.REMOVED)) {
+                    entries.remove(entry.fingerprint, entry);
+                }
+                continue;
+            }
+            Throwable sample = entry.sample.getAndSet(null);
+            if (sample == null) {
+                sample = entry.lastSample;
+            }
+            entry.lastSample = sample;
+            sink.accept(new Summary(entry.fingerprint, sample, count,
+                    interval));
+        }
+    }
+
+    /*
+     * The count and the first exception of a fingerprint in an interval.
+     * The count of a removed entry is negative.
+     */
+    private static final class Entry {
+
+        static final long REMOVED = Long.MIN_VALUE;
+
+        private final ExceptionFingerprint fingerprint;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicReference<Throwable> sample =
+                new AtomicReference<>();
+        private Throwable lastSample;
+
+        Entry(ExceptionFingerprint fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    /**
+     * The exceptions of one fingerprint in one interval.
+     */
+    public static final class Summary {
+
+        private final ExceptionFingerprint fingerprint;
+        private final Throwable sample;
+        private final long count;
+        private final Duration interval;
+
+        Summary(ExceptionFingerprint fingerprint, Throwable sample,
+                long count, Duration interval) {
+            this.fingerprint = fingerprint;
+            this.sample = sample;
+            this.count = count;
+            this.interval = interval;
+        }
+
+        public ExceptionFingerprint getFingerprint() {
+            return fingerprint;
+        }
+
+        /**
+         * One of the exceptions, usually the first one in the interval.
+         */
+        public Throwable getSample() {
+            return sample;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public Duration getInterval() {
+            return interval;
+        }
+
+        @Override
+        public String toString() {
+            return count + " x " + fingerprint + " in " + interval + ": "
+                    + sample;
+        }
+    }
+
+}
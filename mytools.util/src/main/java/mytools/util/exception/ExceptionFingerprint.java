@@ -0,0 +1,109 @@
+package mytools.util.exception;
+
+import java.util.Arrays;
+
+/**
+ * Identifies exceptions which come from the same failure: the class of the
+ * root cause, and the top frames of its stack trace. Messages are left out,
+ * since they often contain ids or values which differ between otherwise
+ * identical failures.
+ *
+ * <p>
+ * Two fingerprints are equal if the classes and the frames are equal. The
+ * hash is computed once, from the class name and the frames, so it is the
+ * same in every run of the same code.
+ */
+public final class ExceptionFingerprint {
+
+    public static final int DEFAULT_DEPTH = 5;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final int BYTE_MASK = 0xFF;
+
+    private final Class<? extends Throwable> type;
+    private final StackTraceElement[] frames;
+    private final long hash;
+
+    private ExceptionFingerprint(
+            Class<? extends Throwable> type, StackTraceElement[] frames) {
+        this.type = type;
+        this.frames = frames;
+        long h = mix(FNV_OFFSET, type.getName().hashCode());
+        for (StackTraceElement f : frames) {
+            h = mix(h, f.getClassName().hashCode());
+            h = mix(h, f.getMethodName().hashCode());
+            h = mix(h, f.getLineNumber());
+        }
+        this.hash = h;
+    }
+
+    /**
+     * The fingerprint of the root cause, with its top
+     * {@value #DEFAULT_DEPTH} frames.
+     */
+    public static ExceptionFingerprint of(Throwable e) {
+        return of(e, DEFAULT_DEPTH);
+    }
+
+    /**
+     * The fingerprint of the root cause, with the given number of its
+     * top frames.
+     */
+    public static ExceptionFingerprint of(Throwable e, int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("Depth must not be negative");
+        }
+        Throwable root = Exceptions.getRootCause(e);
+        StackTraceElement[] trace = root.getStackTrace();
+        return new ExceptionFingerprint(root.getClass(), trace.length > depth
+                ? Arrays.copyOf(trace, depth) : trace);
+    }
+
+    public Class<? extends Throwable> getType() {
+        return type;
+    }
+
+    public StackTraceElement[] getFrames() {
+        return frames.clone();
+    }
+
+    /**
+     * A 64 bit hash, which is the same in every run of the same code.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ExceptionFingerprint)) return false;
+        ExceptionFingerprint f = (ExceptionFingerprint) o;
+        return hash == f.hash && type == f.type
+                && Arrays.equals(frames, f.frames);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hash);
+    }
+
+    @Override
+    public String toString() {
+        return type.getName() + "@" + Long.toHexString(hash);
+    }
+
+    /*
+     * FNV-1a over the four bytes of the value.
+     */
+    private static long mix(long h, int value) {
+        long result = h;
+        for (int shift = 0; shift < Integer.SIZE; shift += Byte.SIZE) {
+            result ^= (value >>> shift) & BYTE_MASK;
+            result *= FNV_PRIME;
+        }
+        return result;
+    }
+
+}
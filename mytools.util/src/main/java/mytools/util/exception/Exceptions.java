@@ -1,23 +1,28 @@
 package mytools.util.exception;
 
-import java.io.IOException;
-import java.io.PrintWriter;
-import java.io.StringWriter;
-import java.io.UncheckedIOException;
-import java.io.Writer;
-
 public final class Exceptions {
 
     private Exceptions() { }
 
+    private static final int CACHE_SIZE = 256;
+
+    /*
+     * Traces of exceptions which are thrown over and over, such as the ones
+     * of failed records in a batch, are rendered once.
+     */
+    private static final StackTraceRenderer RENDERER =
+            StackTraceRenderer.full().withCacheSize(CACHE_SIZE);
+
     public static String getStackTrace(Throwable e) {
-        try (Writer result = new StringWriter();
-            PrintWriter printWriter = new PrintWriter(result)) {
-            e.printStackTrace(printWriter);
-            return result.toString();
-        } catch (IOException ex) {
-            throw new UncheckedIOException(ex);
-        }
+        return RENDERER.render(e);
+    }
+
+    /**
+     * Get the stack trace with at most the given number of frames of
+     * every exception.
+     */
+    public static String getStackTrace(Throwable e, int maxDepth) {
+        return StackTraceRenderer.full().withMaxDepth(maxDepth).render(e);
     }
 
     public static Throwable getRootCause(Throwable e) {
@@ -33,4 +38,17 @@ public final class Exceptions {
         return getStackTrace(getRootCause(e));
     }
 
+    /**
+     * Capture at most the given number of frames of the current stack,
+     * starting with the caller of this method. Unlike creating an
+     * exception, only the frames which are returned are walked.
+     */
+    public static StackTraceElement[] captureStack(int maxDepth) {
+        return StackWalker.getInstance().walk(frames -> frames
+                .skip(1)
+                .limit(maxDepth)
+                .map(StackWalker.StackFrame::toStackTraceElement)
+                .toArray(StackTraceElement[]::new));
+    }
+
 }
@@ -0,0 +1,339 @@
+package mytools.util.exception;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Render the stack trace of an exception, with its causes and suppressed
+ * exceptions, as {@code Throwable.printStackTrace()} does, but without
+ * print writers and their locks.
+ *
+ * <p>
+ * The number of frames of every exception may be limited, and frames may
+ * be left out with a filter. The frames after the limit are counted in the
+ * "... n more" line, which also counts the frames in common with the
+ * enclosing trace, as usual. Repeated frames, as in deep recursion, may be
+ * collapsed: a run of frames which repeats the frames right before it,
+ * one frame or a cycle of up to {@value #MAX_CYCLE} frames, is written as
+ * one "... same as previous n frames, k times" line.
+ *
+ * <p>
+ * A renderer may cache the traces it renders. Exceptions which have the
+ * same messages and the same frames, as in a storm of errors from the same
+ * failure, are rendered once. The cache holds the text and the frames, but
+ * not the exceptions, and is cleared when it is full. The cache is keyed
+ * by the frames, so {@code render()} still calls {@code getStackTrace()}
+ * and hashes the frames of every exception before it looks up the cache:
+ * a cache hit saves the writing of the text only.
+ *
+ * <p>
+ * Renderers are immutable apart from the cache, and are safe to share.
+ * Every {@code with...()} method returns a new renderer with an empty cache:
+ *
+ * <pre>{@code
+ *  StackTraceRenderer r = StackTraceRenderer.full()
+ *          .withMaxDepth(20)
+ *          .withFilter(f -> !f.getClassName().startsWith("jdk.internal."))
+ *          .withCacheSize(1000);
+ *  r.render(e, logLine);
+ * }</pre>
+ */
+public final class StackTraceRenderer {
+
+    private static final String NEW_LINE = System.lineSeparator();
+    private static final StackTraceElement[] NO_FRAMES = {};
+    private static final StackTraceRenderer FULL =
+            new StackTraceRenderer(Integer.MAX_VALUE, f -> true, false, 0);
+
+    /**
+     * The longest cycle of frames which is collapsed.
+     */
+    public static final int MAX_CYCLE = 16;
+
+    private final int maxDepth;
+    private final Predicate<StackTraceElement> filter;
+    private final boolean collapseRepeats;
+    private final int cacheSize;
+    private final Map<List<Node>, String> cache;
+
+    private StackTraceRenderer(int maxDepth,
+            Predicate<StackTraceElement> filter, boolean collapseRepeats,
+            int cacheSize) {
+        this.maxDepth = maxDepth;
+        this.filter = filter;
+        this.collapseRepeats = collapseRepeats;
+        this.cacheSize = cacheSize;
+        this.cache = cacheSize > 0 ? new ConcurrentHashMap<>() : null;
+    }
+
+    /**
+     * A renderer which writes all frames, and has no cache.
+     */
+    public static StackTraceRenderer full() {
+        return FULL;
+    }
+
+    /**
+     * Write at most the given number of frames of every exception.
+     *
+     * @throws IllegalArgumentException if the depth is negative
+     */
+    public StackTraceRenderer withMaxDepth(int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException(
+                    "Maximum depth must not be negative");
+        }
+        return new StackTraceRenderer(
+                depth, filter, collapseRepeats, cacheSize);
+    }
+
+    /**
+     * Write only the frames which match the given filter.
+     */
+    public StackTraceRenderer withFilter(Predicate<StackTraceElement> f) {
+        if (f == null) {
+            throw new IllegalArgumentException("Filter must not be null");
+        }
+        return new StackTraceRenderer(maxDepth, f, collapseRepeats, cacheSize);
+    }
+
+    /**
+     * Write runs of repeated frames, or of repeated cycles of frames, as
+     * one "... same as previous n frames, k times" line. The line counts
+     * as one frame for the maximum depth.
+     */
+    public StackTraceRenderer withCollapsedRepeats(boolean collapse) {
+        return new StackTraceRenderer(maxDepth, filter, collapse, cacheSize);
+    }
+
+    /**
+     * Cache up to the given number of rendered traces, or none if the size
+     * is zero.
+     *
+     * @throws IllegalArgumentException if the size is negative
+     */
+    public StackTraceRenderer withCacheSize(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException(
+                    "Cache size must not be negative");
+        }
+        return new StackTraceRenderer(
+                maxDepth, filter, collapseRepeats, size);
+    }
+
+    public String render(Throwable e) {
+        List<Node> nodes = nodes(e);
+        if (cache == null) {
+            return write(nodes, new StringBuilder()).toString();
+        }
+        String trace = cache.get(nodes);
+        if (trace == null) {
+            trace = write(nodes, new StringBuilder()).toString();
+            if (cache.size() >= cacheSize) {
+                cache.clear();
+            }
+            cache.put(nodes, trace);
+        }
+        return trace;
+    }
+
+    public <A extends Appendable> A render(Throwable e, A out) {
+        try {
+            if (cache == null) {
+                write(nodes(e), out);
+            } else {
+                out.append(render(e));
+            }
+            return out;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /*
+     * The exceptions in the order they are written, in which every
+     * exception is followed by its suppressed exceptions and its cause.
+     */
+    private static List<Node> nodes(Throwable e) {
+        List<Node> nodes = new ArrayList<>();
+        Set<Throwable> seen =
+                Collections.newSetFromMap(new IdentityHashMap<>());
+        collect(e, NO_FRAMES, "", "", seen, nodes);
+        return nodes;
+    }
+
+    private static void collect(Throwable e, StackTraceElement[] enclosing,
+            String caption, String prefix, Set<Throwable> seen,
+            List<Node> nodes) {
+        if (!seen.add(e)) {
+            nodes.add(new Node(prefix, caption, e.toString(), null, null));
+            return;
+        }
+        StackTraceElement[] trace = e.getStackTrace();
+        nodes.add(new Node(prefix, caption, e.toString(), trace, enclosing));
+        for (Throwable s : e.getSuppressed()) {
+            collect(s, trace, "Suppressed: ", prefix + "\t", seen, nodes);
+        }
+        Throwable cause = e.getCause();
+        if (cause != null) {
+            collect(cause, trace, "Caused by: ", prefix, seen, nodes);
+        }
+    }
+
+    private <A extends Appendable> A write(List<Node> nodes, A out) {
+        try {
+            for (Node n : nodes) {
+                out.append(n.prefix).append(n.caption);
+                if (n.trace == null) {
+                    out.append("[CIRCULAR REFERENCE: ").append(n.header)
+                            .append(']').append(NEW_LINE);
+                } else {
+                    out.append(n.header).append(NEW_LINE);
+                    writeFrames(n, out);
+                }
+            }
+            return out;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeFrames(Node n, Appendable out) throws IOException {
+        StackTraceElement[] trace = n.trace;
+        StackTraceElement[] enclosing = n.enclosing;
+        int m = trace.length - 1;
+        int k = enclosing.length - 1;
+        while (m >= 0 && k >= 0 && trace[m].equals(enclosing[k])) {
+            m--;
+            k--;
+        }
+
+        // indexes of the frames which pass the filter
+        int[] frames = new int[m + 1];
+        int count = 0;
+        for (int i = 0; i <= m; i++) {
+            if (filter.test(trace[i])) {
+                frames[count++] = i;
+            }
+        }
+
+        int written = 0;
+        int j = 0;
+        while (j < count && written < maxDepth) {
+            int cycle = collapseRepeats ? cycle(trace, frames, j, count) : 0;
+            if (cycle > 0) {
+                int times = repeats(trace, frames, j, count, cycle);
+                out.append(n.prefix).append("\t... same as previous ")
+                        .append(Integer.toString(cycle))
+                        .append(cycle == 1 ? " frame, " : " frames, ")
+                        .append(times == 1 ? "once" : times + " times")
+                        .append(NEW_LINE);
+                j += cycle * times;
+            } else {
+                out.append(n.prefix).append("\tat ")
+                        .append(trace[frames[j]].toString()).append(NEW_LINE);
+                j++;
+            }
+            written++;
+        }
+        // the frames left out by the filter after the last written frame
+        // are counted as "more", unless all the frames are written
+        int i = j == count && written < maxDepth ? m + 1
+                : j == 0 ? 0 : frames[j - 1] + 1;
+        int more = trace.length - i;
+        if (more > 0) {
+            out.append(n.prefix).append("\t... ")
+                    .append(Integer.toString(more)).append(" more")
+                    .append(NEW_LINE);
+        }
+    }
+
+    /*
+     * The length of the shortest cycle of frames which ends right before
+     * the given frame and is repeated from it on, or 0 if there is none.
+     */
+    private static int cycle(StackTraceElement[] trace, int[] frames,
+            int j, int count) {
+        int maxCycle = Math.min(MAX_CYCLE, Math.min(j, count - j));
+        for (int cycle = 1; cycle <= maxCycle; cycle++) {
+            if (sameFrames(trace, frames, j - cycle, j, cycle)) {
+                return cycle;
+            }
+        }
+        return 0;
+    }
+
+    /*
+     * How many times the cycle of frames before the given frame is
+     * repeated from it on.
+     */
+    private static int repeats(StackTraceElement[] trace, int[] frames,
+            int j, int count, int cycle) {
+        int times = 0;
+        for (int k = j; k + cycle <= count
+                && sameFrames(trace, frames, j - cycle, k, cycle);
+                k += cycle) {
+            times++;
+        }
+        return times;
+    }
+
+    private static boolean sameFrames(StackTraceElement[] trace,
+            int[] frames, int from, int to, int length) {
+        for (int k = 0; k < length; k++) {
+            if (!trace[frames[from + k]].equals(trace[frames[to + k]])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * An exception to write. The frames are null if the exception was
+     * already written, which happens with circular references.
+     */
+    private static final class Node {
+
+        private final String prefix;
+        private final String caption;
+        private final String header;
+        private final StackTraceElement[] trace;
+        private final StackTraceElement[] enclosing;
+
+        Node(String prefix, String caption, String header,
+                StackTraceElement[] trace, StackTraceElement[] enclosing) {
+            this.prefix = prefix;
+            this.caption = caption;
+            this.header = header;
+            this.trace = trace;
+            this.enclosing = enclosing;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Node)) return false;
+            Node n = (Node) o;
+            return prefix.equals(n.prefix) && caption.equals(n.caption)
+                    && header.equals(n.header)
+                    && Arrays.equals(trace, n.trace);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(
+                    prefix, caption, header, Arrays.hashCode(trace));
+        }
+    }
+
+}
@@ -0,0 +1,185 @@
+package mytools.util.string;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * A string conversion which remembers its results, for inputs which repeat
+ * over and over, such as column names or JSON keys. A repeated input
+ * usually gets the same result instance, but not always: the result is
+ * converted again after it is dropped from the cache, and threads which
+ * miss it while the generations rotate may each store their own instance.
+ *
+ * <p>
+ * The cache is safe for concurrent use and holds about the given maximum
+ * number of entries, so it may be used with an unbounded set of inputs.
+ * The entries are kept in two generations: when the newer one is full,
+ * the older one is dropped, and the newer one becomes older. An entry which
+ * is used while in the older generation moves back to the newer one. This
+ * is cheaper than exact LRU eviction, and keeps the inputs which are used
+ * all the time.
+ *
+ * <pre>{@code
+ *  ConversionCache toCamel = ConversionCache.snakeToCamel(10_000);
+ *  String name = toCamel.apply("customer_id"); // customerId
+ * }</pre>
+ */
+public final class ConversionCache implements UnaryOperator<String> {
+
+    private final UnaryOperator<String> conversion;
+    private final int generationSize;
+    private final Object lock = new Object();
+
+    private volatile Map<String, String> current = new ConcurrentHashMap<>();
+    private volatile Map<String, String> previous = Collections.emptyMap();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private ConversionCache(
+            UnaryOperator<String> conversion, int maximumSize) {
+        if (maximumSize < 2) {
+            throw new IllegalArgumentException(
+                    "Maximum size must be at least 2");
+        }
+        this.conversion = conversion;
+        this.generationSize = maximumSize / 2;
+    }
+
+    public static ConversionCache of(
+            UnaryOperator<String> conversion, int maximumSize) {
+        return new ConversionCache(conversion, maximumSize);
+    }
+
+    public static ConversionCache snakeToCamel(int maximumSize) {
+        return of(Strings::snakeToCamel, maximumSize);
+    }
+
+    public static ConversionCache camelToSnake(int maximumSize) {
+        return of(Strings::camelToSnake, maximumSize);
+    }
+
+    public static ConversionCache dashedToCamel(int maximumSize) {
+        return of(Strings::dashedToCamel, maximumSize);
+    }
+
+    public static ConversionCache camelToDashed(int maximumSize) {
+        return of(Strings::camelToDashed, maximumSize);
+    }
+
+    public static ConversionCache dottedToCamel(int maximumSize) {
+        return of(Strings::dottedToCamel, maximumSize);
+    }
+
+    public static ConversionCache camelToDotted(int maximumSize) {
+        return of(Strings::camelToDotted, maximumSize);
+    }
+
+    public static ConversionCache spacedToCamel(int maximumSize) {
+        return of(Strings::spacedToCamel, maximumSize);
+    }
+
+    public static ConversionCache camelToSpaced(int maximumSize) {
+        return of(Strings::camelToSpaced, maximumSize);
+    }
+
+    /**
+     * Convert the string, or return the remembered result.
+     * {@code null} is converted to {@code null} and is not remembered.
+     */
+    @Override
+    public String apply(String s) {
+        if (s == null) return null;
+
+        String result = current.get(s);
+        if (result != null) {
+            hits.increment();
+            return result;
+        }
+
+        result = previous.get(s);
+        if (result != null) {
+            hits.increment();
+            return put(s, result);
+        }
+
+        misses.increment();
+        result = conversion.apply(s);
+        return result == null ? null : put(s, result);
+    }
+
+    /*
+     * Add the result to the newer generation. If another thread added it
+     * first, its result is returned, so that concurrent callers usually get
+     * the same instance.
+     */
+    private String put(String s, String result) {
+        Map<String, String> generation = current;
+        String existing = generation.putIfAbsent(s, result);
+        if (existing != null) return existing;
+
+        if (generation.size() >= generationSize) {
+            synchronized (lock) {
+                if (current == generation) {
+                    evictions.add(previous.size());
+                    previous = generation;
+                    current = new ConcurrentHashMap<>();
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Remove all the remembered results. The statistics are not reset.
+     */
+    public void clear() {
+        synchronized (lock) {
+            current = new ConcurrentHashMap<>();
+            previous = Collections.emptyMap();
+        }
+    }
+
+    /**
+     * @return the number of remembered results, where a result which moved
+     *         to the newer generation may be counted twice
+     */
+    public int size() {
+        return current.size() + previous.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of results which were dropped to keep the size of
+     *         the cache
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public double getHitRate() {
+        long hitCount = getHitCount();
+        long requests = hitCount + getMissCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "ConversionCache[size=" + size() +
+                ", hits=" + getHitCount() +
+                ", misses=" + getMissCount() +
+                ", evictions=" + getEvictionCount() + "]";
+    }
+
+}
@@ -0,0 +1,117 @@
+package mytools.util.string;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntPredicate;
+
+import mytools.util.string.impl.TokenStreams;
+
+/**
+ * Apply a {@link TokenTransform} to every token of a text stream, and write
+ * the result to another stream. A token is a run of characters which are
+ * not delimiters; the delimiters are written as they are.
+ *
+ * <p>
+ * The streams are processed in a buffer of a fixed size, so the memory does
+ * not depend on the size of the input. The buffer grows only if a token is
+ * longer than the buffer. The parallel methods cut the input into chunks at
+ * delimiters, transform several chunks at a time, and write the results in
+ * order.
+ *
+ * <p>
+ * The methods do not close the streams, and return the number of
+ * transformed tokens.
+ *
+ * <pre>{@code
+ *  // rename the columns in a file of SQL
+ *  StringTransforms.transformTokens(reader, writer,
+ *          ch -> !Character.isLetterOrDigit(ch) && ch != '_',
+ *          TokenTransform.SNAKE_TO_CAMEL);
+ *
+ *  // trim every line
+ *  StringTransforms.transformLines(reader, writer,
+ *          TokenTransform.TRIM_TO_NULL);
+ * }</pre>
+ */
+public interface StringTransforms {
+
+    int BUFFER_SIZE = 8192;
+    int CHUNK_SIZE = 0x100000;
+
+    IntPredicate WHITESPACE = Character::isWhitespace;
+    IntPredicate LINE_BREAK = ch -> ch == '\n' || ch == '\r';
+
+    /**
+     * Transform the tokens which are separated by whitespace.
+     */
+    static long transformTokens(Reader in, Writer out, TokenTransform t)
+            throws IOException {
+        return transformTokens(in, out, WHITESPACE, t);
+    }
+
+    /**
+     * Transform the tokens which are separated by the given delimiters.
+     */
+    static long transformTokens(Reader in, Writer out,
+            IntPredicate isDelimiter, TokenTransform t) throws IOException {
+        return TokenStreams.transform(in, out, isDelimiter, t, BUFFER_SIZE);
+    }
+
+    /**
+     * Transform every line, without the line breaks. Empty lines are
+     * not transformed.
+     */
+    static long transformLines(Reader in, Writer out, TokenTransform t)
+            throws IOException {
+        return transformTokens(in, out, LINE_BREAK, t);
+    }
+
+    /**
+     * Transform the tokens of the bytes from the given channel, which are
+     * decoded and encoded with the given character set.
+     */
+    static long transformTokens(ReadableByteChannel in,
+            WritableByteChannel out, Charset charset,
+            IntPredicate isDelimiter, TokenTransform t) throws IOException {
+        Reader reader = Channels.newReader(in, charset.newDecoder(), -1);
+        Writer writer = Channels.newWriter(out, charset.newEncoder(), -1);
+        return transformTokens(reader, writer, isDelimiter, t);
+    }
+
+    /**
+     * Transform the tokens in chunks, on the common fork join pool.
+     * The number of chunks which are transformed at the same time is
+     * the parallelism of the pool.
+     */
+    static long transformTokensInParallel(Reader in, Writer out,
+            IntPredicate isDelimiter, TokenTransform t) throws IOException {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        return transformTokensInParallel(in, out, isDelimiter, t,
+                CHUNK_SIZE, pool.getParallelism(), pool);
+    }
+
+    /**
+     * Transform the tokens in chunks of about the given size, at most
+     * the given number of chunks at the same time. The transform must be
+     * safe to call from several threads.
+     */
+    static long transformTokensInParallel(Reader in, Writer out,
+            IntPredicate isDelimiter, TokenTransform t,
+            int chunkSize, int parallelism, Executor executor)
+            throws IOException {
+        if (chunkSize <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException(
+                    "Chunk size and parallelism must be positive");
+        }
+        return TokenStreams.transformInParallel(in, out, isDelimiter, t,
+                chunkSize, parallelism, executor);
+    }
+
+}
@@ -40,6 +40,42 @@ public interface Strings {
         return CaseConversions.camelToSpaced(s);
     }
 
+    // These write the result into the given buffer, which is returned.
+    // Nothing is written for a null input. An IOException of the buffer
+    // is re-thrown as UncheckedIOException.
+
+    static <A extends Appendable> A snakeToCamel(CharSequence s, A out) {
+        return CaseConversions.snakeToCamel(s, out);
+    }
+
+    static <A extends Appendable> A camelToSnake(CharSequence s, A out) {
+        return CaseConversions.camelToSnake(s, out);
+    }
+
+    static <A extends Appendable> A dashedToCamel(CharSequence s, A out) {
+        return CaseConversions.dashedToCamel(s, out);
+    }
+
+    static <A extends Appendable> A camelToDashed(CharSequence s, A out) {
+        return CaseConversions.camelToDashed(s, out);
+    }
+
+    static <A extends Appendable> A dottedToCamel(CharSequence s, A out) {
+        return CaseConversions.dottedToCamel(s, out);
+    }
+
+    static <A extends Appendable> A camelToDotted(CharSequence s, A out) {
+        return CaseConversions.camelToDotted(s, out);
+    }
+
+    static <A extends Appendable> A spacedToCamel(CharSequence s, A out) {
+        return CaseConversions.spacedToCamel(s, out);
+    }
+
+    static <A extends Appendable> A camelToSpaced(CharSequence s, A out) {
+        return CaseConversions.camelToSpaced(s, out);
+    }
+
 
     ///////////////////// Capitalization //////////////////
 
@@ -51,10 +87,37 @@ public interface Strings {
         return Capitalizations.unCapitalize(s);
     }
 
+    static <A extends Appendable> A capitalize(CharSequence s, A out) {
+        return Capitalizations.capitalize(s, out);
+    }
+
+    static <A extends Appendable> A unCapitalize(CharSequence s, A out) {
+        return Capitalizations.unCapitalize(s, out);
+    }
+
+    // The views do not copy the sequence, and reflect later changes of it.
+    // They do not implement equals(), like other character sequences.
+
+    static CharSequence capitalizedView(CharSequence s) {
+        return Capitalizations.capitalizedView(s);
+    }
+
+    static CharSequence unCapitalizedView(CharSequence s) {
+        return Capitalizations.unCapitalizedView(s);
+    }
+
 
     ///////////////////// Trim ///////////////////////////
 
     static String trimToNull(String s) {
         return Trimmer.trimToNull(s);
     }
+
+    static <A extends Appendable> A trimToNull(CharSequence s, A out) {
+        return Trimmer.trimToNull(s, out);
+    }
+
+    static CharSequence trimToNullView(CharSequence s) {
+        return Trimmer.trimToNullView(s);
+    }
 }
@@ -0,0 +1,48 @@
+package mytools.util.string;
+
+import java.io.IOException;
+import java.util.function.UnaryOperator;
+
+import mytools.util.string.impl.Capitalizations;
+import mytools.util.string.impl.CaseConversions;
+import mytools.util.string.impl.Trimmer;
+
+/**
+ * Transforms a token of a text stream, and writes the result.
+ * The token is a view of the buffer of the stream, which is valid only
+ * during the call, and is never empty.
+ *
+ * <p>
+ * The predefined transforms write straight into the output, and do not
+ * create strings.
+ *
+ * @see StringTransforms
+ */
+@FunctionalInterface
+public interface TokenTransform {
+
+    TokenTransform SNAKE_TO_CAMEL = CaseConversions::snakeToCamel;
+    TokenTransform CAMEL_TO_SNAKE = CaseConversions::camelToSnake;
+    TokenTransform DASHED_TO_CAMEL = CaseConversions::dashedToCamel;
+    TokenTransform CAMEL_TO_DASHED = CaseConversions::camelToDashed;
+    TokenTransform DOTTED_TO_CAMEL = CaseConversions::dottedToCamel;
+    TokenTransform CAMEL_TO_DOTTED = CaseConversions::camelToDotted;
+    TokenTransform CAPITALIZE = Capitalizations::capitalize;
+    TokenTransform UN_CAPITALIZE = Capitalizations::unCapitalize;
+    TokenTransform TRIM_TO_NULL = Trimmer::trimToNull;
+
+    void transform(CharSequence token, Appendable out) throws IOException;
+
+    /**
+     * Adapt a function of strings. A {@code null} result writes nothing.
+     */
+    static TokenTransform of(UnaryOperator<String> f) {
+        return (token, out) -> {
+            String result = f.apply(token.toString());
+            if (result != null) {
+                out.append(result);
+            }
+        };
+    }
+
+}
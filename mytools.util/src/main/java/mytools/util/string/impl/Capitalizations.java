@@ -1,5 +1,8 @@
 package mytools.util.string.impl;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 public final class Capitalizations {
 
     private Capitalizations() { }
@@ -12,18 +15,80 @@ public final class Capitalizations {
         return changeFirstLetterCase(s, false);
     }
 
+    public static <A extends Appendable> A capitalize(CharSequence s, A out) {
+        return changeFirstLetterCase(s, true, out);
+    }
+
+    public static <A extends Appendable> A unCapitalize(
+            CharSequence s, A out) {
+        return changeFirstLetterCase(s, false, out);
+    }
+
+    /*
+     * The views change the first letter without copying the rest of
+     * the sequence. If the first letter does not change, the sequence
+     * itself is returned.
+     */
+
+    public static CharSequence capitalizedView(CharSequence s) {
+        return changeFirstLetterCaseView(s, true);
+    }
+
+    public static CharSequence unCapitalizedView(CharSequence s) {
+        return changeFirstLetterCaseView(s, false);
+    }
+
+    private static CharSequence changeFirstLetterCaseView(
+            CharSequence s, boolean upper) {
+        if (s == null || s.length() == 0) return s;
+
+        int first = Character.codePointAt(s, 0);
+        int changed = changeCase(first, upper);
+        return changed == first ? s : new FirstCodePointView(s, changed);
+    }
+
+    private static <A extends Appendable> A changeFirstLetterCase(
+            CharSequence s, boolean upper, A out) {
+        if (s == null || s.length() == 0) return out;
+
+        try {
+            int first = Character.codePointAt(s, 0);
+            int count = Character.charCount(first);
+            int changed = changeCase(first, upper);
+            if (count == 1) {
+                out.append((char) changed);
+            } else {
+                out.append(Character.highSurrogate(changed));
+                out.append(Character.lowSurrogate(changed));
+            }
+            out.append(s, count, s.length());
+            return out;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * The first letter is a code point, which may be a surrogate pair.
+     * If it does not change, the string itself is returned.
+     */
     private static String changeFirstLetterCase(CharSequence s, boolean upper) {
         if (s == null) return null;
         if (s.length() == 0) return "";
 
-        StringBuilder sb = new StringBuilder();
-        if (upper) {
-            sb.append(Character.toUpperCase(s.charAt(0)));
-        } else {
-            sb.append(Character.toLowerCase(s.charAt(0)));
-        }
-        sb.append(s.subSequence(1, s.length()));
-        return sb.toString();
+        int first = Character.codePointAt(s, 0);
+        int changed = changeCase(first, upper);
+        if (changed == first) return s.toString();
+
+        int count = Character.charCount(first);
+        return new StringBuilder(s.length())
+                .appendCodePoint(changed)
+                .append(s, count, s.length())
+                .toString();
+    }
+
+    private static int changeCase(int cp, boolean upper) {
+        return upper ? Character.toUpperCase(cp) : Character.toLowerCase(cp);
     }
 
 }
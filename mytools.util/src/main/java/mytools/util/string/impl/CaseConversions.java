@@ -1,14 +1,20 @@
 package mytools.util.string.impl;
 
-import java.util.function.Consumer;
-import java.util.function.IntPredicate;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 public final class CaseConversions {
 
+    // stands for any whitespace character in delimited strings
+    private static final char WHITESPACE = ' ';
+
+    private static final char ASCII_LIMIT = 0x80;
+    private static final int CASE_DIFFERENCE = 'a' - 'A';
+
     private CaseConversions() { }
 
     public static String snakeToCamel(String s) {
-        return delimitedToCamel(s, ch -> ch == '_', false);
+        return delimitedToCamel(s, '_', false);
     }
 
     public static String camelToSnake(String s) {
@@ -16,7 +22,7 @@ public final class CaseConversions {
     }
 
     public static String dashedToCamel(String s) {
-        return delimitedToCamel(s, ch -> ch == '-', false);
+        return delimitedToCamel(s, '-', false);
     }
 
     public static String camelToDashed(String s) {
@@ -24,7 +30,7 @@ public final class CaseConversions {
     }
 
     public static String dottedToCamel(String s) {
-        return delimitedToCamel(s, ch -> ch == '.', false);
+        return delimitedToCamel(s, '.', false);
     }
 
     public static String camelToDotted(String s) {
@@ -32,7 +38,7 @@ public final class CaseConversions {
     }
 
     public static String spacedToCamel(String s) {
-        return delimitedToCamel(s, ch -> Character.isWhitespace(ch), true);
+        return delimitedToCamel(s, WHITESPACE, true);
     }
 
     public static String camelToSpaced(String s) {
@@ -43,47 +49,256 @@ public final class CaseConversions {
         return Capitalizations.unCapitalize(s);
     }
 
+    ///////////////////// Appendable targets //////////////////
+
+    public static <A extends Appendable> A snakeToCamel(
+            CharSequence s, A out) {
+        return delimitedToCamel(s, '_', false, out);
+    }
+
+    public static <A extends Appendable> A camelToSnake(
+            CharSequence s, A out) {
+        return camelToDelimited(s, '_', out);
+    }
+
+    public static <A extends Appendable> A dashedToCamel(
+            CharSequence s, A out) {
+        return delimitedToCamel(s, '-', false, out);
+    }
+
+    public static <A extends Appendable> A camelToDashed(
+            CharSequence s, A out) {
+        return camelToDelimited(s, '-', out);
+    }
+
+    public static <A extends Appendable> A dottedToCamel(
+            CharSequence s, A out) {
+        return delimitedToCamel(s, '.', false, out);
+    }
+
+    public static <A extends Appendable> A camelToDotted(
+            CharSequence s, A out) {
+        return camelToDelimited(s, '.', out);
+    }
+
+    public static <A extends Appendable> A spacedToCamel(
+            CharSequence s, A out) {
+        return delimitedToCamel(s, WHITESPACE, true, out);
+    }
+
+    public static <A extends Appendable> A camelToSpaced(
+            CharSequence s, A out) {
+        return camelToDelimited(s, ' ', out);
+    }
+
+    ///////////////////// conversions //////////////////
+
+    // The strings are scanned by code points, so that characters outside
+    // of the BMP (surrogate pairs) are converted as well. Case mappings do
+    // not change the number of chars of a code point, so results can be
+    // sized up front.
+
+    /*
+     * The characters before the first one which changes are copied at once,
+     * and a string without such characters is returned itself. The result
+     * is never longer than the input, so it is written into an array of
+     * the input size.
+     */
     private static String delimitedToCamel(
-            String s, IntPredicate delimiterTest, boolean forceLowercase) {
-        return checkIfEmptyAndProcess(s, sb -> {
+            String s, char delimiter, boolean forceLowercase) {
+        if (s == null) return null;
+
+        int n = s.length();
+        int from = 0;
+        while (from < n) {
+            int cp = codePointAt(s, from, n);
+            if (changesToCamel(cp, delimiter, forceLowercase)) break;
+            from += charCount(cp);
+        }
+        if (from == n) return s;
+
+        char[] out = new char[n];
+        s.getChars(0, from, out, 0);
+        int length = from;
+        boolean lastWasDelimiter = false;
+        for (int i = from; i < n;) {
+            int cp = codePointAt(s, i, n);
+            i += charCount(cp);
+            if (isDelimiter(cp, delimiter)) {
+                lastWasDelimiter = true;
+            } else if (lastWasDelimiter) {
+                length += put(toUpperCase(cp), out, length);
+                lastWasDelimiter = false;
+            } else {
+                length += put(forceLowercase ? toLowerCase(cp) : cp,
+                        out, length);
+            }
+        }
+        return new String(out, 0, length);
+    }
+
+    private static boolean changesToCamel(
+            int cp, char delimiter, boolean forceLowercase) {
+        return isDelimiter(cp, delimiter) ||
+                forceLowercase && toLowerCase(cp) != cp;
+    }
+
+    /*
+     * Runs of characters which do not change are appended at once.
+     */
+    private static <A extends Appendable> A delimitedToCamel(
+            CharSequence s, char delimiter, boolean forceLowercase, A out) {
+        if (s == null) return out;
+
+        try {
             boolean lastWasDelimiter = false;
-            for (char ch : s.toString().toCharArray()) {
-                if (delimiterTest.test(ch)) {
+            int start = 0;
+            int n = s.length();
+            for (int i = 0; i < n;) {
+                int cp = codePointAt(s, i, n);
+                int next = i + charCount(cp);
+                if (isDelimiter(cp, delimiter)) {
+                    out.append(s, start, i);
+                    start = next;
                     lastWasDelimiter = true;
-                } else {
-                    if (lastWasDelimiter) {
-                        sb.append(Character.toUpperCase(ch));
-                        lastWasDelimiter = false;
-                    } else {
-                        sb.append(forceLowercase ?
-                                Character.toLowerCase(ch) : ch);
+                } else if (lastWasDelimiter) {
+                    append(toUpperCase(cp), out);
+                    start = next;
+                    lastWasDelimiter = false;
+                } else if (forceLowercase) {
+                    int lower = toLowerCase(cp);
+                    if (lower != cp) {
+                        out.append(s, start, i);
+                        append(lower, out);
+                        start = next;
                     }
                 }
+                i = next;
             }
-        });
+            out.append(s, start, n);
+            return out;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
+    /*
+     * Count the upper case characters first, so that the result is written
+     * into an array of its exact size. A string without upper case
+     * characters is returned itself.
+     */
     private static String camelToDelimited(String s, char delimiter) {
-        return checkIfEmptyAndProcess(s, sb -> {
-            for (char ch : s.toString().toCharArray()) {
-                if (Character.isUpperCase(ch)) {
-                    sb.append(delimiter);
-                    sb.append(Character.toLowerCase(ch));
-                } else {
-                    sb.append(ch);
+        if (s == null) return null;
+
+        int n = s.length();
+        int upperCase = 0;
+        for (int i = 0; i < n;) {
+            int cp = codePointAt(s, i, n);
+            if (isUpperCase(cp)) upperCase++;
+            i += charCount(cp);
+        }
+        if (upperCase == 0) return s;
+
+        char[] out = new char[n + upperCase];
+        int length = 0;
+        for (int i = 0; i < n;) {
+            int cp = codePointAt(s, i, n);
+            i += charCount(cp);
+            if (isUpperCase(cp)) {
+                out[length++] = delimiter;
+                length += put(toLowerCase(cp), out, length);
+            } else {
+                length += put(cp, out, length);
+            }
+        }
+        return new String(out);
+    }
+
+    private static <A extends Appendable> A camelToDelimited(
+            CharSequence s, char delimiter, A out) {
+        if (s == null) return out;
+
+        try {
+            int start = 0;
+            int n = s.length();
+            for (int i = 0; i < n;) {
+                int cp = codePointAt(s, i, n);
+                int next = i + charCount(cp);
+                if (isUpperCase(cp)) {
+                    out.append(s, start, i);
+                    out.append(delimiter);
+                    append(toLowerCase(cp), out);
+                    start = next;
                 }
+                i = next;
             }
-        });
+            out.append(s, start, n);
+            return out;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
-    private static String checkIfEmptyAndProcess(
-            String s, Consumer<StringBuilder> f) {
-        if (s == null) return null;
-        if (s.length() == 0) return "";
+    ///////////////////// characters //////////////////
+
+    // ASCII characters are checked without the Unicode tables, and other
+    // BMP characters without decoding surrogate pairs. The mappings do not
+    // depend on the default locale, which suits identifiers.
+
+    private static int codePointAt(CharSequence s, int i, int n) {
+        char ch = s.charAt(i);
+        if (Character.isHighSurrogate(ch) && i + 1 < n) {
+            char low = s.charAt(i + 1);
+            if (Character.isLowSurrogate(low)) {
+                return Character.toCodePoint(ch, low);
+            }
+        }
+        return ch;
+    }
+
+    private static int charCount(int cp) {
+        return cp < Character.MIN_SUPPLEMENTARY_CODE_POINT ? 1 : 2;
+    }
+
+    private static int put(int cp, char[] out, int at) {
+        if (cp < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            out[at] = (char) cp;
+            return 1;
+        }
+        return Character.toChars(cp, out, at);
+    }
+
+    private static void append(int cp, Appendable out) throws IOException {
+        if (cp < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            out.append((char) cp);
+        } else {
+            out.append(Character.highSurrogate(cp));
+            out.append(Character.lowSurrogate(cp));
+        }
+    }
+
+    private static boolean isDelimiter(int cp, char delimiter) {
+        return delimiter == WHITESPACE ?
+                Character.isWhitespace(cp) : cp == delimiter;
+    }
+
+    private static boolean isUpperCase(int cp) {
+        return cp < ASCII_LIMIT ?
+                cp >= 'A' && cp <= 'Z' : Character.isUpperCase(cp);
+    }
+
+    private static int toLowerCase(int cp) {
+        if (cp < ASCII_LIMIT) {
+            return cp >= 'A' && cp <= 'Z' ? cp + CASE_DIFFERENCE : cp;
+        }
+        return Character.toLowerCase(cp);
+    }
 
-        StringBuilder sb = new StringBuilder();
-        f.accept(sb);
-        return sb.toString();
+    private static int toUpperCase(int cp) {
+        if (cp < ASCII_LIMIT) {
+            return cp >= 'a' && cp <= 'z' ? cp - CASE_DIFFERENCE : cp;
+        }
+        return Character.toUpperCase(cp);
     }
 
 }
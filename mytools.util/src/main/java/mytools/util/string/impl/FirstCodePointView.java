@@ -0,0 +1,42 @@
+package mytools.util.string.impl;
+
+/*
+ * A character sequence which is another one with the first code point
+ * replaced by another code point of the same number of chars. Nothing is
+ * copied until toString() is called.
+ */
+final class FirstCodePointView implements CharSequence {
+
+    private final CharSequence s;
+    private final char[] first;
+
+    FirstCodePointView(CharSequence s, int firstCodePoint) {
+        this.s = s;
+        this.first = Character.toChars(firstCodePoint);
+    }
+
+    @Override
+    public int length() {
+        return s.length();
+    }
+
+    @Override
+    public char charAt(int index) {
+        return index >= 0 && index < first.length ?
+                first[index] : s.charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new RangeView(start >= first.length ? s : this, start, end);
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder(s.length())
+                .append(first)
+                .append(s, first.length, s.length())
+                .toString();
+    }
+
+}
@@ -0,0 +1,52 @@
+package mytools.util.string.impl;
+
+/*
+ * A part of another character sequence, which is not copied until
+ * toString() is called.
+ */
+final class RangeView implements CharSequence {
+
+    private final CharSequence s;
+    private final int start;
+    private final int end;
+
+    RangeView(CharSequence s, int start, int end) {
+        if (start < 0 || start > end || end > s.length()) {
+            throw new IndexOutOfBoundsException(
+                    "start " + start + ", end " + end +
+                    ", length " + s.length());
+        }
+        this.s = s;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= end - start) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return s.charAt(start + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int from, int to) {
+        if (from < 0 || from > to || to > end - start) {
+            throw new IndexOutOfBoundsException(
+                    "start " + from + ", end " + to +
+                    ", length " + length());
+        }
+        return new RangeView(s, start + from, start + to);
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder(end - start).append(s, start, end).toString();
+    }
+
+}
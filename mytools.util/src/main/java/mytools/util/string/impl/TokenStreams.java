@@ -0,0 +1,233 @@
+package mytools.util.string.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.IntPredicate;
+
+import mytools.util.string.TokenTransform;
+
+/*
+ * A token is a run of characters which are not delimiters. Delimiters are
+ * copied to the output as they are, and tokens go through the transform.
+ * The input is read into a buffer, and tokens are passed to the transform
+ * as views of the buffer. The buffer grows only if a token does not fit in
+ * it. The output is collected in a builder, which is written out in bulk,
+ * since writers turn appended character sequences into strings.
+ */
+public final class TokenStreams {
+
+    private TokenStreams() { }
+
+    public static long transform(Reader in, Writer out,
+            IntPredicate isDelimiter, TokenTransform t, int bufferSize)
+            throws IOException {
+        char[] buffer = new char[bufferSize];
+        char[] scratch = new char[bufferSize];
+        StringBuilder result = new StringBuilder(bufferSize);
+        Token token = new Token();
+        long count = 0;
+        int length = 0;
+        int read;
+        while ((read = in.read(buffer, length, buffer.length - length)) >= 0) {
+            length += read;
+            int end = lastDelimiter(buffer, length, isDelimiter) + 1;
+            count += transform(buffer, end, result, isDelimiter, t, token);
+            write(result, out, scratch);
+            length -= end;
+            System.arraycopy(buffer, end, buffer, 0, length);
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+        count += transform(buffer, length, result, isDelimiter, t, token);
+        write(result, out, scratch);
+        out.flush();
+        return count;
+    }
+
+    /*
+     * The input is cut into chunks at delimiters. Up to the given number of
+     * chunks are transformed at the same time, and the results are written
+     * in the order of the chunks.
+     */
+    public static long transformInParallel(Reader in, Writer out,
+            IntPredicate isDelimiter, TokenTransform t, int chunkSize,
+            int parallelism, Executor executor) throws IOException {
+        Deque<CompletableFuture<Chunk>> inFlight = new ArrayDeque<>();
+        char[] scratch = new char[chunkSize];
+        long count = 0;
+        char[] carried = new char[0];
+        try {
+            while (true) {
+                char[] buffer = Arrays.copyOf(
+                        carried, Math.max(chunkSize, carried.length * 2));
+                int length = fill(in, buffer, carried.length);
+                boolean last = length < buffer.length;
+                int end = last ? length :
+                        lastDelimiter(buffer, length, isDelimiter) + 1;
+                carried = Arrays.copyOfRange(buffer, end, length);
+                if (end > 0) {
+                    if (inFlight.size() == parallelism) {
+                        Chunk done = inFlight.remove().join();
+                        count += done.writeTo(out, scratch);
+                    }
+                    inFlight.add(CompletableFuture.supplyAsync(
+                            () -> new Chunk(buffer, end, isDelimiter, t),
+                            executor));
+                }
+                if (last) {
+                    break;
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                Chunk done = inFlight.remove().join();
+                count += done.writeTo(out, scratch);
+            }
+        } catch (CompletionException e) {
+            throw rethrow(e.getCause());
+        } finally {
+            inFlight.forEach(f -> f.cancel(false));
+        }
+        out.flush();
+        return count;
+    }
+
+    private static int fill(Reader in, char[] buffer, int from)
+            throws IOException {
+        int length = from;
+        int read = 0;
+        while (length < buffer.length && read >= 0) {
+            read = in.read(buffer, length, buffer.length - length);
+            length += Math.max(read, 0);
+        }
+        return length;
+    }
+
+    private static int lastDelimiter(
+            char[] buffer, int length, IntPredicate isDelimiter) {
+        int i = length - 1;
+        while (i >= 0 && !isDelimiter.test(buffer[i])) i--;
+        return i;
+    }
+
+    private static void write(StringBuilder text, Writer out, char[] scratch)
+            throws IOException {
+        int length = text.length();
+        for (int i = 0; i < length; i += scratch.length) {
+            int end = Math.min(length, i + scratch.length);
+            text.getChars(i, end, scratch, 0);
+            out.write(scratch, 0, end - i);
+        }
+        text.setLength(0);
+    }
+
+    /*
+     * Transform the tokens in the beginning of the buffer, where the last
+     * token ends at the given length.
+     */
+    private static long transform(char[] buffer, int to, StringBuilder out,
+            IntPredicate isDelimiter, TokenTransform t, Token token)
+            throws IOException {
+        long count = 0;
+        int i = 0;
+        while (i < to) {
+            int start = i;
+            while (i < to && isDelimiter.test(buffer[i])) i++;
+            out.append(buffer, start, i - start);
+
+            start = i;
+            while (i < to && !isDelimiter.test(buffer[i])) i++;
+            if (i > start) {
+                try {
+                    t.transform(token.of(buffer, start, i), out);
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static IOException rethrow(Throwable e) {
+        if (e instanceof IOException) return (IOException) e;
+        if (e instanceof UncheckedIOException) return rethrow(e.getCause());
+        if (e instanceof RuntimeException) throw (RuntimeException) e;
+        if (e instanceof Error) throw (Error) e;
+        return new IOException(e);
+    }
+
+    /*
+     * The transformed text of a chunk of the input.
+     */
+    private static final class Chunk {
+
+        private final StringBuilder text;
+        private final long count;
+
+        Chunk(char[] buffer, int length, IntPredicate isDelimiter,
+                TokenTransform t) {
+            text = new StringBuilder(length);
+            try {
+                count = transform(buffer, length, text, isDelimiter, t,
+                        new Token());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        long writeTo(Writer out, char[] scratch) throws IOException {
+            write(text, out, scratch);
+            return count;
+        }
+    }
+
+    /*
+     * A reusable view of a part of a buffer.
+     */
+    private static final class Token implements CharSequence {
+
+        private char[] buffer;
+        private int offset;
+        private int length;
+
+        Token of(char[] b, int start, int end) {
+            this.buffer = b;
+            this.offset = start;
+            this.length = end - start;
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return buffer[offset + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().substring(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return new String(buffer, offset, length);
+        }
+    }
+
+}
@@ -1,5 +1,8 @@
 package mytools.util.string.impl;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 public final class Trimmer {
 
     private Trimmer() { }
@@ -9,4 +12,47 @@ public final class Trimmer {
         return trimmed.isEmpty() ? null : trimmed;
     }
 
+    /*
+     * Trims the same characters as String.trim(), without copying. Returns
+     * the sequence itself if there is nothing to trim.
+     */
+    public static CharSequence trimToNullView(CharSequence s) {
+        if (s == null) return null;
+
+        int length = s.length();
+        int start = trimStart(s, length);
+        int end = trimEnd(s, start, length);
+        if (start == end) return null;
+        return start == 0 && end == length ? s : new RangeView(s, start, end);
+    }
+
+    /*
+     * Trims the same characters as String.trim(), and appends nothing
+     * if nothing is left.
+     */
+    public static <A extends Appendable> A trimToNull(CharSequence s, A out) {
+        if (s == null) return out;
+
+        int start = trimStart(s, s.length());
+        int end = trimEnd(s, start, s.length());
+        try {
+            out.append(s, start, end);
+            return out;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int trimStart(CharSequence s, int length) {
+        int start = 0;
+        while (start < length && s.charAt(start) <= ' ') start++;
+        return start;
+    }
+
+    private static int trimEnd(CharSequence s, int start, int length) {
+        int end = length;
+        while (end > start && s.charAt(end - 1) <= ' ') end--;
+        return end;
+    }
+
 }
@@ -0,0 +1,148 @@
+package mytools.util.date;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class DateEncodingsTest {
+
+    private static final long SEED = 20261019L;
+    private static final int NUM_TIMESTAMPS = 100_000;
+    private static final int MILLIS_PER_SECOND = 1000;
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(0, 1, 1);
+    private static final LocalDate LAST_DAY = LocalDate.of(9999, 12, 31);
+    private static final long FIRST_SECOND =
+            FIRST_DAY.atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+    private static final long LAST_SECOND =
+            LAST_DAY.plusDays(1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+
+    private static final long[] SECONDS = {
+        -1L, 0L, 86_399L, 86_400L, 1_792_000_000L,
+    };
+    private static final int[] DAYS = {-1, 0, 0, 1, 20_740};
+    private static final int[] DATES = {
+        19_691_231, 19_700_101, 19_700_101, 19_700_102, 20_261_014,
+    };
+    private static final long[] DATE_TIMES = {
+        19_691_231_235_959L, 19_700_101_000_000L, 19_700_101_235_959L,
+        19_700_102_000_000L, 20_261_014_174_640L,
+    };
+    private static final int[] INVALID_DATES = {
+        20_260_230, 20_250_229, 20_261_301, 20_261_000, 20_261_032,
+        100_000_101, -10_101,
+    };
+    private static final long INVALID_DATE_TIME = 20_261_019_246_000L;
+
+    private static final DateTimeFormatter YYYYMMDD =
+            DateTimeFormatter.ofPattern("uuuuMMdd");
+    private static final DateTimeFormatter YYYYMMDDHHMMSS =
+            DateTimeFormatter.ofPattern("uuuuMMddHHmmss");
+
+    @Test
+    public void encodeEveryDay() {
+        for (LocalDate d = FIRST_DAY; !d.isAfter(LAST_DAY); d = d.plusDays(1)) {
+            int epochDay = (int) d.toEpochDay();
+            int yyyymmdd = Integer.parseInt(d.format(YYYYMMDD));
+            assertEquals(yyyymmdd, DateEncodings.yyyymmdd(epochDay));
+            assertEquals(epochDay,
+                    DateEncodings.epochDayFromYyyymmdd(yyyymmdd));
+        }
+    }
+
+    @Test
+    public void encodeTimestamps() {
+        Random random = new Random(SEED);
+        ZoneId zone = ZoneId.of("America/New_York");
+        for (int i = 0; i < NUM_TIMESTAMPS; i++) {
+            long s = FIRST_SECOND + (long) (random.nextDouble()
+                    * (LAST_SECOND - FIRST_SECOND));
+            LocalDateTime utc = LocalDateTime.ofEpochSecond(s, 0,
+                    ZoneOffset.UTC);
+            LocalDateTime zoned = Instant.ofEpochSecond(s).atZone(zone)
+                    .toLocalDateTime();
+            long encoded = Long.parseLong(utc.format(YYYYMMDDHHMMSS));
+
+            assertEquals(utc.toLocalDate().toEpochDay(),
+                    DateEncodings.epochDay(s));
+            assertEquals(utc.toLocalDate().toEpochDay(),
+                    DateEncodings.epochDayOfMillis(s * MILLIS_PER_SECOND + 1));
+            assertEquals(encoded, DateEncodings.yyyymmddhhmmss(s));
+            assertEquals(s,
+                    DateEncodings.epochSecondFromYyyymmddhhmmss(encoded));
+            if (zoned.getYear() >= FIRST_DAY.getYear()) {
+                assertEquals(zoned.toLocalDate().toEpochDay(),
+                        DateEncodings.epochDay(s, zone));
+                assertEquals(Long.parseLong(zoned.format(YYYYMMDDHHMMSS)),
+                        DateEncodings.yyyymmddhhmmss(s, zone));
+            }
+        }
+    }
+
+    @Test
+    public void encodeArrays() {
+        int[] days = new int[SECONDS.length];
+        DateEncodings.epochDays(SECONDS, days);
+        assertArrayEquals(DAYS, days);
+
+        DateEncodings.yyyymmdd(days, days);
+        assertArrayEquals(DATES, days);
+
+        DateEncodings.epochDaysFromYyyymmdd(days, days);
+        assertArrayEquals(DAYS, days);
+
+        long[] dateTimes = new long[SECONDS.length];
+        DateEncodings.yyyymmddhhmmss(SECONDS, dateTimes);
+        assertArrayEquals(DATE_TIMES, dateTimes);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> DateEncodings.epochDays(SECONDS, new int[1]));
+    }
+
+    @Test
+    public void rejectInvalidEncodings() {
+        for (int date : INVALID_DATES) {
+            assertThrows(DateTimeException.class,
+                    () -> DateEncodings.epochDayFromYyyymmdd(date));
+        }
+        assertThrows(DateTimeException.class,
+                () -> DateEncodings.epochSecondFromYyyymmddhhmmss(
+                        INVALID_DATE_TIME));
+    }
+
+    @Test
+    public void rejectDatesOutOfRange() {
+        int first = (int) FIRST_DAY.toEpochDay();
+        int last = (int) LAST_DAY.toEpochDay();
+        assertThrows(DateTimeException.class,
+                () -> DateEncodings.yyyymmdd(first - 1));
+        assertThrows(DateTimeException.class,
+                () -> DateEncodings.yyyymmdd(last + 1));
+        assertThrows(DateTimeException.class,
+                () -> DateEncodings.yyyymmdd(Integer.MAX_VALUE));
+        assertThrows(DateTimeException.class,
+                () -> DateEncodings.yyyymmddhhmmss(FIRST_SECOND - 1));
+        assertThrows(DateTimeException.class,
+                () -> DateEncodings.yyyymmddhhmmss(LAST_SECOND));
+
+        assertThrows(DateTimeException.class,
+                () -> DateEncodings.epochDay(Long.MAX_VALUE / 2));
+        assertThrows(DateTimeException.class,
+                () -> DateEncodings.epochDayOfMillis(Long.MIN_VALUE));
+        long[] seconds = {0L, Long.MAX_VALUE / 2};
+        assertThrows(DateTimeException.class,
+                () -> DateEncodings.epochDays(seconds, new int[2]));
+    }
+
+}
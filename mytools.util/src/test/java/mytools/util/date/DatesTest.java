@@ -8,13 +8,26 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
+import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 
 public class DatesTest {
 
     private static final int NUM_MILLIS = 1000;
+    private static final long SEED = 20261019L;
+    private static final int NUM_TIMESTAMPS = 100_000;
+    private static final long MAX_EPOCH_SECONDS = 4_000_000_000L;
+    private static final int TWO_DAYS = 2 * 24 * 3600;
+
+    private static final List<ZoneId> ZONES = Arrays.asList(
+            ZoneId.systemDefault(), ZoneId.of("UTC"), ZoneId.of("+05:30"),
+            ZoneId.of("America/New_York"), ZoneId.of("Europe/London"),
+            ZoneId.of("Australia/Lord_Howe"), ZoneId.of("Asia/Kathmandu"),
+            ZoneId.of("Pacific/Apia"));
 
     @Test
     public void convertDates() {
@@ -37,4 +50,48 @@ public class DatesTest {
         assertEquals(localDateTime, Dates.localDateTime(epochSeconds));
     }
 
+    @Test
+    public void convertEpochSecondsInZones() {
+        Random random = new Random(SEED);
+        for (ZoneId zone : ZONES) {
+            for (int i = 0; i < NUM_TIMESTAMPS; i++) {
+                long epochSeconds = i % 2 == 0
+                        ? (long) (random.nextDouble() * MAX_EPOCH_SECONDS)
+                                - MAX_EPOCH_SECONDS / 2
+                        : random.nextInt(TWO_DAYS);
+                assertEquals(expected(epochSeconds, zone),
+                        Dates.localDateTime(epochSeconds, zone),
+                        epochSeconds + " in " + zone);
+            }
+        }
+    }
+
+    @Test
+    public void convertAroundTransitions() {
+        for (ZoneId zone : ZONES) {
+            zone.getRules().getTransitions().forEach(t -> {
+                long transition = t.toEpochSecond();
+                for (long s = transition - 2; s <= transition + 2; s++) {
+                    assertEquals(expected(s, zone),
+                            Dates.localDateTime(s, zone), s + " in " + zone);
+                }
+            });
+        }
+    }
+
+    @Test
+    public void formatAndParse() {
+        Date date = new Date(System.currentTimeMillis() / NUM_MILLIS
+                * NUM_MILLIS);
+        assertEquals(date.toString(), Dates.format(date));
+        assertEquals(date, Dates.parse(date.toString()));
+        assertEquals(new Date(0L),
+                Dates.parse("Wed Dec 31 19:00:00 -0500 1969"));
+    }
+
+    private static LocalDateTime expected(long epochSeconds, ZoneId zone) {
+        return Instant.ofEpochSecond(epochSeconds).atZone(zone)
+                .toLocalDateTime();
+    }
+
 }
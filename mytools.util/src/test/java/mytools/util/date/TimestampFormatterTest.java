@@ -0,0 +1,91 @@
+package mytools.util.date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class TimestampFormatterTest {
+
+    private static final long SEED = 20261019L;
+    private static final int NUM_TIMESTAMPS = 20_000;
+    private static final long START = 1_792_000_000_000L;
+    private static final int MAX_STEP = 5000;
+    private static final long MAX_JUMP = 100_000_000_000L;
+    private static final int OFFSET = 3;
+    private static final int ARRAY_LENGTH = 64;
+
+    private static final List<String> PATTERNS = Arrays.asList(
+            TimestampFormatter.DEFAULT_PATTERN,
+            "EEE MMM dd HH:mm:ss zzz yyyy",
+            "yyyyMMdd'T'HHmmss,SSSSSSXXX",
+            "'at' h:mm:ss a",
+            "ss.S 'of' MMMM d, uuuu [VV]");
+
+    private static final List<ZoneId> ZONES = Arrays.asList(
+            ZoneId.of("UTC"), ZoneId.of("America/New_York"),
+            ZoneId.of("Australia/Lord_Howe"), ZoneId.of("Asia/Kathmandu"));
+
+    @Test
+    public void formatLikeDateTimeFormatter() {
+        Random random = new Random(SEED);
+        for (String pattern : PATTERNS) {
+            for (ZoneId zone : ZONES) {
+                TimestampFormatter f = TimestampFormatter.ofPattern(
+                        pattern, zone, Locale.US);
+                DateTimeFormatter expected = DateTimeFormatter
+                        .ofPattern(pattern, Locale.US).withZone(zone);
+                long millis = START;
+                for (int i = 0; i < NUM_TIMESTAMPS; i++) {
+                    millis += i % MAX_STEP == 0
+                            ? (long) (random.nextDouble() * MAX_JUMP)
+                            : random.nextInt(MAX_STEP);
+                    String text = expected.format(
+                            Instant.ofEpochMilli(millis));
+                    assertEquals(text, f.format(millis),
+                            pattern + " in " + zone + " at " + millis);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void formatIntoBuffers() {
+        TimestampFormatter f = TimestampFormatter.ofPattern(
+                TimestampFormatter.DEFAULT_PATTERN, ZoneId.of("UTC"),
+                Locale.US);
+        long millis = START + 1;
+        String text = "2026-10-14 17:46:40.001";
+
+        StringBuilder sb = new StringBuilder("at ");
+        assertEquals("at " + text, f.format(millis, sb).toString());
+
+        char[] chars = new char[ARRAY_LENGTH];
+        int end = f.format(millis, chars, OFFSET);
+        assertEquals(text, new String(chars, OFFSET, end - OFFSET));
+
+        assertEquals(text, f.format(new Date(millis)));
+        assertEquals(text, f.format(LocalDateTime.parse(
+                "2026-10-14T17:46:40.001")));
+    }
+
+    @Test
+    public void rejectInvalidPatterns() {
+        for (String pattern : Arrays.asList("yyyy-MM-dd HH:mm",
+                "HH:mm:ss:ss", "HH:mm:s", "HH:mm:ss n", "SSS ss", "A ss")) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> TimestampFormatter.ofPattern(pattern), pattern);
+        }
+    }
+
+}
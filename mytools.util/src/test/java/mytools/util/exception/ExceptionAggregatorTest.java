@@ -0,0 +1,170 @@
+package mytools.util.exception;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class ExceptionAggregatorTest {
+
+    private static final Duration INTERVAL = Duration.ofSeconds(1);
+    private static final int NUM_THREADS = 4;
+    private static final int NUM_EXCEPTIONS = 10_000;
+
+    private final AtomicLong time = new AtomicLong();
+    private final List<ExceptionAggregator.Summary> reports =
+            new ArrayList<>();
+
+    @Test
+    public void fingerprintIgnoresMessages() {
+        List<Exception> failures = failures("id 1", "id 2");
+        ExceptionFingerprint a = ExceptionFingerprint.of(
+                wrapped(failures.get(0)));
+        ExceptionFingerprint b = ExceptionFingerprint.of(failures.get(1));
+        assertEquals(a, b);
+        assertEquals(a.getHash(), b.getHash());
+        assertEquals(IllegalStateException.class, a.getType());
+        assertEquals(ExceptionFingerprint.DEFAULT_DEPTH,
+                a.getFrames().length);
+
+        assertNotEquals(a, ExceptionFingerprint.of(
+                new IllegalStateException("id 1")));
+        assertNotEquals(a, ExceptionFingerprint.of(
+                new IllegalArgumentException("id 1")));
+    }
+
+    @Test
+    public void reportOncePerInterval() {
+        ExceptionAggregator errors = ExceptionAggregator.of(
+                INTERVAL, reports::add, time::get);
+        List<Exception> failures = failures("first", "second", "next");
+        errors.accept(failures.get(0));
+        errors.accept(wrapped(failures.get(1)));
+        errors.accept(new IllegalArgumentException());
+        assertTrue(reports.isEmpty());
+
+        time.addAndGet(INTERVAL.toNanos());
+        errors.accept(failures.get(2));
+        reports.sort(Comparator.comparing(
+                ExceptionAggregator.Summary::getCount));
+        assertEquals(2, reports.size());
+        assertEquals(1, reports.get(0).getCount());
+        assertEquals(2, reports.get(1).getCount());
+        assertSame(failures.get(0), reports.get(1).getSample());
+        assertEquals(INTERVAL, reports.get(1).getInterval());
+
+        reports.clear();
+        errors.close();
+        assertEquals(1, reports.size());
+        assertEquals(1, reports.get(0).getCount());
+
+        // fingerprints with no exceptions are not reported again
+        reports.clear();
+        errors.flush();
+        assertTrue(reports.isEmpty());
+    }
+
+    @Test
+    public void dropTooManyFingerprints() {
+        ExceptionAggregator errors = ExceptionAggregator.of(
+                INTERVAL, 0, 1, reports::add);
+        errors.accept(new IllegalStateException());
+        errors.accept(new IllegalArgumentException());
+        errors.flush();
+        assertEquals(1, reports.size());
+        assertEquals(1, errors.getDroppedCount());
+    }
+
+    @Test
+    public void countFromManyThreads() throws Exception {
+        ExceptionAggregator errors = ExceptionAggregator.of(
+                INTERVAL, reports::add, time::get);
+        Exception e = new IllegalStateException("concurrent");
+        ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < NUM_THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < NUM_EXCEPTIONS; i++) {
+                        errors.accept(e);
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        errors.flush();
+        assertEquals(1, reports.size());
+        assertEquals(NUM_THREADS * NUM_EXCEPTIONS, reports.get(0).getCount());
+    }
+
+    @Test
+    public void flushWhileCounting() throws Exception {
+        ExceptionAggregator errors = ExceptionAggregator.of(
+                INTERVAL, reports::add, time::get);
+        Exception e = new IllegalStateException("concurrent");
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor =
+                Executors.newFixedThreadPool(NUM_THREADS + 1);
+        try {
+            Future<?> flusher = executor.submit(() -> {
+                while (!done.get()) {
+                    errors.flush();
+                }
+            });
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < NUM_THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < NUM_EXCEPTIONS; i++) {
+                        errors.accept(e);
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+            done.set(true);
+            flusher.get();
+        } finally {
+            executor.shutdown();
+        }
+        errors.flush();
+        long count = 0;
+        for (ExceptionAggregator.Summary r : reports) {
+            count += r.getCount();
+        }
+        assertEquals(NUM_THREADS * NUM_EXCEPTIONS, count);
+    }
+
+    /*
+     * Exceptions which are thrown at the same place, with different
+     * messages.
+     */
+    private static List<Exception> failures(String... messages) {
+        List<Exception> failures = new ArrayList<>();
+        for (String m : messages) {
+            failures.add(new IllegalStateException(m));
+        }
+        return failures;
+    }
+
+    private static Exception wrapped(Exception e) {
+        return new RuntimeException("wrapped", e);
+    }
+
+}
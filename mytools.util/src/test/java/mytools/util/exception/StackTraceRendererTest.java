@@ -0,0 +1,133 @@
+package mytools.util.exception;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+
+public class StackTraceRendererTest {
+
+    private static final int RECURSION = 10;
+    private static final int MAX_DEPTH = 3;
+    private static final int CACHE_SIZE = 10;
+
+    @Test
+    public void renderLikePrintStackTrace() {
+        Exception e = nested();
+        assertEquals(printed(e), StackTraceRenderer.full().render(e));
+        assertEquals(printed(e), Exceptions.getStackTrace(e));
+
+        Exception circular = new Exception("circular");
+        Exception cause = new Exception("cause", circular);
+        circular.initCause(new RuntimeException(cause));
+        assertEquals(printed(circular),
+                StackTraceRenderer.full().render(circular));
+    }
+
+    @Test
+    public void limitDepth() {
+        Exception e = recurse(RECURSION);
+        StackTraceElement[] trace = e.getStackTrace();
+        String[] lines = Exceptions.getStackTrace(e, MAX_DEPTH)
+                .split(System.lineSeparator());
+        assertEquals(MAX_DEPTH + 2, lines.length);
+        assertEquals("\tat " + trace[0], lines[1]);
+        assertEquals("\t... " + (trace.length - MAX_DEPTH) + " more",
+                lines[MAX_DEPTH + 1]);
+    }
+
+    @Test
+    public void collapseRepeatedFrames() {
+        StackTraceRenderer r = StackTraceRenderer.full()
+                .withCollapsedRepeats(true);
+
+        Exception e = recurse(RECURSION);
+        StackTraceElement[] trace = e.getStackTrace();
+        String[] lines = r.render(e).split(System.lineSeparator());
+        int line = 1;
+        assertEquals("\tat " + trace[0], lines[line++]);
+        assertEquals("\t... same as previous 1 frame, " + RECURSION
+                + " times", lines[line++]);
+        assertEquals("\tat " + trace[RECURSION + 1], lines[line++]);
+
+        // ping and pong call each other
+        e = ping(RECURSION);
+        trace = e.getStackTrace();
+        lines = r.render(e).split(System.lineSeparator());
+        line = 1;
+        assertEquals("\tat " + trace[0], lines[line++]);
+        assertEquals("\tat " + trace[1], lines[line++]);
+        assertEquals("\t... same as previous 2 frames, " + (RECURSION - 1)
+                + " times", lines[line++]);
+        assertEquals("\tat " + trace[2 * RECURSION], lines[line++]);
+        assertEquals("\tat " + trace[2 * RECURSION + 1], lines[line++]);
+    }
+
+    @Test
+    public void filterFrames() {
+        Exception e = nested();
+        String trace = StackTraceRenderer.full()
+                .withFilter(f -> !f.getClassName().startsWith("org.junit"))
+                .render(e, new StringBuilder()).toString();
+        assertTrue(trace.contains("\tat " + getClass().getName()));
+        assertTrue(!trace.contains("\tat org.junit"));
+    }
+
+    @Test
+    public void cacheSameTraces() {
+        StackTraceRenderer r = StackTraceRenderer.full()
+                .withCacheSize(CACHE_SIZE);
+        String first = null;
+        for (int i = 0; i < 2; i++) {
+            Exception e = new IllegalStateException("failed");
+            String trace = r.render(e);
+            assertEquals(printed(e), trace);
+            if (first == null) {
+                first = trace;
+            } else {
+                assertSame(first, trace);
+            }
+        }
+        assertNotSame(first, r.render(new IllegalStateException("other")));
+    }
+
+    @Test
+    public void captureStack() {
+        StackTraceElement[] stack = Exceptions.captureStack(MAX_DEPTH);
+        assertEquals(MAX_DEPTH, stack.length);
+        assertEquals("captureStack", stack[0].getMethodName());
+        assertEquals(getClass().getName(), stack[0].getClassName());
+    }
+
+    private static Exception nested() {
+        Exception root = new IllegalArgumentException("root");
+        root.addSuppressed(new IllegalStateException("suppressed"));
+        Exception e = new RuntimeException("caught", root);
+        e.addSuppressed(new Exception("also suppressed", root));
+        return e;
+    }
+
+    private static Exception recurse(int depth) {
+        return depth == 0 ? new Exception("deep") : recurse(depth - 1);
+    }
+
+    private static Exception ping(int depth) {
+        return depth == 0 ? new Exception("deep") : pong(depth - 1);
+    }
+
+    private static Exception pong(int depth) {
+        return ping(depth);
+    }
+
+    private static String printed(Throwable e) {
+        StringWriter out = new StringWriter();
+        e.printStackTrace(new PrintWriter(out));
+        return out.toString();
+    }
+
+}
@@ -0,0 +1,63 @@
+package mytools.util.string;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class ConversionCacheTest {
+
+    private static final int MAX_SIZE = 10;
+    private static final int NUM_INPUTS = 1000;
+    private static final double HALF = 0.5;
+
+    @Test
+    public void returnCanonicalResults() {
+        ConversionCache c = ConversionCache.snakeToCamel(MAX_SIZE);
+        String first = c.apply(new String("customer_id"));
+        assertEquals("customerId", first);
+        assertSame(first, c.apply(new String("customer_id")));
+        assertNull(c.apply(null));
+
+        assertEquals(1, c.getHitCount());
+        assertEquals(1, c.getMissCount());
+        assertEquals(1, c.size());
+        assertEquals(HALF, c.getHitRate());
+
+        c.clear();
+        assertEquals(0, c.size());
+        assertEquals("customerId", c.apply("customer_id"));
+        assertEquals(2, c.getMissCount());
+    }
+
+    @Test
+    public void keepSizeWithUnboundedInput() {
+        ConversionCache c = ConversionCache.snakeToCamel(MAX_SIZE);
+        for (int i = 0; i < NUM_INPUTS; i++) {
+            assertEquals("key" + i, c.apply("key_" + i));
+            assertTrue(c.size() <= MAX_SIZE);
+        }
+        assertTrue(c.getEvictionCount() > 0);
+    }
+
+    @Test
+    public void keepFrequentlyUsedResults() {
+        ConversionCache c = ConversionCache.camelToSnake(MAX_SIZE);
+        String hot = c.apply("hotKey");
+        for (int i = 0; i < NUM_INPUTS; i++) {
+            c.apply("coldKey" + i);
+            assertSame(hot, c.apply("hotKey"));
+        }
+        assertEquals(NUM_INPUTS, c.getHitCount());
+    }
+
+    @Test
+    public void invalidSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ConversionCache.of(Strings::camelToSnake, 1));
+    }
+
+}
@@ -0,0 +1,109 @@
+package mytools.util.string;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.Test;
+
+import mytools.util.string.impl.TokenStreams;
+
+public class StringTransformsTest {
+
+    private static final int SMALL_BUFFER = 4;
+    private static final int NUM_TOKENS = 10_000;
+    private static final int CHUNK_SIZE = 100;
+    private static final int PARALLELISM = 3;
+    private static final int NUM_WORDS = 3;
+
+    @Test
+    public void transformTokens() throws IOException {
+        StringWriter out = new StringWriter();
+        long count = StringTransforms.transformTokens(
+                new StringReader(" helloWorld  fooBar\nbazQux\t"), out,
+                TokenTransform.CAMEL_TO_SNAKE);
+        assertEquals(" hello_world  foo_bar\nbaz_qux\t", out.toString());
+        assertEquals(NUM_WORDS, count);
+    }
+
+    @Test
+    public void transformTokensLongerThanBuffer() throws IOException {
+        String in = "a_long_token b c_d another_long_token";
+        StringWriter out = new StringWriter();
+        TokenStreams.transform(new StringReader(in), out,
+                StringTransforms.WHITESPACE, TokenTransform.SNAKE_TO_CAMEL,
+                SMALL_BUFFER);
+        assertEquals("aLongToken b cD anotherLongToken", out.toString());
+    }
+
+    @Test
+    public void transformLines() throws IOException {
+        StringWriter out = new StringWriter();
+        StringTransforms.transformLines(
+                new StringReader("  hello world \r\n\n   \nlast "), out,
+                TokenTransform.TRIM_TO_NULL);
+        assertEquals("hello world\r\n\n\nlast", out.toString());
+
+        out = new StringWriter();
+        StringTransforms.transformLines(new StringReader("hello\nworld"),
+                out, TokenTransform.of(s -> s.equals("hello") ? null : s));
+        assertEquals("\nworld", out.toString());
+    }
+
+    @Test
+    public void transformChannels() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StringTransforms.transformTokens(
+                Channels.newChannel(new ByteArrayInputStream(
+                        "straße über".getBytes(UTF_8))),
+                Channels.newChannel(out), UTF_8,
+                StringTransforms.WHITESPACE, TokenTransform.CAPITALIZE);
+        assertEquals("Straße Über", out.toString(UTF_8.name()));
+    }
+
+    @Test
+    public void transformInParallel() throws IOException {
+        StringBuilder in = new StringBuilder();
+        for (int i = 0; i < NUM_TOKENS; i++) {
+            in.append("tokenNumber").append(i).append(i % 2 == 0 ? ' ' : '\n');
+        }
+        StringWriter expected = new StringWriter();
+        StringTransforms.transformTokens(new StringReader(in.toString()),
+                expected, TokenTransform.CAMEL_TO_DASHED);
+
+        ExecutorService executor = Executors.newFixedThreadPool(PARALLELISM);
+        try {
+            StringWriter out = new StringWriter();
+            long count = StringTransforms.transformTokensInParallel(
+                    new StringReader(in.toString()), out,
+                    StringTransforms.WHITESPACE,
+                    TokenTransform.CAMEL_TO_DASHED,
+                    CHUNK_SIZE, PARALLELISM, executor);
+            assertEquals(expected.toString(), out.toString());
+            assertEquals(NUM_TOKENS, count);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void passExceptionsOfParallelTransforms() {
+        IllegalStateException e = new IllegalStateException();
+        assertEquals(e, assertThrows(IllegalStateException.class,
+                () -> StringTransforms.transformTokensInParallel(
+                        new StringReader("a b c"), new StringWriter(),
+                        StringTransforms.WHITESPACE, (token, out) -> {
+                            throw e;
+                        })));
+    }
+
+}
@@ -5,13 +5,17 @@ import static mytools.util.string.Strings.camelToDotted;
 import static mytools.util.string.Strings.camelToSnake;
 import static mytools.util.string.Strings.camelToSpaced;
 import static mytools.util.string.Strings.capitalize;
+import static mytools.util.string.Strings.capitalizedView;
 import static mytools.util.string.Strings.dashedToCamel;
 import static mytools.util.string.Strings.dottedToCamel;
 import static mytools.util.string.Strings.snakeToCamel;
 import static mytools.util.string.Strings.spacedToCamel;
 import static mytools.util.string.Strings.trimToNull;
+import static mytools.util.string.Strings.trimToNullView;
+import static mytools.util.string.Strings.unCapitalizedView;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import org.junit.jupiter.api.Test;
 
@@ -84,6 +88,63 @@ public class StringsTest {
         assertEquals(null, camelToSpaced(null));
     }
 
+    @Test
+    public void testConvertIntoAppendable() {
+        StringBuilder sb = new StringBuilder("key: ");
+        assertSame(sb, snakeToCamel("hello_happy_world", sb));
+        assertEquals("key: helloHappyWorld", sb.toString());
+
+        sb.setLength(0);
+        camelToSnake("helloHappyWorld", sb).append(", ");
+        camelToDashed("helloHappyWorld", sb).append(", ");
+        spacedToCamel("Hello  Happy    WOrld", sb).append(", ");
+        camelToSnake(null, sb);
+        assertEquals("hello_happy_world, hello-happy-world, helloHappyWorld, ",
+                sb.toString());
+    }
+
+    @Test
+    public void testNonAsciiCaseConversions() {
+        assertEquals("straßeÜberÉté", snakeToCamel("straße_über_été"));
+        assertEquals("straße_über_été", camelToSnake("straßeÜberÉté"));
+        assertEquals("straßeÜberÉté", spacedToCamel("STRAßE über\u2003été"));
+    }
+
+    @Test
+    public void testUnchangedStringIsReturned() {
+        String s = "hello";
+        assertSame(s, snakeToCamel(s));
+        assertSame(s, camelToSnake(s));
+    }
+
+    @Test
+    public void testViews() {
+        StringBuilder sb = new StringBuilder("hello, world");
+        CharSequence capitalized = capitalizedView(sb);
+        assertEquals("Hello, world", capitalized.toString());
+        assertEquals("Hello", capitalized.subSequence(0, "Hello".length())
+                .toString());
+        assertEquals("world", capitalized.subSequence("Hello, ".length(),
+                sb.length()).toString());
+        sb.setCharAt("hello, ".length(), 'W');
+        assertEquals("Hello, World", new StringBuilder()
+                .append(capitalized).toString());
+
+        String s = "Hello";
+        assertSame(s, capitalizedView(s));
+        assertEquals("hello", unCapitalizedView(s).toString());
+        assertNull(capitalizedView(null));
+
+        CharSequence trimmed = trimToNullView(" \thello world\n");
+        assertEquals("hello world", trimmed.toString());
+        assertEquals('h', trimmed.charAt(0));
+        assertEquals("world", trimmed.subSequence("hello ".length(),
+                trimmed.length()).toString());
+        assertSame(s, trimToNullView(s));
+        assertNull(trimToNullView(" \n "));
+        assertNull(trimToNullView(null));
+    }
+
     @Test
     public void testTrimToNull() {
         assertEquals("hello", trimToNull("hello"));
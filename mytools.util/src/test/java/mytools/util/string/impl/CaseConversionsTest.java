@@ -0,0 +1,197 @@
+package mytools.util.string.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.function.IntPredicate;
+import java.util.function.UnaryOperator;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * Compares the conversions with simple reference implementations on random
+ * strings. On ASCII input, the reference is the former char based code.
+ * On other input, it is code written with code point streams.
+ */
+public class CaseConversionsTest {
+
+    private static final long SEED = 20261019L;
+    private static final int NUM_STRINGS = 20_000;
+    private static final int MAX_LENGTH = 24;
+
+    private static final String ASCII = "aAbByYzZ09_-. \t\n@[`{";
+    private static final int[] UNICODE = {
+        'a', 'Z', '_', '-', '.', ' ', ' ', 0xE9, 0xC9, 0xDF, 0x3A3, 0x3C3,
+        0x130, 0x10400, 0x10428, 0x1D400, 0x1F600, 0xD800, 0xDC00,
+    };
+
+    private final Random random = new Random(SEED);
+
+    @Test
+    public void sameAsFormerCodeOnAscii() {
+        for (int i = 0; i < NUM_STRINGS; i++) {
+            String s = randomString(ASCII.chars().toArray());
+            for (Conversion c : conversions()) {
+                assertEquals(c.charBased.apply(s), c.converted.apply(s),
+                        c.name + " of '" + s + "'");
+                assertEquals(c.converted.apply(s),
+                        c.appended.apply(s, new StringBuilder()).toString(),
+                        c.name + " of '" + s + "' into a buffer");
+            }
+        }
+    }
+
+    @Test
+    public void sameAsCodePointStreamsOnUnicode() {
+        for (int i = 0; i < NUM_STRINGS; i++) {
+            String s = randomString(UNICODE);
+            for (Conversion c : conversions()) {
+                assertEquals(c.codePointBased.apply(s), c.converted.apply(s),
+                        c.name + " of '" + s + "'");
+                assertEquals(c.converted.apply(s),
+                        c.appended.apply(s, new StringBuilder()).toString(),
+                        c.name + " of '" + s + "' into a buffer");
+            }
+        }
+    }
+
+    @Test
+    public void convertSupplementaryCharacters() {
+        assertEquals("a_𐐨b", CaseConversions.camelToSnake(
+                "a𐐀b"));
+        assertEquals("a𐐀", CaseConversions.snakeToCamel(
+                "a_𐐨"));
+        assertEquals("𐐀x", Capitalizations.capitalize(
+                "𐐨x"));
+        assertEquals("𐐨x", Capitalizations.unCapitalize(
+                "𐐀x"));
+        assertEquals("𐐀x", Capitalizations.capitalize(
+                "𐐨x", new StringBuilder()).toString());
+    }
+
+    private String randomString(int[] codePoints) {
+        StringBuilder sb = new StringBuilder();
+        int length = random.nextInt(MAX_LENGTH);
+        for (int i = 0; i < length; i++) {
+            sb.appendCodePoint(codePoints[random.nextInt(codePoints.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static List<Conversion> conversions() {
+        return Arrays.asList(
+            new Conversion("snakeToCamel", CaseConversions::snakeToCamel,
+                    CaseConversions::snakeToCamel, ch -> ch == '_', false),
+            new Conversion("dashedToCamel", CaseConversions::dashedToCamel,
+                    CaseConversions::dashedToCamel, ch -> ch == '-', false),
+            new Conversion("dottedToCamel", CaseConversions::dottedToCamel,
+                    CaseConversions::dottedToCamel, ch -> ch == '.', false),
+            new Conversion("spacedToCamel", CaseConversions::spacedToCamel,
+                    CaseConversions::spacedToCamel,
+                    Character::isWhitespace, true),
+            new Conversion("camelToSnake", CaseConversions::camelToSnake,
+                    CaseConversions::camelToSnake, '_'),
+            new Conversion("camelToDashed", CaseConversions::camelToDashed,
+                    CaseConversions::camelToDashed, '-'),
+            new Conversion("camelToDotted", CaseConversions::camelToDotted,
+                    CaseConversions::camelToDotted, '.'),
+            new Conversion("camelToSpaced", CaseConversions::camelToSpaced,
+                    CaseConversions::camelToSpaced, ' '));
+    }
+
+    private static final class Conversion {
+
+        private final String name;
+        private final UnaryOperator<String> converted;
+        private final BiFunction<String, StringBuilder, StringBuilder> appended;
+        private final UnaryOperator<String> charBased;
+        private final UnaryOperator<String> codePointBased;
+
+        Conversion(String name, UnaryOperator<String> converted,
+                BiFunction<String, StringBuilder, StringBuilder> appended,
+                IntPredicate isDelimiter, boolean forceLowercase) {
+            this.name = name;
+            this.converted = converted;
+            this.appended = appended;
+            this.charBased = s -> charsToCamel(
+                    s, isDelimiter, forceLowercase);
+            this.codePointBased = s -> codePointsToCamel(
+                    s, isDelimiter, forceLowercase);
+        }
+
+        Conversion(String name, UnaryOperator<String> converted,
+                BiFunction<String, StringBuilder, StringBuilder> appended,
+                char delimiter) {
+            this.name = name;
+            this.converted = converted;
+            this.appended = appended;
+            this.charBased = s -> charsToDelimited(s, delimiter);
+            this.codePointBased = s -> codePointsToDelimited(s, delimiter);
+        }
+    }
+
+    ///////////////////// reference implementations //////////////////
+
+    private static String charsToCamel(
+            String s, IntPredicate isDelimiter, boolean forceLowercase) {
+        StringBuilder sb = new StringBuilder();
+        boolean lastWasDelimiter = false;
+        for (char ch : s.toCharArray()) {
+            if (isDelimiter.test(ch)) {
+                lastWasDelimiter = true;
+            } else if (lastWasDelimiter) {
+                sb.append(Character.toUpperCase(ch));
+                lastWasDelimiter = false;
+            } else {
+                sb.append(forceLowercase ? Character.toLowerCase(ch) : ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String charsToDelimited(String s, char delimiter) {
+        StringBuilder sb = new StringBuilder();
+        for (char ch : s.toCharArray()) {
+            if (Character.isUpperCase(ch)) {
+                sb.append(delimiter).append(Character.toLowerCase(ch));
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String codePointsToCamel(
+            String s, IntPredicate isDelimiter, boolean forceLowercase) {
+        StringBuilder sb = new StringBuilder();
+        boolean[] lastWasDelimiter = {false};
+        s.codePoints().forEach(cp -> {
+            if (isDelimiter.test(cp)) {
+                lastWasDelimiter[0] = true;
+            } else if (lastWasDelimiter[0]) {
+                sb.appendCodePoint(Character.toUpperCase(cp));
+                lastWasDelimiter[0] = false;
+            } else {
+                sb.appendCodePoint(
+                        forceLowercase ? Character.toLowerCase(cp) : cp);
+            }
+        });
+        return sb.toString();
+    }
+
+    private static String codePointsToDelimited(String s, char delimiter) {
+        StringBuilder sb = new StringBuilder();
+        s.codePoints().forEach(cp -> {
+            if (Character.isUpperCase(cp)) {
+                sb.append(delimiter).appendCodePoint(Character.toLowerCase(cp));
+            } else {
+                sb.appendCodePoint(cp);
+            }
+        });
+        return sb.toString();
+    }
+
+}